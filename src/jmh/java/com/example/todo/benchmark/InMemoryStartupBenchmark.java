@@ -0,0 +1,108 @@
+package com.example.todo.benchmark;
+
+import com.example.todo.memory.InMemoryTaskRepository;
+import com.example.todo.model.Task;
+import com.example.todo.util.TestDataUtils;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup of the memory profile's store: loading the snapshot and replaying the journal written
+ * after it. The data directory holds {@code tasks} tasks in the snapshot plus one journal record for
+ * every tenth of them, left as a crash would leave it; each iteration recovers a fresh copy.
+ * 10M tasks need a heap of about 8 GB and a few GB of disk in java.io.tmpdir:
+ * ./mvnw -Pbenchmark verify -Djmh.args="InMemoryStartupBenchmark -p tasks=10000000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+public class InMemoryStartupBenchmark {
+
+    private static final int BATCH = 10_000;
+
+    @Param({"1000000", "10000000"})
+    public int tasks;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private Path written;
+    private Path copy;
+    private InMemoryTaskRepository recovered;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        written = Files.createTempDirectory("todo-startup");
+        InMemoryTaskRepository repository = new InMemoryTaskRepository(validator, written.toString());
+        List<Task> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < tasks; i++) {
+            batch.add(TestDataUtils.createTaskWithDetails("Task " + i, i % 3 == 0 ? "Description " + i : null, false));
+            if (batch.size() == BATCH) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        repository.saveAll(batch);
+        repository.snapshot();
+
+        List<Long> ids = new ArrayList<>(BATCH);
+        for (long id = 1; id <= tasks; id += 10) {
+            ids.add(id);
+            if (ids.size() == BATCH) {
+                repository.markCompletedByIdIn(ids, LocalDateTime.now());
+                ids.clear();
+            }
+        }
+        repository.markCompletedByIdIn(ids, LocalDateTime.now());
+        // Not closed: closing would fold the journal into a new snapshot
+    }
+
+    @Setup(Level.Iteration)
+    public void copyDataDirectory() throws IOException {
+        copy = Files.createTempDirectory("todo-startup-copy");
+        FileSystemUtils.copyRecursively(written, copy);
+    }
+
+    @TearDown(Level.Iteration)
+    public void dropCopy() throws IOException {
+        if (recovered != null) {
+            recovered.close();
+            recovered = null;
+        }
+        FileSystemUtils.deleteRecursively(copy);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(written);
+    }
+
+    @Benchmark
+    public long recover() throws IOException {
+        recovered = new InMemoryTaskRepository(validator, copy.toString());
+        return recovered.countByCompleted(true);
+    }
+}
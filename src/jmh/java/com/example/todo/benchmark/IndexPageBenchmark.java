@@ -0,0 +1,104 @@
+package com.example.todo.benchmark;
+
+import com.example.todo.TodoApplication;
+import com.example.todo.service.TaskCursor;
+import com.example.todo.util.TestDataUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-side render time of the index page over HTTP at 10k and 100k tasks, with template caching on.
+ * Pages are keyset-paginated, so the first page, a page deep in the table and a filtered page
+ * should cost about the same at both sizes. Add -prof gc to jmh.args for allocation per render.
+ * Run with: ./mvnw -Pbenchmark verify -Djmh.args=IndexPageBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class IndexPageBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI firstPage;
+    private URI middlePage;
+    private URI pendingPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TodoApplication.class)
+                .profiles("dev")
+                .run("--server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.thymeleaf.cache=true",
+                        "--logging.level.root=WARN");
+        TestDataUtils.seedTasks(context.getBean(JdbcTemplate.class), rows);
+
+        String base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/";
+        // seedTasks spaces created_at one second apart from 2024-01-01
+        long middle = rows / 2;
+        String cursor = new TaskCursor(LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(middle), middle).encode();
+        firstPage = URI.create(base);
+        middlePage = URI.create(base + "?after=" + cursor);
+        pendingPage = URI.create(base + "?status=pending");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int firstPage() throws IOException, InterruptedException {
+        return render(firstPage);
+    }
+
+    @Benchmark
+    public int middlePage() throws IOException, InterruptedException {
+        return render(middlePage);
+    }
+
+    @Benchmark
+    public int pendingPage() throws IOException, InterruptedException {
+        return render(pendingPage);
+    }
+
+    // Returns the body length so the page is fully read
+    private int render(URI uri) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + uri + " returned " + response.statusCode());
+        }
+        return response.body().length();
+    }
+}
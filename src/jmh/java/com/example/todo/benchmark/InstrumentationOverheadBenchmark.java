@@ -0,0 +1,91 @@
+package com.example.todo.benchmark;
+
+import com.example.todo.TodoApplication;
+import com.example.todo.dto.CursorPage;
+import com.example.todo.model.Task;
+import com.example.todo.service.TaskService;
+import com.example.todo.util.TestDataUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the metrics added to TaskService and TaskRepository: the @Timed aspect with percentile
+ * histograms, Spring Data repository timers and Hibernate statistics, against the same calls with
+ * all three switched off. Both runs have the Prometheus registry; nothing scrapes it.
+ * Run with: ./mvnw -Pbenchmark verify -Djmh.args=InstrumentationOverheadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class InstrumentationOverheadBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"off", "on"})
+    public String metrics;
+
+    private ConfigurableApplicationContext context;
+    private TaskService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean on = metrics.equals("on");
+        context = new SpringApplicationBuilder(TodoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:instrumentation;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        // Every getById reaches the repository, so both layers are measured
+                        "--spring.cache.type=none",
+                        "--management.observations.annotations.enabled=" + on,
+                        "--management.metrics.data.repository.autotime.enabled=" + on,
+                        "--spring.jpa.properties.hibernate.generate_statistics=" + on,
+                        "--logging.level.com.example.todo=WARN");
+        TestDataUtils.seedTasks(context.getBean(JdbcTemplate.class), ROWS);
+        service = context.getBean(TaskService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Task getById() {
+        return service.getById(ThreadLocalRandom.current().nextLong(1, ROWS + 1));
+    }
+
+    @Benchmark
+    public CursorPage<Task> getFirstPage() {
+        return service.getPage(null, null, TaskService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Task create() {
+        Task task = new Task();
+        task.setTitle("Benchmark task");
+        task.setDescription("Created by InstrumentationOverheadBenchmark");
+        return service.create(task);
+    }
+}
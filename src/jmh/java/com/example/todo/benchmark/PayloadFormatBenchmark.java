@@ -0,0 +1,133 @@
+package com.example.todo.benchmark;
+
+import com.example.todo.dto.CursorPage;
+import com.example.todo.json.TaskJsonSerializer;
+import com.example.todo.json.TaskStatsJsonSerializer;
+import com.example.todo.model.Task;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode and decode time for one GET /api/tasks page in each negotiated format, with mappers
+ * configured like BinaryFormatConfiguration's. Descriptions are sentences of 0-255 characters
+ * drawn from a small vocabulary, so they compress like real text rather than like repeated bytes.
+ * Raw and gzip sizes per format are printed at setup; add -prof gc for allocation per page:
+ * ./mvnw -Pbenchmark verify -Djmh.args="PayloadFormatBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class PayloadFormatBenchmark {
+
+    private static final String[] WORDS = {"review", "the", "quarterly", "budget", "and", "send", "notes", "to",
+            "team", "before", "friday", "update", "dependencies", "fix", "login", "bug", "call", "supplier",
+            "about", "invoice", "prepare", "slides", "for", "demo", "book", "travel", "check", "backups"};
+
+    @Param({"json", "cbor", "smile", "msgpack"})
+    public String format;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private JavaType pageType;
+    private CursorPage<Task> page;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            case "msgpack" -> new MessagePackFactory();
+            default -> new JsonFactory();
+        };
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .serializers(new TaskJsonSerializer(10_000), new TaskStatsJsonSerializer())
+                .build();
+        pageType = objectMapper.getTypeFactory().constructParametricType(CursorPage.class, Task.class);
+
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<Task> tasks = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            Task task = new Task();
+            task.setId((long) i);
+            task.setTitle(sentence(random, 3 + random.nextInt(5), 80));
+            task.setDescription(sentence(random, random.nextInt(40), 255));
+            task.setCompleted(random.nextBoolean());
+            task.setCreatedAt(base.plusSeconds(random.nextInt(86_400)));
+            task.setUpdatedAt(task.getCreatedAt());
+            task.setVersion((long) random.nextInt(5));
+            tasks.add(task);
+        }
+        page = new CursorPage<>(tasks, "MjAyNC0wMS0wMVQwOTowMDp8MTAw", null);
+        encoded = encode();
+
+        System.out.printf("%n%s bytes per page of %d: %d raw, %d gzip%n",
+                format, pageSize, encoded.length, gzip(encoded).length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public CursorPage<Task> decode() throws IOException {
+        return objectMapper.readValue(encoded, pageType);
+    }
+
+    private static String sentence(Random random, int words, int maxLength) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (text.length() + word.length() + 1 > maxLength) {
+                break;
+            }
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(word);
+        }
+        return text.toString();
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+}
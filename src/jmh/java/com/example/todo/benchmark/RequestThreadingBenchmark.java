@@ -0,0 +1,116 @@
+package com.example.todo.benchmark;
+
+import com.example.todo.TodoApplication;
+import com.example.todo.util.TestDataUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load comparison of the web stacks over HTTP against the dev H2 profile: Tomcat on platform
+ * threads, Tomcat on virtual threads and WebFlux/R2DBC on Netty.
+ * Throughput mode gives requests/ms; SampleTime mode gives the latency distribution including p99.
+ * Add -prof gc to jmh.args for allocation per request.
+ * 'virtual' needs Java 21 and 'reactive' the reactive build:
+ * ./mvnw -Pbenchmark,java21,reactive verify -Djmh.args=RequestThreadingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@Threads(256)
+public class RequestThreadingBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"platform", "virtual", "reactive"})
+    public String stack;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (stack.equals("virtual") && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21, running on " + Runtime.version());
+        }
+        context = new SpringApplicationBuilder(TodoApplication.class)
+                .profiles(stack.equals("platform") ? new String[]{"dev"} : new String[]{"dev", stack})
+                .run("--server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        // Every GET /api/tasks/{id} should reach the database, which is where the stacks differ
+                        "--spring.cache.type=none",
+                        // Would keep every created task's words on the heap for the whole trial
+                        "--todo.search.in-memory=false",
+                        "--logging.level.root=WARN");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        TestDataUtils.seedTasks(jdbcTemplate, ROWS);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/tasks";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    // create adds rows as fast as a stack can take them; without this the table outgrows the heap
+    @Setup(Level.Iteration)
+    public void dropCreatedTasks() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE id > ?", ROWS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getById() throws IOException, InterruptedException {
+        long id = ThreadLocalRandom.current().nextLong(1, ROWS + 1);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)).GET().build();
+        return send(request);
+    }
+
+    @Benchmark
+    public int create() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"title\":\"Load test task\",\"description\":\"Created by RequestThreadingBenchmark\"}"))
+                .build();
+        return send(request);
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.todo.benchmark;
+
+import com.example.todo.TodoApplication;
+import com.example.todo.dto.ImportSummary;
+import com.example.todo.service.TaskImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One streamed import of {@code rows} generated records into an empty table, per body format and
+ * todo.import.batch-size; rows/s is rows divided by the score. The body is built once per trial, so
+ * only parsing, validation and the batched inserts are measured:
+ * ./mvnw -Pbenchmark verify -Djmh.args="TaskImportBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class TaskImportBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"ndjson", "csv"})
+    public String format;
+
+    @Param({"100", "500", "2000"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TaskImportService importService;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TodoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                // Arguments, not builder properties: application.properties and the dev profile it
+                // activates would override those (batch size, SQL printing, the search index)
+                .run("--spring.datasource.url=jdbc:h2:mem:import;DB_CLOSE_DELAY=-1",
+                        "--todo.import.batch-size=" + batchSize,
+                        "--spring.jpa.show-sql=false",
+                        // The search index would hold every imported row on the heap
+                        "--todo.search.in-memory=false",
+                        "--logging.level.com.example.todo=WARN");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        importService = context.getBean(TaskImportService.class);
+        body = generate().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyTable() {
+        jdbcTemplate.update("DELETE FROM tasks");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long importTasks() throws IOException {
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+        ImportSummary summary = format.equals("csv") ? importService.importCsv(in) : importService.importNdjson(in);
+        if (summary.accepted() != rows) {
+            throw new IllegalStateException("Imported " + summary.accepted() + " of " + rows + " rows");
+        }
+        return summary.accepted();
+    }
+
+    private String generate() {
+        StringBuilder out = new StringBuilder(rows * 80);
+        if (format.equals("csv")) {
+            out.append("id,title,description,completed,createdAt\n");
+        }
+        for (int row = 1; row <= rows; row++) {
+            if (format.equals("csv")) {
+                out.append(',').append("Imported ").append(row).append(",Generated row ").append(row)
+                        .append(',').append(row % 2 == 0).append(",\n");
+            } else {
+                out.append("{\"title\":\"Imported ").append(row).append("\",\"description\":\"Generated row ").append(row)
+                        .append("\",\"completed\":").append(row % 2 == 0).append("}\n");
+            }
+        }
+        return out.toString();
+    }
+}
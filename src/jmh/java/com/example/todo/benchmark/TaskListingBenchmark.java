@@ -0,0 +1,109 @@
+package com.example.todo.benchmark;
+
+import com.example.todo.TodoApplication;
+import com.example.todo.dto.CursorPage;
+import com.example.todo.dto.TaskSummary;
+import com.example.todo.model.Task;
+import com.example.todo.service.TaskService;
+import com.example.todo.util.TestDataUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of pending tasks as managed entities (the former findByCompleted path) versus
+ * TaskSummary projections, each serialized to JSON the way the controller would.
+ * 'long' descriptions fill the column (VARCHAR(255) under Hibernate's H2 DDL).
+ * Response sizes are printed at setup; add -prof gc for bytes allocated per page:
+ * ./mvnw -Pbenchmark verify -Djmh.args="TaskListingBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class TaskListingBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    @Param({"short", "long"})
+    public String description;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskService service;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        context = new SpringApplicationBuilder(TodoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:listing;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--todo.search.in-memory=false",
+                        "--logging.level.com.example.todo=WARN");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        TestDataUtils.seedTasks(jdbcTemplate, ROWS);
+        if (description.equals("long")) {
+            jdbcTemplate.update("UPDATE tasks SET description = REPEAT('x', 255)");
+        }
+
+        service = context.getBean(TaskService.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        System.out.printf("%nJSON bytes per page of %d: entities %d, summaries %d%n",
+                pageSize, entityPage().length, summaryPage().length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Full rows through the persistence context, as the unpaginated listing loaded them
+    @Benchmark
+    public byte[] entityPage() throws JsonProcessingException {
+        List<Task> tasks = readOnly.execute(status -> entityManager
+                .createQuery("SELECT t FROM Task t WHERE t.completed = false ORDER BY t.createdAt, t.id", Task.class)
+                .setMaxResults(pageSize)
+                .getResultList());
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] summaryPage() throws JsonProcessingException {
+        CursorPage<TaskSummary> page = service.getPendingPage(null, null, pageSize);
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
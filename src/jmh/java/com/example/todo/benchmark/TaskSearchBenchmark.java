@@ -0,0 +1,79 @@
+package com.example.todo.benchmark;
+
+import com.example.todo.TodoApplication;
+import com.example.todo.dto.SearchPage;
+import com.example.todo.model.Task;
+import com.example.todo.service.InMemoryTaskSearchIndex;
+import com.example.todo.service.TaskSearch;
+import com.example.todo.util.TestDataUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency distribution (SampleTime reports p99) at 1M rows for the in-process index,
+ * and for the unindexed LIKE fallback it replaces.
+ * Queries: a word in every task, a word in one task, and two words that meet in one task.
+ * Run with: ./mvnw -Pbenchmark verify -Djmh.args=TaskSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskSearchBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"true", "false"})
+    public boolean index;
+
+    @Param({"generated", "424242", "task 99999"})
+    public String query;
+
+    private ConfigurableApplicationContext context;
+    private TaskSearch search;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TodoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:search-benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--todo.search.in-memory=" + index,
+                        "--logging.level.com.example.todo=INFO");
+        TestDataUtils.seedTasks(context.getBean(JdbcTemplate.class), rows);
+        // The index built itself on startup, before the rows above existed
+        context.getBean(InMemoryTaskSearchIndex.class).rebuild();
+        search = context.getBean(TaskSearch.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SearchPage<Task> firstPage() {
+        return search.search(query, 0, 20);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.todo.benchmark;
+
+import com.example.todo.dto.CursorPage;
+import com.example.todo.json.TaskJsonSerializer;
+import com.example.todo.json.TaskStatsJsonSerializer;
+import com.example.todo.model.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time and allocation per serialized task for one page of tasks, as GET /api/tasks writes it:
+ * 'reflective' is databind on the Lombok getters, 'handwritten' is TaskJsonSerializer with its
+ * fragment cache off, 'cached' copies the pre-encoded fragments of unchanged task versions.
+ * Scores are per task; add -prof gc for gc.alloc.rate.norm in bytes per task:
+ * ./mvnw -Pbenchmark verify -Djmh.args="TaskSerializationBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class TaskSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"reflective", "handwritten", "cached"})
+    public String serializer;
+
+    @Param({"short", "long"})
+    public String description;
+
+    private ObjectMapper objectMapper;
+    private CursorPage<Task> page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (!serializer.equals("reflective")) {
+            builder.serializers(new TaskJsonSerializer(serializer.equals("cached") ? 10_000 : 0),
+                    new TaskStatsJsonSerializer());
+        }
+        objectMapper = builder.build();
+
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<Task> tasks = new ArrayList<>(PAGE_SIZE);
+        for (int i = 1; i <= PAGE_SIZE; i++) {
+            Task task = new Task();
+            task.setId((long) i);
+            task.setTitle("Task " + i);
+            task.setDescription(description.equals("long") ? "x".repeat(255) : "Description " + i);
+            task.setCompleted(i % 2 == 0);
+            task.setCreatedAt(base.plusSeconds(i));
+            task.setUpdatedAt(base.plusSeconds(i));
+            task.setVersion(0L);
+            tasks.add(task);
+        }
+        page = new CursorPage<>(tasks, "next", null);
+
+        System.out.printf("%nJSON bytes per page of %d: %d%n", PAGE_SIZE, objectMapper.writeValueAsBytes(page).length);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
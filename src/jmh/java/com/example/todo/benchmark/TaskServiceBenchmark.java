@@ -0,0 +1,133 @@
+package com.example.todo.benchmark;
+
+import com.example.todo.TodoApplication;
+import com.example.todo.controller.TaskController.TaskStats;
+import com.example.todo.dto.CursorPage;
+import com.example.todo.model.Task;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.service.TaskService;
+import com.example.todo.service.TaskStatsCounter;
+import com.example.todo.util.TestDataUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskService hot paths against embedded H2 at 1k, 100k and 1M rows.
+ * Each fork boots the application without the web layer and seeds the table through SQL.
+ * Run with: ./mvnw -Pbenchmark verify (results in target/jmh-result.json)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TaskServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskService service;
+    private TaskRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TodoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--todo.stats.in-memory=true",
+                        "--logging.level.com.example.todo=WARN");
+        TestDataUtils.seedTasks(context.getBean(JdbcTemplate.class), rows);
+        // The counter seeded itself on startup, before the rows above existed
+        context.getBean(TaskStatsCounter.class).seed();
+
+        service = context.getBean(TaskService.class);
+        repository = context.getBean(TaskRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Task> getAll() {
+        return service.getAll();
+    }
+
+    @Benchmark
+    public CursorPage<Task> getFirstPage() {
+        return service.getPage(null, null, TaskService.DEFAULT_PAGE_SIZE);
+    }
+
+    // Goes through the Caffeine cache: mostly hits at 1k rows, mostly misses at 1M
+    @Benchmark
+    public Task getById() {
+        return service.getById(randomId());
+    }
+
+    @Benchmark
+    public Task findByIdUncached() {
+        return repository.findById(randomId()).orElseThrow();
+    }
+
+    @Benchmark
+    public Task create() {
+        Task task = new Task();
+        task.setTitle("Benchmark task");
+        task.setDescription("Created by TaskServiceBenchmark");
+        return service.create(task);
+    }
+
+    @Benchmark
+    public Task update() {
+        Task task = new Task();
+        task.setTitle("Updated benchmark task");
+        task.setDescription("Updated by TaskServiceBenchmark");
+        task.setCompleted(ThreadLocalRandom.current().nextBoolean());
+        return service.update(randomId(), task);
+    }
+
+    // Served from TaskStatsCounter
+    @Benchmark
+    public TaskStats getStats() {
+        return service.getStats();
+    }
+
+    // The GROUP BY fallback getStats uses while the counter is disabled or not seeded
+    @Benchmark
+    public TaskStats getStatsAggregate() {
+        return TaskStatsCounter.fold(repository.countGroupedByCompleted());
+    }
+
+    @Benchmark
+    public long countCompletedTasks() {
+        return service.countCompletedTasks();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+}
@@ -1,31 +1,47 @@
 package com.example.todo.controller;
 
+import com.example.todo.dto.BulkResult;
+import com.example.todo.dto.CursorPage;
+import com.example.todo.dto.TaskSummary;
+import com.example.todo.exception.PreconditionFailedException;
 import com.example.todo.model.Task;
+import com.example.todo.service.TaskListETag;
 import com.example.todo.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/tasks")
 @RequiredArgsConstructor
 public class TaskController {
 
     private final TaskService service;
+    private final TaskListETag listETag;
 
     @GetMapping
-    public ResponseEntity<List<Task>> getAll() {
-        List<Task> tasks = service.getAll();
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<CursorPage<Task>> getAll(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+
+        return conditionalGet(request, listETag.current(), () -> service.getPage(after, before, size));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getById(@PathVariable Long id) {
+    public ResponseEntity<Task> getById(@PathVariable Long id, WebRequest request) {
         Task task = service.getById(id);
-        return ResponseEntity.ok(task);
+        return conditionalGet(request, versionETag(task), () -> task);
     }
 
     @PostMapping
@@ -37,52 +53,128 @@ public class TaskController {
     @PutMapping("/{id}")
     public ResponseEntity<Task> update(
             @PathVariable Long id,
-            @Valid @RequestBody Task updatedTask) {
+            @Valid @RequestBody Task updatedTask,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        Task saved = service.update(id, updatedTask);
-        return ResponseEntity.ok(saved);
+        Task saved = service.update(id, updatedTask, expectedVersion(ifMatch));
+        return withETag(saved);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        service.delete(id);
+    public ResponseEntity<Void> delete(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        service.delete(id, expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResult> createAll(@RequestBody List<Task> tasks) {
+        BulkResult result = service.createAll(tasks);
+        return ResponseEntity.ok(result);
+    }
+
+    @PutMapping("/bulk")
+    public ResponseEntity<BulkResult> updateAll(@RequestBody List<Task> tasks) {
+        BulkResult result = service.updateAll(tasks);
+        return ResponseEntity.ok(result);
+    }
+
+    @DeleteMapping("/bulk")
+    public ResponseEntity<BulkResult> deleteAll(@RequestBody List<Long> ids) {
+        BulkResult result = service.deleteAll(ids);
+        return ResponseEntity.ok(result);
+    }
+
+    @PatchMapping("/bulk/complete")
+    public ResponseEntity<BulkResult> completeAll(@RequestBody List<Long> ids) {
+        BulkResult result = service.completeAll(ids);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/completed")
-    public ResponseEntity<List<Task>> getCompletedTasks() {
-        List<Task> tasks = service.getCompletedTasks();
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<CursorPage<TaskSummary>> getCompletedTasks(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+
+        return conditionalGet(request, listETag.current(), () -> service.getCompletedPage(after, before, size));
     }
 
     @GetMapping("/pending")
-    public ResponseEntity<List<Task>> getPendingTasks() {
-        List<Task> tasks = service.getPendingTasks();
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<CursorPage<TaskSummary>> getPendingTasks(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+
+        return conditionalGet(request, listETag.current(), () -> service.getPendingPage(after, before, size));
     }
 
     @PatchMapping("/{id}/complete")
-    public ResponseEntity<Task> markAsCompleted(@PathVariable Long id) {
-        Task task = service.markAsCompleted(id);
-        return ResponseEntity.ok(task);
+    public ResponseEntity<Task> markAsCompleted(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        Task task = service.markAsCompleted(id, expectedVersion(ifMatch));
+        return withETag(task);
     }
 
     @PatchMapping("/{id}/pending")
-    public ResponseEntity<Task> markAsPending(@PathVariable Long id) {
-        Task task = service.markAsPending(id);
-        return ResponseEntity.ok(task);
+    public ResponseEntity<Task> markAsPending(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        Task task = service.markAsPending(id, expectedVersion(ifMatch));
+        return withETag(task);
     }
 
     @GetMapping("/stats")
     public ResponseEntity<TaskStats> getStats() {
-        TaskStats stats = new TaskStats(
-                service.countTasks(),
-                service.countCompletedTasks(),
-                service.countPendingTasks()
-        );
+        TaskStats stats = service.getStats();
         return ResponseEntity.ok(stats);
     }
 
+    // 304 without running the query or serializing when If-None-Match already names the tag.
+    // The tag is shared by the JSON, CBOR, Smile and MessagePack bodies, so caches must key on Accept as well
+    private static <T> ResponseEntity<T> conditionalGet(WebRequest request, String etag, Supplier<T> body) {
+        if (etag == null) {
+            return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(body.get());
+        }
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(body.get());
+    }
+
+    private static ResponseEntity<Task> withETag(Task task) {
+        return task.getVersion() == null
+                ? ResponseEntity.ok(task)
+                : ResponseEntity.ok().eTag(versionETag(task)).body(task);
+    }
+
+    private static String versionETag(Task task) {
+        return "\"" + task.getVersion() + "\"";
+    }
+
+    // If-Match compares strongly: "*" accepts any version, weak or unknown tags never match
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through to the 412 below
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + tag + " does not match any task version");
+    }
+
     // Inner class for statistics
     public static class TaskStats {
         public final long total;
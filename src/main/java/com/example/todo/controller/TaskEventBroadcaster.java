@@ -0,0 +1,307 @@
+package com.example.todo.controller;
+
+import com.example.todo.service.TaskChangeFeed;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans TaskChangeFeed entries out to SSE subscribers. An open emitter holds no thread:
+ * a small sender pool drains whichever subscribers are behind, each by at most one sender at a time.
+ * A subscriber more than {@code todo.feed.coalesce-after} entries behind gets only the latest
+ * entry per task; one that falls out of the ring gets a {@code reset} event and is disconnected.
+ * <p>
+ * Heartbeats go through the same drain, so a subscriber never has more than one write outstanding.
+ * A client that stops reading blocks that write until the container's write timeout; once it has been
+ * blocked for {@code todo.feed.send-timeout-ms} the subscriber is dropped and the pool gets a thread
+ * in place of the stuck one until the write returns, when the emitter is completed. Completing it
+ * earlier would wait on the emitter's write lock, which the blocked send holds. At most
+ * {@code todo.feed.max-stand-in-senders} such threads exist at once; past that, stalled subscribers
+ * are dropped all the same but their stuck threads are not replaced.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TaskEventBroadcaster {
+
+    static final int BATCH_SIZE = 256;
+    private static final long IDLE = 0;
+    private static final long STALLED = -1;
+
+    private final TaskChangeFeed feed;
+    private final int maxSubscribers;
+    private final int coalesceAfter;
+    private final long emitterTimeoutMs;
+    private final long sendTimeoutNanos;
+    private final int maxStandInSenders;
+    private int standInSenders;            // guarded by this
+    private final long clockOrigin = System.nanoTime();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor senders;
+    // Many appends between two dispatch runs cost one pass over the subscribers
+    private final AtomicBoolean dispatchPending = new AtomicBoolean();
+
+    public TaskEventBroadcaster(TaskChangeFeed feed,
+                                @Value("${todo.feed.max-subscribers:10000}") int maxSubscribers,
+                                @Value("${todo.feed.sender-threads:4}") int senderThreads,
+                                @Value("${todo.feed.coalesce-after:64}") int coalesceAfter,
+                                @Value("${todo.feed.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                                @Value("${todo.feed.send-timeout-ms:10000}") long sendTimeoutMs,
+                                @Value("${todo.feed.max-stand-in-senders:16}") int maxStandInSenders) {
+        this.feed = feed;
+        this.maxSubscribers = maxSubscribers;
+        this.coalesceAfter = coalesceAfter;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.maxStandInSenders = maxStandInSenders;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "task-events-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        feed.addListener(this::requestDispatch);
+    }
+
+    /**
+     * Opens a stream starting after {@code lastEventId}, or at the current end of the feed when it is null.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many event subscribers");
+        }
+        long cursor = lastEventId == null ? feed.lastSequence() : feed.parseEventId(lastEventId);
+        SseEmitter emitter = createEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, cursor);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        schedule(subscriber);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Keeps idle connections open through proxies and finds clients that have gone away
+    @Scheduled(fixedDelayString = "${todo.feed.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Drops subscribers whose current write has been blocked past the send timeout.
+     */
+    @Scheduled(fixedDelayString = "${todo.feed.send-check-ms:1000}")
+    public void expireStalledSends() {
+        long now = clock();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStarted.get();
+            if (started > IDLE && now - started > sendTimeoutNanos) {
+                expire(subscriber, started);
+            }
+        }
+    }
+
+    // Holding the lock keeps the sender from shrinking the pool before it has grown
+    private synchronized void expire(Subscriber subscriber, long started) {
+        // Set before the swap, which is what the sender checks once its write returns
+        subscriber.standIn = standInSenders < maxStandInSenders;
+        if (subscriber.sendStarted.compareAndSet(started, STALLED)) {
+            subscriber.stalled = true;
+            subscribers.remove(subscriber);
+            if (subscriber.standIn) {
+                standInSenders++;
+                resizeSenders(1);
+            }
+            log.debug("Dropped an event subscriber whose write was blocked for over {} ms{}",
+                    TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos),
+                    subscriber.standIn ? "" : ", all stand-in senders are in use");
+        }
+    }
+
+    private synchronized void releaseStandIn() {
+        standInSenders--;
+        resizeSenders(-1);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private void requestDispatch() {
+        if (dispatchPending.compareAndSet(false, true)) {
+            execute(() -> {
+                dispatchPending.set(false);
+                long last = feed.lastSequence();
+                for (Subscriber subscriber : subscribers) {
+                    if (subscriber.cursor < last) {
+                        schedule(subscriber);
+                    }
+                }
+            });
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.heartbeatDue) {
+                subscriber.heartbeatDue = false;
+                send(subscriber, SseEmitter.event().comment("keep-alive"));
+            }
+            while (true) {
+                List<TaskChangeFeed.Entry> entries = feed.since(subscriber.cursor, BATCH_SIZE);
+                if (entries == null) {
+                    reset(subscriber);
+                    return;
+                }
+                if (entries.isEmpty()) {
+                    break;
+                }
+                boolean lagging = feed.lastSequence() - subscriber.cursor > coalesceAfter;
+                for (TaskChangeFeed.Entry entry : lagging ? coalesce(entries) : entries) {
+                    send(subscriber, SseEmitter.event()
+                            .id(feed.eventId(entry.sequence()))
+                            .name(entry.delta().type().name().toLowerCase(Locale.ROOT))
+                            .data(entry.delta(), MediaType.APPLICATION_JSON));
+                }
+                subscriber.cursor = entries.get(entries.size() - 1).sequence();
+            }
+        } catch (IOException | IllegalStateException ex) {
+            subscribers.remove(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An append or heartbeat may have landed after the last check but before the flag was cleared
+        if (feed.lastSequence() > subscriber.cursor || subscriber.heartbeatDue) {
+            schedule(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        if (subscriber.stalled) {
+            throw new IllegalStateException("Subscriber was dropped");
+        }
+        subscriber.sendStarted.set(clock());
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            if (subscriber.sendStarted.getAndSet(IDLE) == STALLED) {
+                // The stand-in thread is no longer needed, and the write lock is free again
+                if (subscriber.standIn) {
+                    releaseStandIn();
+                }
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    // Always above IDLE
+    private long clock() {
+        return System.nanoTime() - clockOrigin + 1;
+    }
+
+    // Grows the pool when a thread is stuck in a stalled write and shrinks it when the write returns
+    private synchronized void resizeSenders(int delta) {
+        int size = senders.getCorePoolSize() + delta;
+        if (delta > 0) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+    }
+
+    // For tests
+    int senderPoolSize() {
+        return senders.getCorePoolSize();
+    }
+
+    // Overridden in tests
+    SseEmitter createEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void reset(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        try {
+            subscriber.emitter.send(SseEmitter.event().name("reset").data("resync"));
+            subscriber.emitter.complete();
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Could not send reset to a lagging subscriber", ex);
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            senders.execute(task);
+        } catch (RejectedExecutionException ex) {
+            // Shutting down
+        }
+    }
+
+    // Latest entry per task, in the order those latest entries were appended
+    private static Collection<TaskChangeFeed.Entry> coalesce(List<TaskChangeFeed.Entry> entries) {
+        Map<Long, TaskChangeFeed.Entry> latest = new LinkedHashMap<>();
+        for (TaskChangeFeed.Entry entry : entries) {
+            latest.remove(entry.delta().id());
+            latest.put(entry.delta().id(), entry);
+        }
+        return latest.values();
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // clock() when the current write started, IDLE between writes, STALLED once expired
+        private final AtomicLong sendStarted = new AtomicLong(IDLE);
+        private volatile long cursor;
+        private volatile boolean heartbeatDue;
+        private volatile boolean stalled;
+        private volatile boolean standIn;
+
+        Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.todo.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/tasks")
+@RequiredArgsConstructor
+public class TaskEventsController {
+
+    private final TaskEventBroadcaster broadcaster;
+
+    // EventSource clients resend the last id they saw as Last-Event-ID when reconnecting
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return broadcaster.subscribe(lastEventId);
+    }
+}
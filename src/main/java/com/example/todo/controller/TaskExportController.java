@@ -0,0 +1,42 @@
+package com.example.todo.controller;
+
+import com.example.todo.exception.BadRequestException;
+import com.example.todo.service.TaskExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Profile("!memory")
+@RequestMapping("/api/tasks")
+@RequiredArgsConstructor
+public class TaskExportController {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final TaskExportService exportService;
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        return switch (format) {
+            case "ndjson" -> ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.ndjson\"")
+                    .body(out -> exportService.exportNdjson(out));
+            case "csv" -> ResponseEntity.ok()
+                    .contentType(TEXT_CSV)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.csv\"")
+                    .body(out -> exportService.exportCsv(out));
+            default -> throw new BadRequestException("Unsupported export format: " + format);
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.todo.controller;
+
+import com.example.todo.dto.ImportSummary;
+import com.example.todo.service.TaskImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Profile("!memory")
+@RequestMapping("/api/tasks")
+@RequiredArgsConstructor
+public class TaskImportController {
+
+    private final TaskImportService importService;
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportSummary> importNdjson(InputStream body) throws IOException {
+        ImportSummary summary = importService.importNdjson(body);
+        return ResponseEntity.ok(summary);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportSummary> importCsv(InputStream body) throws IOException {
+        ImportSummary summary = importService.importCsv(body);
+        return ResponseEntity.ok(summary);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.todo.controller;
+
+import com.example.todo.dto.SearchPage;
+import com.example.todo.exception.BadRequestException;
+import com.example.todo.model.Task;
+import com.example.todo.service.TaskSearch;
+import com.example.todo.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/tasks")
+@RequiredArgsConstructor
+public class TaskSearchController {
+
+    // Deep pages get expensive for both backends; clients should refine the query instead
+    public static final int MAX_RESULT_WINDOW = 10_000;
+
+    private final TaskSearch search;
+
+    @GetMapping("/search")
+    public ResponseEntity<SearchPage<Task>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        if (q.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        int limit = Math.max(1, Math.min(size, TaskService.MAX_PAGE_SIZE));
+        if (page < 0 || (long) page * limit + limit > MAX_RESULT_WINDOW) {
+            throw new BadRequestException("Page must be between 0 and " + (MAX_RESULT_WINDOW / limit - 1));
+        }
+        SearchPage<Task> results = search.search(q, page, limit);
+        return ResponseEntity.ok(results);
+    }
+}
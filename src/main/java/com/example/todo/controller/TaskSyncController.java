@@ -0,0 +1,27 @@
+package com.example.todo.controller;
+
+import com.example.todo.dto.SyncPage;
+import com.example.todo.service.TaskSyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/tasks")
+@RequiredArgsConstructor
+public class TaskSyncController {
+
+    private final TaskSyncService syncService;
+
+    @GetMapping("/sync")
+    public ResponseEntity<SyncPage> sync(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "" + TaskSyncService.DEFAULT_BATCH_SIZE) int limit) {
+        return ResponseEntity.ok(syncService.changesSince(since, limit));
+    }
+}
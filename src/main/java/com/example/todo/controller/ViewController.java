@@ -1,23 +1,47 @@
 package com.example.todo.controller;
 
+import com.example.todo.dto.CursorPage;
 import com.example.todo.model.Task;
 import com.example.todo.service.TaskService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Set;
 
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class ViewController {
 
+    private static final Set<String> STATUSES = Set.of("all", "completed", "pending");
+
     private final TaskService service;
 
+    /**
+     * One keyset page of tasks, optionally only completed or pending ones, so the page costs
+     * the same however many tasks exist. Filtered pages list summaries without descriptions.
+     */
     @GetMapping("/")
-    public String home(Model model) {
-        model.addAttribute("tasks", service.getAll());
+    public String home(@RequestParam(required = false) String after,
+                       @RequestParam(required = false) String before,
+                       @RequestParam(defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) int size,
+                       @RequestParam(defaultValue = "all") String status,
+                       Model model) {
+        CursorPage<?> page = switch (status) {
+            case "completed" -> service.getCompletedPage(after, before, size);
+            case "pending" -> service.getPendingPage(after, before, size);
+            default -> service.getPage(after, before, size);
+        };
+        model.addAttribute("tasks", page.items());
+        model.addAttribute("page", page);
+        model.addAttribute("status", STATUSES.contains(status) ? status : "all");
+        model.addAttribute("size", Math.max(1, Math.min(size, TaskService.MAX_PAGE_SIZE)));
         return "index";
     }
 
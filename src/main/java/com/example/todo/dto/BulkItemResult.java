@@ -0,0 +1,15 @@
+package com.example.todo.dto;
+
+/**
+ * Outcome of one element of a bulk request; {@code index} is its position in the request body.
+ */
+public record BulkItemResult(int index, Long id, int status, String error) {
+
+    public static BulkItemResult ok(int index, Long id, int status) {
+        return new BulkItemResult(index, id, status, null);
+    }
+
+    public static BulkItemResult failed(int index, Long id, int status, String error) {
+        return new BulkItemResult(index, id, status, error);
+    }
+}
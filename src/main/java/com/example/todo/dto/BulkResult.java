@@ -0,0 +1,11 @@
+package com.example.todo.dto;
+
+import java.util.List;
+
+public record BulkResult(int succeeded, int failed, List<BulkItemResult> items) {
+
+    public static BulkResult of(List<BulkItemResult> items) {
+        int failed = (int) items.stream().filter(item -> item.error() != null).count();
+        return new BulkResult(items.size() - failed, failed, items);
+    }
+}
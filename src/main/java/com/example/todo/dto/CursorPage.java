@@ -0,0 +1,10 @@
+package com.example.todo.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ * The cursors are opaque tokens; pass them back as {@code after} / {@code before}.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, String prevCursor) {
+}
@@ -0,0 +1,13 @@
+package com.example.todo.dto;
+
+import java.util.List;
+
+/**
+ * Result of a streaming import. Only the first rejections are listed so the
+ * summary stays small however many lines fail; {@code rejected} is always the full count.
+ */
+public record ImportSummary(long accepted, long rejected, List<RejectedLine> rejections) {
+
+    public record RejectedLine(long line, String error) {
+    }
+}
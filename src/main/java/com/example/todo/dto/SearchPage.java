@@ -0,0 +1,9 @@
+package com.example.todo.dto;
+
+import java.util.List;
+
+/**
+ * One page of ranked search results; {@code total} counts all matches.
+ */
+public record SearchPage<T>(List<T> items, int page, int size, long total) {
+}
@@ -0,0 +1,12 @@
+package com.example.todo.dto;
+
+import com.example.todo.model.Task;
+
+import java.util.List;
+
+/**
+ * One batch of /api/tasks/sync. Changes include tombstones ({@code deleted: true}).
+ * Pass {@code nextToken} back as {@code since}; while {@code hasMore} is true the client is still behind.
+ */
+public record SyncPage(List<Task> changes, String nextToken, boolean hasMore) {
+}
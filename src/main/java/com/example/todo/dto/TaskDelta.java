@@ -0,0 +1,20 @@
+package com.example.todo.dto;
+
+import com.example.todo.event.TaskChangedEvent;
+import com.example.todo.event.TaskChangedEvent.ChangeType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Compact change event sent on /api/tasks/events; deletions carry only the id.
+ * Lagging subscribers receive coalesced feeds, so clients should treat UPDATED as an upsert.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskDelta(ChangeType type, Long id, String title, Boolean completed) {
+
+    public static TaskDelta of(TaskChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            return new TaskDelta(ChangeType.DELETED, event.task().getId(), null, null);
+        }
+        return new TaskDelta(event.type(), event.task().getId(), event.task().getTitle(), event.task().isCompleted());
+    }
+}
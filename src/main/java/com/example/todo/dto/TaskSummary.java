@@ -0,0 +1,10 @@
+package com.example.todo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of a task without the description.
+ * Filled by JPQL constructor expressions, so rows never enter the persistence context.
+ */
+public record TaskSummary(Long id, String title, boolean completed, LocalDateTime createdAt) {
+}
@@ -0,0 +1,29 @@
+package com.example.todo.event;
+
+import com.example.todo.model.Task;
+
+/**
+ * Published by TaskService after a task has been created, updated or deleted.
+ * {@code wasCompleted} is the completed flag before the change; for creations and
+ * deletions it equals the task's own flag.
+ */
+public record TaskChangedEvent(ChangeType type, Task task, boolean wasCompleted) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TaskChangedEvent created(Task task) {
+        return new TaskChangedEvent(ChangeType.CREATED, task, task.isCompleted());
+    }
+
+    public static TaskChangedEvent updated(Task task, boolean wasCompleted) {
+        return new TaskChangedEvent(ChangeType.UPDATED, task, wasCompleted);
+    }
+
+    public static TaskChangedEvent deleted(Task task) {
+        return new TaskChangedEvent(ChangeType.DELETED, task, task.isCompleted());
+    }
+}
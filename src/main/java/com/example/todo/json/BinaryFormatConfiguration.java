@@ -0,0 +1,47 @@
+package com.example.todo.json;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * CBOR ({@code application/cbor}), Smile ({@code application/x-jackson-smile}) and MessagePack
+ * ({@code application/msgpack}) alongside JSON, chosen by the request's Accept header.
+ * Spring MVC adds CBOR and Smile converters by itself, but on plain mappers; these are built from
+ * Boot's Jackson2ObjectMapperBuilder instead, so they carry the same modules and serializers as JSON.
+ * They stay behind the JSON converter, which therefore still answers Accept: *&#47;* and requests without one.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BinaryFormatConfiguration implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    public BinaryFormatConfiguration(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        this.builders = builders;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(builder().factory(new CBORFactory()).build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(builder().factory(new SmileFactory()).build()));
+        converters.add(new MessagePackHttpMessageConverter(builder().factory(new MessagePackFactory()).build()));
+    }
+
+    // The builder bean is a prototype, so every call gets a fresh, Boot-customized one
+    private Jackson2ObjectMapperBuilder builder() {
+        return builders.getIfAvailable(Jackson2ObjectMapperBuilder::json);
+    }
+}
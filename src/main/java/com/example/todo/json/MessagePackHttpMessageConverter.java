@@ -0,0 +1,19 @@
+package com.example.todo.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+/**
+ * Reads and writes {@code application/msgpack} (or the older {@code application/x-msgpack})
+ * through an ObjectMapper on jackson-dataformat-msgpack's MessagePackFactory.
+ */
+public class MessagePackHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public static final MediaType APPLICATION_MSGPACK = new MediaType("application", "msgpack");
+    public static final MediaType APPLICATION_X_MSGPACK = new MediaType("application", "x-msgpack");
+
+    public MessagePackHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper, APPLICATION_MSGPACK, APPLICATION_X_MSGPACK);
+    }
+}
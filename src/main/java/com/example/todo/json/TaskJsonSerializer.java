@@ -0,0 +1,121 @@
+package com.example.todo.json;
+
+import com.example.todo.event.TaskChangedEvent;
+import com.example.todo.model.Task;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jackson.JsonComponent;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+
+/**
+ * Writes Task fields directly instead of through databind's getter introspection, in the same
+ * order and format: dates as ISO-8601 strings, like Boot's default ObjectMapper.
+ * Saved tasks are encoded once per version; the UTF-8 bytes are kept by task id and copied
+ * straight into JSON output, so a list response is mostly concatenated fragments.
+ * Fragments are dropped when TaskService publishes a change and replaced when the version moves.
+ * Binary formats and token buffers always get the fields written out.
+ */
+@JsonComponent
+public class TaskJsonSerializer extends StdSerializer<Task> {
+
+    private static final JsonFactory FRAGMENT_FACTORY = new JsonFactory();
+
+    // task id -> the encoding of one version of it; empty when the cache size is 0
+    private final Cache<Long, Fragment> fragments;
+
+    public TaskJsonSerializer(@Value("${todo.json.fragment-cache-size:10000}") long cacheSize) {
+        super(Task.class);
+        this.fragments = cacheSize > 0 ? Caffeine.newBuilder().maximumSize(cacheSize).build() : null;
+    }
+
+    @Override
+    public void serialize(Task task, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (fragments == null || task.getId() == null || task.getVersion() == null
+                || !(gen instanceof JsonGeneratorImpl)) {
+            writeFields(task, gen);
+            return;
+        }
+        Fragment fragment = fragments.getIfPresent(task.getId());
+        if (fragment == null || !fragment.encodes(task)) {
+            fragment = Fragment.of(task);
+            fragments.put(task.getId(), fragment);
+        }
+        gen.writeRawValue(fragment.json());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (fragments != null && event.task().getId() != null) {
+            fragments.invalidate(event.task().getId());
+        }
+    }
+
+    long cachedFragments() {
+        return fragments == null ? 0 : fragments.estimatedSize();
+    }
+
+    static void writeFields(Task task, JsonGenerator gen) throws IOException {
+        gen.writeStartObject(task);
+        if (task.getId() == null) {
+            gen.writeNullField("id");
+        } else {
+            gen.writeNumberField("id", task.getId());
+        }
+        gen.writeStringField("title", task.getTitle());
+        gen.writeStringField("description", task.getDescription());
+        gen.writeBooleanField("completed", task.isCompleted());
+        writeDateField(gen, "createdAt", task.getCreatedAt());
+        if (task.getVersion() == null) {
+            gen.writeNullField("version");
+        } else {
+            gen.writeNumberField("version", task.getVersion());
+        }
+        writeDateField(gen, "updatedAt", task.getUpdatedAt());
+        gen.writeBooleanField("deleted", task.isDeleted());
+        gen.writeEndObject();
+    }
+
+    // What jackson-datatype-jsr310 writes with WRITE_DATES_AS_TIMESTAMPS off
+    private static void writeDateField(JsonGenerator gen, String name, LocalDateTime value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeStringField(name, DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
+    }
+
+    private record Fragment(long version, LocalDateTime updatedAt, SerializedString json) {
+
+        static Fragment of(Task task) {
+            StringWriter out = new StringWriter(256);
+            try (JsonGenerator gen = FRAGMENT_FACTORY.createGenerator(out)) {
+                writeFields(task, gen);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            SerializedString json = new SerializedString(out.toString());
+            // Encode to UTF-8 now rather than on the first write
+            json.asUnquotedUTF8();
+            return new Fragment(task.getVersion(), task.getUpdatedAt(), json);
+        }
+
+        // updatedAt too, in case a task is changed in memory without a version bump
+        boolean encodes(Task task) {
+            return version == task.getVersion() && Objects.equals(updatedAt, task.getUpdatedAt());
+        }
+    }
+}
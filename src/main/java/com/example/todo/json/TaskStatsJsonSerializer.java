@@ -0,0 +1,29 @@
+package com.example.todo.json;
+
+import com.example.todo.controller.TaskController.TaskStats;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Writes the three TaskStats counters without field introspection.
+ */
+@JsonComponent
+public class TaskStatsJsonSerializer extends StdSerializer<TaskStats> {
+
+    public TaskStatsJsonSerializer() {
+        super(TaskStats.class);
+    }
+
+    @Override
+    public void serialize(TaskStats stats, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(stats);
+        gen.writeNumberField("total", stats.total);
+        gen.writeNumberField("completed", stats.completed);
+        gen.writeNumberField("pending", stats.pending);
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.todo.memory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Growable bit set with one writer and lock-free readers, indexed by task id.
+ * Like {@link LongObjectMap}, growing copies into a new array published with a volatile write.
+ */
+final class ConcurrentBitSet {
+
+    private volatile AtomicLongArray words = new AtomicLongArray(16);
+
+    boolean get(long index) {
+        AtomicLongArray current = words;
+        int word = wordIndex(index);
+        return word < current.length() && (current.get(word) & (1L << index)) != 0;
+    }
+
+    // Writer only
+    void set(long index, boolean value) {
+        int word = wordIndex(index);
+        AtomicLongArray current = words;
+        if (word >= current.length()) {
+            if (!value) {
+                return;
+            }
+            current = grow(word);
+        }
+        long bits = current.get(word);
+        current.set(word, value ? bits | (1L << index) : bits & ~(1L << index));
+    }
+
+    void clear() {
+        words = new AtomicLongArray(16);
+    }
+
+    private AtomicLongArray grow(int word) {
+        AtomicLongArray old = words;
+        int length = old.length();
+        while (length <= word) {
+            length <<= 1;
+        }
+        AtomicLongArray grown = new AtomicLongArray(length);
+        for (int i = 0; i < old.length(); i++) {
+            grown.set(i, old.get(i));
+        }
+        words = grown;
+        return grown;
+    }
+
+    private static int wordIndex(long index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Negative bit index " + index);
+        }
+        return Math.toIntExact(index >>> 6);
+    }
+}
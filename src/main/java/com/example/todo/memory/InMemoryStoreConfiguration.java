@@ -0,0 +1,67 @@
+package com.example.todo.memory;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Beans the {@code memory} profile needs in place of the database ones.
+ */
+@Configuration
+@Profile("memory")
+public class InMemoryStoreConfiguration {
+
+    /**
+     * Keeps {@code @Transactional} and TransactionTemplate working without a database: there is
+     * nothing to commit or roll back, but after-commit event listeners still run after the
+     * outermost transactional method, as they do with JPA.
+     */
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new SynchronizationOnlyTransactionManager();
+    }
+
+    static class SynchronizationOnlyTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return TransactionSynchronizationManager.isActualTransactionActive();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected Object doSuspend(Object transaction) {
+            return transaction;
+        }
+
+        @Override
+        protected void doResume(Object transaction, Object suspendedResources) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+
+        // A failing inner @Transactional method has nothing to undo, so the outer one is not marked either
+        @Override
+        protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        }
+    }
+}
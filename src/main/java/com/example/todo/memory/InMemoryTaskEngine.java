@@ -0,0 +1,337 @@
+package com.example.todo.memory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Task storage held entirely in memory, with an optional {@link TaskJournal} for durability.
+ * <p>
+ * Tasks live in a {@link LongObjectMap} by id, next to two bit sets (live, completed) and two skip
+ * lists ordered by (created_at, id) for keyset pages and by (updated_at, id) for delta sync.
+ * All changes go through {@link #write}, one writer at a time; each stored task is immutable and
+ * replaced as a whole, so readers take no lock. Point reads finish in a bounded number of steps;
+ * ordered scans are lock-free and may see changes that land while they run.
+ * <p>
+ * A change is visible as soon as it is applied, and {@link #write} returns once it is logged
+ * durably; the log is forced outside the write lock, so concurrent writers share one fsync.
+ */
+final class InMemoryTaskEngine implements Closeable {
+
+    /**
+     * Position in one of the ordered indexes; a null time sorts first, like NULLS FIRST.
+     */
+    record OrderKey(LocalDateTime at, long id) implements Comparable<OrderKey> {
+        private static final Comparator<OrderKey> ORDER = Comparator
+                .comparing(OrderKey::at, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+                .thenComparingLong(OrderKey::id);
+
+        @Override
+        public int compareTo(OrderKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    // Swapped as a whole so total and completed always belong together
+    private record Counts(long live, long completed) {
+    }
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Object snapshotLock = new Object();
+    private final LongObjectMap<StoredTask> tasks = new LongObjectMap<>();
+    private final ConcurrentBitSet live = new ConcurrentBitSet();
+    private final ConcurrentBitSet completed = new ConcurrentBitSet();
+    private final ConcurrentSkipListMap<OrderKey, StoredTask> byCreatedAt = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<OrderKey, StoredTask> byUpdatedAt = new ConcurrentSkipListMap<>();
+    private final TaskJournal journal;
+    private volatile Counts counts = new Counts(0, 0);
+    private long nextId = 1;  // writer only
+
+    /**
+     * Starts empty without a journal, or from the journal's snapshot and log.
+     */
+    InMemoryTaskEngine(TaskJournal journal) throws IOException {
+        this.journal = journal;
+        if (journal != null) {
+            long recovered = journal.recover(new TaskJournal.Replay() {
+                @Override
+                public void put(StoredTask task) {
+                    apply(task);
+                }
+
+                @Override
+                public void remove(long id) {
+                    applyRemove(id);
+                }
+
+                @Override
+                public void clear(long nextUnusedId) {
+                    applyClear();
+                    nextId = Math.max(nextId, nextUnusedId);
+                }
+            });
+            nextId = Math.max(nextId, recovered);
+        }
+    }
+
+    /**
+     * The task with this id, tombstones included, or null.
+     */
+    StoredTask get(long id) {
+        return tasks.get(id);
+    }
+
+    StoredTask getLive(long id) {
+        return live.get(id) ? liveOrNull(tasks.get(id)) : null;
+    }
+
+    long count() {
+        return counts.live();
+    }
+
+    long countCompleted() {
+        return counts.completed();
+    }
+
+    /**
+     * Live tasks in (created_at, id) order; a concurrent view, not a copy.
+     */
+    Collection<StoredTask> liveTasks() {
+        return Collections.unmodifiableCollection(byCreatedAt.values());
+    }
+
+    /**
+     * Up to {@code limit} live tasks after (or with {@code descending}, before) {@code from} in
+     * (created_at, id) order, optionally only completed or only pending ones. A null {@code from}
+     * starts at the first task.
+     */
+    List<StoredTask> page(Boolean completedOnly, OrderKey from, boolean descending, int limit) {
+        NavigableMap<OrderKey, StoredTask> view = byCreatedAt;
+        if (from != null) {
+            view = descending ? view.headMap(from, false) : view.tailMap(from, false);
+        }
+        if (descending) {
+            view = view.descendingMap();
+        }
+        List<StoredTask> page = new ArrayList<>(Math.min(limit, 256));
+        for (StoredTask task : view.values()) {
+            if (page.size() >= limit) {
+                break;
+            }
+            // The bit set skips non-matching tasks without touching them; the record check
+            // covers a completion flip landing mid-scan
+            if (completedOnly == null
+                    || completed.get(task.id()) == completedOnly && task.completed() == completedOnly) {
+                page.add(task);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Live tasks and tombstones changed after {@code after} and before {@code horizon},
+     * in (updated_at, id) order.
+     */
+    List<StoredTask> changedSince(OrderKey after, LocalDateTime horizon, int limit) {
+        List<StoredTask> changes = new ArrayList<>(Math.min(limit, 256));
+        for (StoredTask task : byUpdatedAt.tailMap(after, false).values()) {
+            if (changes.size() >= limit || !task.updatedAt().isBefore(horizon)) {
+                break;
+            }
+            changes.add(task);
+        }
+        return changes;
+    }
+
+    /**
+     * Runs {@code body} as the only writer and returns its result once its changes are durable.
+     */
+    <R> R write(Function<Writer, R> body) {
+        Writer writer = new Writer();
+        R result;
+        writeLock.lock();
+        try {
+            result = body.apply(writer);
+        } finally {
+            writeLock.unlock();
+            // Also when body failed half-way: whatever it applied is visible and must be durable
+            if (writer.last != null) {
+                journal.sync(writer.last);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes a snapshot if anything was logged since the last one. Writers are only held up
+     * while the task references are copied; serialising them happens outside the write lock.
+     */
+    void snapshot() {
+        if (journal == null) {
+            return;
+        }
+        synchronized (snapshotLock) {
+            List<StoredTask> all;
+            long next;
+            long generation;
+            writeLock.lock();
+            try {
+                if (!journal.isDirty()) {
+                    return;
+                }
+                all = new ArrayList<>(tasks.size());
+                tasks.forEach(all::add);
+                next = nextId;
+                generation = journal.rotate();
+            } finally {
+                writeLock.unlock();
+            }
+            journal.writeSnapshot(generation, next, all);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (journal != null) {
+            snapshot();
+            journal.close();
+        }
+    }
+
+    /**
+     * Changes the store from inside {@link #write}; every change is logged before it is applied.
+     */
+    final class Writer {
+
+        private TaskJournal.Ticket last;
+
+        private Writer() {
+        }
+
+        long nextId() {
+            return nextId++;
+        }
+
+        StoredTask getLive(long id) {
+            return liveOrNull(tasks.get(id));
+        }
+
+        void put(StoredTask task) {
+            if (journal != null) {
+                last = journal.put(task);
+            }
+            apply(task);
+        }
+
+        /**
+         * Removes the task for good, leaving no tombstone.
+         */
+        boolean remove(long id) {
+            if (tasks.get(id) == null) {
+                return false;
+            }
+            if (journal != null) {
+                last = journal.remove(id);
+            }
+            applyRemove(id);
+            return true;
+        }
+
+        /**
+         * Removes every task, tombstones included; ids are not reused afterwards.
+         */
+        void clear() {
+            if (journal != null) {
+                last = journal.clear(nextId);
+            }
+            applyClear();
+        }
+
+        /**
+         * Tombstones last changed before {@code cutoff}, oldest first.
+         */
+        List<StoredTask> tombstonesBefore(LocalDateTime cutoff) {
+            return byUpdatedAt.headMap(new OrderKey(cutoff, Long.MIN_VALUE), false).values().stream()
+                    .filter(StoredTask::deleted)
+                    .toList();
+        }
+    }
+
+    private static StoredTask liveOrNull(StoredTask task) {
+        return task != null && !task.deleted() ? task : null;
+    }
+
+    // Index entries go in before the old ones come out, so a scan sees a moving task twice at worst, never not at all
+    private void apply(StoredTask next) {
+        long id = next.id();
+        StoredTask previous = tasks.put(id, next);
+        boolean wasLive = previous != null && !previous.deleted();
+        boolean isLive = !next.deleted();
+        reindex(byCreatedAt, wasLive ? createdKey(previous) : null, isLive ? createdKey(next) : null, next);
+        reindex(byUpdatedAt, previous != null ? updatedKey(previous) : null, updatedKey(next), next);
+        live.set(id, isLive);
+        completed.set(id, isLive && next.completed());
+        adjustCounts(previous, next);
+        nextId = Math.max(nextId, id + 1);
+    }
+
+    private void applyRemove(long id) {
+        StoredTask previous = tasks.remove(id);
+        if (previous == null) {
+            return;
+        }
+        if (!previous.deleted()) {
+            byCreatedAt.remove(createdKey(previous));
+        }
+        byUpdatedAt.remove(updatedKey(previous));
+        live.set(id, false);
+        completed.set(id, false);
+        adjustCounts(previous, null);
+    }
+
+    private void applyClear() {
+        tasks.clear();
+        byCreatedAt.clear();
+        byUpdatedAt.clear();
+        live.clear();
+        completed.clear();
+        counts = new Counts(0, 0);
+    }
+
+    private void adjustCounts(StoredTask previous, StoredTask next) {
+        long liveDelta = (liveOrNull(next) != null ? 1 : 0) - (liveOrNull(previous) != null ? 1 : 0);
+        long completedDelta = (liveOrNull(next) != null && next.completed() ? 1 : 0)
+                - (liveOrNull(previous) != null && previous.completed() ? 1 : 0);
+        if (liveDelta != 0 || completedDelta != 0) {
+            Counts current = counts;
+            counts = new Counts(current.live() + liveDelta, current.completed() + completedDelta);
+        }
+    }
+
+    private static void reindex(NavigableMap<OrderKey, StoredTask> index, OrderKey oldKey, OrderKey newKey,
+                                StoredTask task) {
+        if (newKey != null) {
+            index.put(newKey, task);
+        }
+        if (oldKey != null && !oldKey.equals(newKey)) {
+            index.remove(oldKey);
+        }
+    }
+
+    private static OrderKey createdKey(StoredTask task) {
+        return new OrderKey(task.createdAt(), task.id());
+    }
+
+    private static OrderKey updatedKey(StoredTask task) {
+        return new OrderKey(task.updatedAt(), task.id());
+    }
+}
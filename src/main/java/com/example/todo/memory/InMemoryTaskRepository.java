@@ -0,0 +1,374 @@
+package com.example.todo.memory;
+
+import com.example.todo.dto.TaskSummary;
+import com.example.todo.memory.InMemoryTaskEngine.OrderKey;
+import com.example.todo.model.Task;
+import com.example.todo.repository.TaskStore;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link TaskStore} over {@link InMemoryTaskEngine} for the {@code memory} profile, which runs
+ * without a database. Behaves like the JPA repository as far as TaskService can tell: ids are
+ * assigned on insert, versions only move when title, description, completed or created_at change,
+ * a stale version fails like Hibernate's optimistic lock, deletes through TaskService leave
+ * tombstones and {@code save} writes the stored state back into the task it was given.
+ * <p>
+ * With {@code todo.memory.data-dir} set, every change is in a log there before the call returns
+ * and a snapshot is written every {@code todo.memory.snapshot-interval-ms} and on shutdown.
+ */
+@Slf4j
+@Repository
+@Profile("memory")
+public class InMemoryTaskRepository implements TaskStore {
+
+    private final InMemoryTaskEngine engine;
+    private final Validator validator;
+    // Not journaled: starts from the clock in microseconds, ahead of an earlier run's count unless
+    // that run averaged more than a million writing transactions a second
+    private final AtomicLong changeSequence = new AtomicLong(ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now()));
+
+    public InMemoryTaskRepository(Validator validator,
+                                  @Value("${todo.memory.data-dir:}") String dataDir) throws IOException {
+        this.validator = validator;
+        this.engine = new InMemoryTaskEngine(dataDir.isBlank() ? null : new TaskJournal(Path.of(dataDir)));
+        if (dataDir.isBlank()) {
+            log.warn("todo.memory.data-dir is not set, tasks are lost on shutdown");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${todo.memory.snapshot-interval-ms:300000}",
+            initialDelayString = "${todo.memory.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        engine.snapshot();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        engine.close();
+    }
+
+    @Override
+    public <S extends Task> S save(S task) {
+        validate(List.of(task));
+        LocalDateTime now = LocalDateTime.now();
+        StoredTask stored = engine.write(writer -> saveOne(writer, task, now));
+        return copyInto(stored, task);
+    }
+
+    @Override
+    public <S extends Task> List<S> saveAll(Iterable<S> tasks) {
+        List<S> all = new ArrayList<>();
+        tasks.forEach(all::add);
+        validate(all);
+        LocalDateTime now = LocalDateTime.now();
+        // One pass under the write lock and one log sync for the whole batch; copied back as it goes,
+        // so a task listed twice is at its new version the second time
+        return engine.write(writer -> {
+            all.forEach(task -> copyInto(saveOne(writer, task, now), task));
+            return all;
+        });
+    }
+
+    @Override
+    public <S extends Task> S saveAndFlush(S task) {
+        return save(task);
+    }
+
+    @Override
+    public int updateCompleted(Long id, boolean completed, Long version, LocalDateTime now) {
+        return engine.write(writer -> {
+            StoredTask current = writer.getLive(id);
+            if (current == null || current.completed() == completed
+                    || version != null && version != current.version()) {
+                return 0;
+            }
+            writer.put(current.withCompleted(completed, now));
+            return 1;
+        });
+    }
+
+    @Override
+    public int markCompletedByIdIn(Collection<Long> ids, LocalDateTime now) {
+        return engine.write(writer -> {
+            int updated = 0;
+            for (Long id : new LinkedHashSet<>(ids)) {
+                StoredTask current = writer.getLive(id);
+                if (current != null && !current.completed()) {
+                    writer.put(current.withCompleted(true, now));
+                    updated++;
+                }
+            }
+            return updated;
+        });
+    }
+
+    @Override
+    public int softDelete(Long id, Long version, LocalDateTime now) {
+        return engine.write(writer -> {
+            StoredTask current = writer.getLive(id);
+            if (current == null || !Objects.equals(version, current.version())) {
+                return 0;
+            }
+            writer.put(current.asDeleted(now));
+            return 1;
+        });
+    }
+
+    @Override
+    public int softDeleteByIdIn(Collection<Long> ids, LocalDateTime now) {
+        return engine.write(writer -> {
+            int deleted = 0;
+            for (Long id : new LinkedHashSet<>(ids)) {
+                StoredTask current = writer.getLive(id);
+                if (current != null) {
+                    writer.put(current.asDeleted(now));
+                    deleted++;
+                }
+            }
+            return deleted;
+        });
+    }
+
+    @Override
+    public int purgeTombstonesBefore(LocalDateTime cutoff) {
+        return engine.write(writer -> {
+            int purged = 0;
+            for (StoredTask tombstone : writer.tombstonesBefore(cutoff)) {
+                writer.remove(tombstone.id());
+                purged++;
+            }
+            return purged;
+        });
+    }
+
+    /**
+     * Empties the store, tombstones included: there is no test transaction to roll back here.
+     */
+    @Override
+    public void deleteAll() {
+        engine.write(writer -> {
+            writer.clear();
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return Optional.ofNullable(engine.getLive(id)).map(StoredTask::toTask);
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return engine.liveTasks().stream().map(StoredTask::toTask).toList();
+    }
+
+    @Override
+    public List<Task> findAllById(Iterable<Long> ids) {
+        List<Task> found = new ArrayList<>();
+        Set<Long> seen = new LinkedHashSet<>();
+        for (Long id : ids) {
+            StoredTask task = id != null && seen.add(id) ? engine.getLive(id) : null;
+            if (task != null) {
+                found.add(task.toTask());
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public long count() {
+        return engine.count();
+    }
+
+    @Override
+    public long countByCompleted(boolean completed) {
+        return completed ? engine.countCompleted() : engine.count() - engine.countCompleted();
+    }
+
+    @Override
+    public List<CompletionCount> countGroupedByCompleted() {
+        long total = engine.count();
+        long completed = engine.countCompleted();
+        // Like GROUP BY, only groups that have rows
+        List<CompletionCount> rows = new ArrayList<>(2);
+        if (total - completed > 0) {
+            rows.add(new CompletionRow(false, total - completed));
+        }
+        if (completed > 0) {
+            rows.add(new CompletionRow(true, completed));
+        }
+        return rows;
+    }
+
+    @Override
+    public List<Task> findAllByOrderByCreatedAtAscIdAsc(Limit limit) {
+        return tasks(engine.page(null, null, false, max(limit)));
+    }
+
+    @Override
+    public List<Task> findPageAfter(LocalDateTime createdAt, Long id, Limit limit) {
+        return tasks(engine.page(null, new OrderKey(createdAt, id), false, max(limit)));
+    }
+
+    @Override
+    public List<Task> findPageBefore(LocalDateTime createdAt, Long id, Limit limit) {
+        return tasks(engine.page(null, new OrderKey(createdAt, id), true, max(limit)));
+    }
+
+    @Override
+    public List<TaskSummary> findSummaries(boolean completed, Limit limit) {
+        return summaries(engine.page(completed, null, false, max(limit)));
+    }
+
+    @Override
+    public List<TaskSummary> findSummariesAfter(boolean completed, LocalDateTime createdAt, Long id, Limit limit) {
+        return summaries(engine.page(completed, new OrderKey(createdAt, id), false, max(limit)));
+    }
+
+    @Override
+    public List<TaskSummary> findSummariesBefore(boolean completed, LocalDateTime createdAt, Long id, Limit limit) {
+        return summaries(engine.page(completed, new OrderKey(createdAt, id), true, max(limit)));
+    }
+
+    @Override
+    public long findChangeSequence() {
+        return changeSequence.get();
+    }
+
+    @Override
+    public int bumpChangeSequence() {
+        changeSequence.incrementAndGet();
+        return 1;
+    }
+
+    @Override
+    public List<Task> findChangedSince(LocalDateTime updatedAt, Long id, LocalDateTime horizon, int limit) {
+        return tasks(engine.changedSince(new OrderKey(updatedAt, id), horizon, limit));
+    }
+
+    // Unindexed scan like the JPQL fallback: title matches first, then by id
+    @Override
+    public Page<Task> searchByText(String text, Pageable pageable) {
+        String needle = text.toLowerCase(Locale.ROOT);
+        List<StoredTask> matches = engine.liveTasks().stream()
+                .filter(task -> contains(task.title(), needle) || contains(task.description(), needle))
+                .sorted(Comparator.comparing((StoredTask task) -> !contains(task.title(), needle))
+                        .thenComparingLong(StoredTask::id))
+                .toList();
+        List<StoredTask> content = pageable.isUnpaged() ? matches : matches.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        return new PageImpl<>(tasks(content), pageable, matches.size());
+    }
+
+    /**
+     * Inserts a task without a known id, or updates the live task with its id. A given version
+     * must match the stored one; an update that changes nothing keeps version and updated_at.
+     */
+    private static StoredTask saveOne(InMemoryTaskEngine.Writer writer, Task task, LocalDateTime now) {
+        StoredTask current = task.getId() != null ? writer.getLive(task.getId()) : null;
+        if (current == null) {
+            if (task.getId() != null && task.getVersion() != null) {
+                // A versioned task that is gone was deleted under the caller, as Hibernate's merge reports it
+                throw new ObjectOptimisticLockingFailureException(Task.class, task.getId());
+            }
+            StoredTask created = new StoredTask(writer.nextId(), task.getTitle(), task.getDescription(),
+                    task.isCompleted(), task.getCreatedAt(), 0, now, false);
+            writer.put(created);
+            return created;
+        }
+        if (task.getVersion() != null && task.getVersion() != current.version()) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, task.getId());
+        }
+        if (Objects.equals(task.getTitle(), current.title())
+                && Objects.equals(task.getDescription(), current.description())
+                && task.isCompleted() == current.completed()
+                && Objects.equals(task.getCreatedAt(), current.createdAt())) {
+            return current;
+        }
+        StoredTask updated = new StoredTask(current.id(), task.getTitle(), task.getDescription(), task.isCompleted(),
+                task.getCreatedAt(), current.version() + 1, now, false);
+        writer.put(updated);
+        return updated;
+    }
+
+    // Bean Validation runs before anything is written, as it does on persist and merge
+    private void validate(List<? extends Task> tasks) {
+        for (Task task : tasks) {
+            Set<ConstraintViolation<Task>> violations = validator.validate(task);
+            if (!violations.isEmpty()) {
+                throw new ConstraintViolationException(violations);
+            }
+        }
+    }
+
+    private static <S extends Task> S copyInto(StoredTask stored, S task) {
+        task.setId(stored.id());
+        task.setTitle(stored.title());
+        task.setDescription(stored.description());
+        task.setCompleted(stored.completed());
+        task.setCreatedAt(stored.createdAt());
+        task.setVersion(stored.version());
+        task.setUpdatedAt(stored.updatedAt());
+        task.setDeleted(stored.deleted());
+        return task;
+    }
+
+    private static int max(Limit limit) {
+        return limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+    }
+
+    private static List<Task> tasks(List<StoredTask> stored) {
+        return stored.stream().map(StoredTask::toTask).toList();
+    }
+
+    private static List<TaskSummary> summaries(List<StoredTask> stored) {
+        return stored.stream().map(StoredTask::toSummary).toList();
+    }
+
+    private static boolean contains(String value, String needle) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(needle);
+    }
+
+    private record CompletionRow(boolean completed, long total) implements CompletionCount {
+        @Override
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        @Override
+        public long getTotal() {
+            return total;
+        }
+    }
+}
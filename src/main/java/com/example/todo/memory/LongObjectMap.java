@@ -0,0 +1,154 @@
+package com.example.todo.memory;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Open-addressing hash map from primitive long keys, with one writer and any number of readers.
+ * <p>
+ * Writers must be serialised by the caller. Readers take no lock and finish in a bounded number
+ * of probes: slots are published through an {@link AtomicReferenceArray}, a resize builds a new
+ * table and swaps it in with one volatile write, and the load factor (removed slots included)
+ * stays at or below one half, so every probe sequence ends at an empty slot.
+ */
+final class LongObjectMap<V> {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final Object REMOVED = new Object();
+
+    private volatile AtomicReferenceArray<Object> table;
+    private int size;      // writer only
+    private int occupied;  // entries plus REMOVED markers, writer only
+
+    LongObjectMap() {
+        this(MIN_CAPACITY);
+    }
+
+    LongObjectMap(int expectedSize) {
+        table = new AtomicReferenceArray<>(capacityFor(expectedSize));
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        AtomicReferenceArray<Object> slots = table;
+        int mask = slots.length() - 1;
+        for (int i = index(key, mask); ; i = (i + 1) & mask) {
+            Object slot = slots.get(i);
+            if (slot == null) {
+                return null;
+            }
+            if (slot != REMOVED && ((Entry<V>) slot).key == key) {
+                return ((Entry<V>) slot).value;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    V put(long key, V value) {
+        if ((occupied + 1) * 2 > table.length()) {
+            // Mostly REMOVED markers: rehash at the same size to clear them
+            resize(size * 4 > table.length() ? table.length() * 2 : table.length());
+        }
+        AtomicReferenceArray<Object> slots = table;
+        int mask = slots.length() - 1;
+        int free = -1;
+        for (int i = index(key, mask); ; i = (i + 1) & mask) {
+            Object slot = slots.get(i);
+            if (slot == null) {
+                if (free < 0) {
+                    free = i;
+                    occupied++;
+                }
+                break;
+            }
+            if (slot == REMOVED) {
+                if (free < 0) {
+                    free = i;
+                }
+            } else if (((Entry<V>) slot).key == key) {
+                slots.set(i, new Entry<>(key, value));
+                return ((Entry<V>) slot).value;
+            }
+        }
+        slots.set(free, new Entry<>(key, value));
+        size++;
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        AtomicReferenceArray<Object> slots = table;
+        int mask = slots.length() - 1;
+        for (int i = index(key, mask); ; i = (i + 1) & mask) {
+            Object slot = slots.get(i);
+            if (slot == null) {
+                return null;
+            }
+            if (slot != REMOVED && ((Entry<V>) slot).key == key) {
+                slots.set(i, REMOVED);
+                size--;
+                return ((Entry<V>) slot).value;
+            }
+        }
+    }
+
+    void clear() {
+        table = new AtomicReferenceArray<>(MIN_CAPACITY);
+        size = 0;
+        occupied = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Visits the entries of the table current at the call; concurrent writes may or may not be seen.
+     */
+    @SuppressWarnings("unchecked")
+    void forEach(Consumer<? super V> action) {
+        AtomicReferenceArray<Object> slots = table;
+        for (int i = 0; i < slots.length(); i++) {
+            Object slot = slots.get(i);
+            if (slot != null && slot != REMOVED) {
+                action.accept(((Entry<V>) slot).value);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize(int capacity) {
+        AtomicReferenceArray<Object> old = table;
+        AtomicReferenceArray<Object> slots = new AtomicReferenceArray<>(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < old.length(); i++) {
+            Object slot = old.get(i);
+            if (slot != null && slot != REMOVED) {
+                int j = index(((Entry<V>) slot).key, mask);
+                while (slots.get(j) != null) {
+                    j = (j + 1) & mask;
+                }
+                slots.set(j, slot);
+            }
+        }
+        occupied = size;
+        table = slots;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    // Ids are mostly sequential; spread them so neighbours do not form one long probe run
+    private static int index(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private record Entry<V>(long key, V value) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.todo.memory;
+
+import com.example.todo.dto.TaskSummary;
+import com.example.todo.model.Task;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Immutable state of one task inside {@link InMemoryTaskEngine}, tombstones included.
+ * Callers only ever get {@link Task} copies, so nothing outside the engine can change a stored row.
+ */
+record StoredTask(long id, String title, String description, boolean completed,
+                  LocalDateTime createdAt, long version, LocalDateTime updatedAt, boolean deleted) {
+
+    private static final int COMPLETED = 1;
+    private static final int DELETED = 1 << 1;
+    private static final int HAS_CREATED_AT = 1 << 2;
+    private static final int HAS_UPDATED_AT = 1 << 3;
+
+    StoredTask withCompleted(boolean completed, LocalDateTime now) {
+        return new StoredTask(id, title, description, completed, createdAt, version + 1, now, deleted);
+    }
+
+    StoredTask asDeleted(LocalDateTime now) {
+        return new StoredTask(id, title, description, completed, createdAt, version + 1, now, true);
+    }
+
+    Task toTask() {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setCompleted(completed);
+        task.setCreatedAt(createdAt);
+        task.setVersion(version);
+        task.setUpdatedAt(updatedAt);
+        task.setDeleted(deleted);
+        return task;
+    }
+
+    TaskSummary toSummary() {
+        return new TaskSummary(id, title, completed, createdAt);
+    }
+
+    /**
+     * Current format (2): {@code [long id][byte flags][long version][long created_at][long updated_at]}
+     * then title and description as length-prefixed UTF-8. Times are epoch microseconds in UTC, the
+     * precision of the TIMESTAMP columns, and are left out when null; a string length of -1 is null.
+     */
+    void writeTo(DataOutputStream out) throws IOException {
+        int flags = (completed ? COMPLETED : 0) | (deleted ? DELETED : 0)
+                | (createdAt != null ? HAS_CREATED_AT : 0) | (updatedAt != null ? HAS_UPDATED_AT : 0);
+        out.writeLong(id);
+        out.writeByte(flags);
+        out.writeLong(version);
+        if (createdAt != null) {
+            out.writeLong(toEpochMicros(createdAt));
+        }
+        if (updatedAt != null) {
+            out.writeLong(toEpochMicros(updatedAt));
+        }
+        writeString(out, title);
+        writeString(out, description);
+    }
+
+    /**
+     * Decodes a record written in {@code format}; strings are the only bytes copied out of {@code in}.
+     */
+    static StoredTask readFrom(ByteBuffer in, byte format) {
+        return switch (format) {
+            case 1 -> new StoredTask(in.getLong(), readString(in), readString(in), in.get() != 0,
+                    readFormatOneTime(in), in.getLong(), readFormatOneTime(in), in.get() != 0);
+            case 2 -> {
+                long id = in.getLong();
+                int flags = in.get();
+                long version = in.getLong();
+                LocalDateTime createdAt = (flags & HAS_CREATED_AT) != 0 ? fromEpochMicros(in.getLong()) : null;
+                LocalDateTime updatedAt = (flags & HAS_UPDATED_AT) != 0 ? fromEpochMicros(in.getLong()) : null;
+                yield new StoredTask(id, readString(in), readString(in), (flags & COMPLETED) != 0,
+                        createdAt, version, updatedAt, (flags & DELETED) != 0);
+            }
+            default -> throw new IllegalStateException("Unsupported task record format " + format);
+        };
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (in.hasArray()) {
+            String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+            return value;
+        }
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static long toEpochMicros(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + value.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    // Format 1: epoch second and nanos in UTC, Long.MIN_VALUE for null
+    private static LocalDateTime readFormatOneTime(ByteBuffer in) {
+        long seconds = in.getLong();
+        if (seconds == Long.MIN_VALUE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(seconds, in.getInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,383 @@
+package com.example.todo.memory;
+
+import com.example.todo.storage.MappedLog;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Durability for {@link InMemoryTaskEngine}: a snapshot of every task plus a log of the changes since.
+ * <p>
+ * Changes go to {@code tasks-<generation>.log} through {@link MappedLog}, so they are CRC-framed,
+ * appended by copying into mapped memory and group-committed. A snapshot first switches appends to
+ * the next generation, then writes {@code tasks.snapshot} beside it (temporary file, fsync, atomic
+ * rename) and only then drops the older logs. Recovery loads the snapshot and replays the logs from
+ * its generation onwards, so a crash at any point in between loses nothing that was acknowledged.
+ * Both are decoded straight from mapped pages.
+ * <p>
+ * Every log record and the snapshot header carry {@link #FORMAT_VERSION}; see {@link StoredTask#writeTo}
+ * for the task record. Format 1 (fixed-width times, no flags) is still read, so its files are replaced
+ * by the next snapshot.
+ * <p>
+ * Appends and {@link #rotate} run under the engine's write lock; {@link #sync} and
+ * {@link #writeSnapshot} do not.
+ */
+@Slf4j
+final class TaskJournal implements Closeable {
+
+    static final byte FORMAT_VERSION = 2;
+    private static final int SNAPSHOT_MAGIC = 0x54534B53; // "TSKS"
+    // magic, format, generation, next id, task count
+    private static final int SNAPSHOT_HEADER_BYTES = Integer.BYTES + 1 + 3 * Long.BYTES;
+    private static final int SNAPSHOT_WINDOW_BYTES = 1 << 30;
+    private static final String SNAPSHOT = "tasks.snapshot";
+    private static final Pattern LOG_NAME = Pattern.compile("tasks-(\\d+)\\.log");
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte CLEAR = 3;
+
+    /**
+     * Receives recovered state in order: the snapshot's tasks, then every logged change.
+     */
+    interface Replay {
+        void put(StoredTask task);
+
+        void remove(long id);
+
+        void clear(long nextId);
+    }
+
+    /**
+     * Where a change was logged; pass to {@link #sync} to wait for it.
+     */
+    record Ticket(MappedLog log, long seq) {
+    }
+
+    private record SnapshotHeader(long generation, long nextId, long tasks) {
+    }
+
+    private final Path directory;
+    // Syncs hold the read lock, closing a log after a snapshot takes the write lock
+    private final ReadWriteLock closing = new ReentrantReadWriteLock();
+    private final List<MappedLog> retired = new ArrayList<>();  // guarded by itself
+    private MappedLog current;
+    private long generation;
+    private volatile boolean dirty;
+
+    TaskJournal(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Replays the snapshot and the logs after it into {@code replay}, opens the newest log for
+     * appends and returns the next unused id recorded in the snapshot (0 without one).
+     */
+    long recover(Replay replay) throws IOException {
+        Files.createDirectories(directory);
+        long start = System.nanoTime();
+        long nextId = 0;
+        long from = 1;
+        long snapshotTasks = 0;
+        Path snapshot = directory.resolve(SNAPSHOT);
+        if (Files.exists(snapshot)) {
+            SnapshotHeader header = readSnapshot(snapshot, replay);
+            from = header.generation();
+            nextId = header.nextId();
+            snapshotTasks = header.tasks();
+        }
+
+        TreeMap<Long, Path> logs = logFiles();
+        long records = 0;
+        for (var entry : logs.entrySet()) {
+            if (entry.getKey() < from) {
+                // Covered by the snapshot; left behind by a crash after the rename
+                Files.delete(entry.getValue());
+                continue;
+            }
+            MappedLog wal = new MappedLog(entry.getValue());
+            records += wal.replay(record -> apply(record, replay));
+            if (entry.getKey().equals(logs.lastKey())) {
+                current = wal;
+                generation = entry.getKey();
+            } else {
+                wal.close();
+            }
+        }
+        if (current == null) {
+            generation = from;
+            current = new MappedLog(logFile(generation));
+        }
+        dirty = records > 0;
+        log.info("Recovered {} snapshot tasks and {} log records from {} in {} ms", snapshotTasks, records,
+                directory, (System.nanoTime() - start) / 1_000_000);
+        return nextId;
+    }
+
+    Ticket put(StoredTask task) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeByte(PUT);
+            task.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return append(bytes.toByteArray());
+    }
+
+    Ticket remove(long id) {
+        return append(ByteBuffer.allocate(10).put(FORMAT_VERSION).put(REMOVE).putLong(id).array());
+    }
+
+    // Carries the next id, so ids are not handed out twice when no snapshot follows
+    Ticket clear(long nextId) {
+        return append(ByteBuffer.allocate(10).put(FORMAT_VERSION).put(CLEAR).putLong(nextId).array());
+    }
+
+    private Ticket append(byte[] record) {
+        try {
+            long seq = current.append(record);
+            dirty = true;
+            return new Ticket(current, seq);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to " + current.file(), e);
+        }
+    }
+
+    /**
+     * Returns once the change behind {@code ticket} is on disk.
+     */
+    void sync(Ticket ticket) {
+        closing.readLock().lock();
+        try {
+            // A log is only closed once a durable snapshot covers everything in it
+            if (ticket.log().isOpen()) {
+                ticket.log().sync(ticket.seq());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not sync " + ticket.log().file(), e);
+        } finally {
+            closing.readLock().unlock();
+        }
+    }
+
+    /**
+     * True when something was logged since the last snapshot.
+     */
+    boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Sends further appends to a new log generation and returns it; the snapshot taken at this
+     * point is written with {@link #writeSnapshot} under that generation.
+     */
+    long rotate() {
+        try {
+            MappedLog next = new MappedLog(logFile(generation + 1));
+            synchronized (retired) {
+                retired.add(current);
+            }
+            current = next;
+            generation++;
+            dirty = false;
+            return generation;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the next log in " + directory, e);
+        }
+    }
+
+    /**
+     * Writes the snapshot for {@code generation} and drops the logs it covers.
+     */
+    void writeSnapshot(long generation, long nextId, Collection<StoredTask> tasks) {
+        long start = System.nanoTime();
+        Path temporary = directory.resolve(SNAPSHOT + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                CheckedOutputStream checked = new CheckedOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), new CRC32C());
+                DataOutputStream out = new DataOutputStream(checked);
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeByte(FORMAT_VERSION);
+                out.writeLong(generation);
+                out.writeLong(nextId);
+                out.writeLong(tasks.size());
+                ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+                DataOutputStream recordOut = new DataOutputStream(record);
+                for (StoredTask task : tasks) {
+                    record.reset();
+                    task.writeTo(recordOut);
+                    out.writeInt(record.size());
+                    record.writeTo(out);
+                }
+                out.writeInt((int) checked.getChecksum().getValue());
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(temporary, directory.resolve(SNAPSHOT),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Try again on the next round; the logs it would have replaced are all still there
+            dirty = true;
+            throw new UncheckedIOException("Could not write a snapshot to " + directory, e);
+        }
+
+        closing.writeLock().lock();
+        try {
+            synchronized (retired) {
+                for (MappedLog wal : retired) {
+                    wal.close();
+                }
+                retired.clear();
+            }
+            for (var entry : logFiles().headMap(generation).values()) {
+                Files.deleteIfExists(entry);
+            }
+        } catch (IOException e) {
+            log.warn("Could not remove logs covered by the snapshot in {}", directory, e);
+        } finally {
+            closing.writeLock().unlock();
+        }
+        log.info("Wrote snapshot of {} tasks to {} in {} ms", tasks.size(), directory,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void close() throws IOException {
+        closing.writeLock().lock();
+        try {
+            synchronized (retired) {
+                for (MappedLog wal : retired) {
+                    wal.close();
+                }
+                retired.clear();
+            }
+            if (current != null) {
+                current.close();
+            }
+        } finally {
+            closing.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replays the tasks in the snapshot and returns its header. The file is mapped a window at a time;
+     * records are decoded where they lie and checksummed as they go.
+     */
+    private static SnapshotHeader readSnapshot(Path snapshot, Replay replay) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            long end = channel.size() - Integer.BYTES;
+            if (end < SNAPSHOT_HEADER_BYTES) {
+                throw new IllegalStateException("Truncated snapshot " + snapshot);
+            }
+            CRC32C crc = new CRC32C();
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, SNAPSHOT_HEADER_BYTES);
+            crc.update(header.duplicate());
+            int magic = header.getInt();
+            byte format = header.get();
+            if (magic != SNAPSHOT_MAGIC || format < 1 || format > FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported snapshot format " + format + " in " + snapshot);
+            }
+            long generation = header.getLong();
+            long nextId = header.getLong();
+            long count = header.getLong();
+
+            long windowStart = SNAPSHOT_HEADER_BYTES;
+            MappedByteBuffer window = map(channel, windowStart, end);
+            for (long i = 0; i < count; i++) {
+                if (!holdsRecord(window)) {
+                    // The next record runs past this window: map the following one from its start
+                    windowStart += window.position();
+                    window = map(channel, windowStart, end);
+                    if (!holdsRecord(window)) {
+                        throw new IllegalStateException("Truncated or corrupt snapshot " + snapshot);
+                    }
+                }
+                int start = window.position();
+                int length = window.getInt();
+                crc.update(window.slice(start, Integer.BYTES + length));
+                replay.put(StoredTask.readFrom(window.slice(start + Integer.BYTES, length), format));
+                window.position(start + Integer.BYTES + length);
+            }
+            if (windowStart + window.position() != end) {
+                throw new IllegalStateException("Unexpected data after the last task in " + snapshot);
+            }
+            ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(trailer, end);
+            if (trailer.getInt(0) != (int) crc.getValue()) {
+                throw new IllegalStateException("Checksum mismatch in " + snapshot);
+            }
+            return new SnapshotHeader(generation, nextId, count);
+        }
+    }
+
+    private static boolean holdsRecord(ByteBuffer window) {
+        if (window.remaining() < Integer.BYTES) {
+            return false;
+        }
+        int length = window.getInt(window.position());
+        return length >= 0 && length <= window.remaining() - Integer.BYTES;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long start, long end) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SNAPSHOT_WINDOW_BYTES, end - start));
+    }
+
+    private static void apply(ByteBuffer in, Replay replay) {
+        byte format = in.get();
+        if (format < 1 || format > FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported task log record format " + format);
+        }
+        byte type = in.get();
+        switch (type) {
+            case PUT -> replay.put(StoredTask.readFrom(in, format));
+            case REMOVE -> replay.remove(in.getLong());
+            case CLEAR -> replay.clear(in.getLong());
+            default -> throw new IllegalStateException("Unknown task log record type " + type);
+        }
+    }
+
+    private Path logFile(long generation) {
+        return directory.resolve("tasks-" + generation + ".log");
+    }
+
+    private TreeMap<Long, Path> logFiles() throws IOException {
+        TreeMap<Long, Path> logs = new TreeMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher name = LOG_NAME.matcher(file.getFileName().toString());
+                if (name.matches()) {
+                    logs.put(Long.parseLong(name.group(1)), file);
+                }
+            });
+        }
+        return logs;
+    }
+}
@@ -1,20 +1,31 @@
 package com.example.todo.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+// Mirrors the Flyway indexes for the H2 profiles; the partial pending index (V5) is PostgreSQL-only
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_tasks_completed_created_at_id", columnList = "completed, created_at, id"),
+        @Index(name = "idx_tasks_updated_at_id", columnList = "updated_at, id")
+})
+// Deleted tasks stay behind as tombstones for /api/tasks/sync; entity queries never see them
+@SQLRestriction("deleted = FALSE")
 @Data
 @NoArgsConstructor
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_id_seq")
+    @SequenceGenerator(name = "tasks_id_seq", sequenceName = "tasks_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -26,4 +37,28 @@ public class Task {
 
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    // Bumped on every write, including the bulk UPDATEs in TaskRepository; clients send it back as If-Match
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    // Application clock, like the bulk UPDATEs in TaskRepository, so sync tokens compare one time source
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "updated_at", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime updatedAt;
+
+    @ColumnDefault("FALSE")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private boolean deleted = false;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
 }
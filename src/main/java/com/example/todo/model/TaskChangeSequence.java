@@ -0,0 +1,26 @@
+package com.example.todo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * The single row behind the list ETag: every transaction that changes tasks bumps {@code seq}
+ * just before it commits (see TaskListETag). Mapped so the H2 profiles create the table, with the
+ * row from import.sql; Flyway's V8 creates both elsewhere.
+ */
+@Entity
+@Table(name = "task_change_sequence")
+@Getter
+@NoArgsConstructor
+public class TaskChangeSequence {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private long seq;
+}
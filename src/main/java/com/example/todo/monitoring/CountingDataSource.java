@@ -0,0 +1,73 @@
+package com.example.todo.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Hands out connections whose statements report to {@link SqlRequestStats}: one count per
+ * execute call (a JDBC batch is one round trip) and one per row read from a result set.
+ * Extends DelegatingDataSource so pool metrics and health checks still find the Hikari pool.
+ */
+public class CountingDataSource extends DelegatingDataSource {
+
+    public CountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static <T> T wrap(Class<T> type, T target) {
+        Object proxy = Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                (self, method, args) -> {
+                    if (type == ResultSet.class) {
+                        Object result = invoke(target, method, args);
+                        if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                            SqlRequestStats.rowRead();
+                        }
+                        return result;
+                    }
+                    if (type != Connection.class && method.getName().startsWith("execute")) {
+                        SqlRequestStats.statementExecuted();
+                    }
+                    return wrapResult(method, invoke(target, method, args));
+                });
+        return type.cast(proxy);
+    }
+
+    // Statements from a connection and result sets from a statement are counted too
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object wrapResult(Method method, Object result) {
+        Class returnType = method.getReturnType();
+        if (result instanceof Statement && Statement.class.isAssignableFrom(returnType)) {
+            return wrap(returnType, result);
+        }
+        if (result instanceof ResultSet && returnType == ResultSet.class) {
+            return wrap(ResultSet.class, (ResultSet) result);
+        }
+        return result;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.todo.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Per-request SQL statement budget ({@code todo.sql-budget.*}): wraps the DataSource in a
+ * {@link CountingDataSource} and counts around every MVC request with {@link SqlBudgetInterceptor}.
+ * The proxy sits on every JDBC call, so it is off unless {@code todo.sql-budget.enabled=true},
+ * which the dev and test profiles set.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "todo.sql-budget.enabled")
+public class SqlBudgetConfiguration implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> registry;
+    private final int defaultBudget;
+    private final List<String> endpoints;
+
+    public SqlBudgetConfiguration(ObjectProvider<MeterRegistry> registry,
+                                  @Value("${todo.sql-budget.default-statements:10}") int defaultBudget,
+                                  @Value("${todo.sql-budget.endpoints:}") List<String> endpoints) {
+        this.registry = registry;
+        this.defaultBudget = defaultBudget;
+        this.endpoints = endpoints;
+    }
+
+    // Static, so the DataSource is wrapped before anything else gets hold of it
+    @Bean
+    public static BeanPostProcessor countingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)) {
+                    return new CountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(new SqlBudgetInterceptor(
+                registry.getIfAvailable(SimpleMeterRegistry::new), defaultBudget, endpoints));
+    }
+}
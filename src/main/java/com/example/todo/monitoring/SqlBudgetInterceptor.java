@@ -0,0 +1,91 @@
+package com.example.todo.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements and rows behind each request, publishes them per endpoint as
+ * todo.sql.statements / todo.sql.rows and logs requests that exceed the endpoint's statement budget.
+ */
+@Slf4j
+public class SqlBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry registry;
+    private final int defaultBudget;
+    private final Map<String, Integer> budgets;
+
+    /**
+     * @param endpoints overrides as {@code "METHOD /pattern=statements"}; a negative budget disables the check
+     */
+    public SqlBudgetInterceptor(MeterRegistry registry, int defaultBudget, List<String> endpoints) {
+        this.registry = registry;
+        this.defaultBudget = defaultBudget;
+        this.budgets = parseBudgets(endpoints);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlRequestStats.begin();
+        return true;
+    }
+
+    // The request thread is released here; the async dispatch that completes the response counts on its own
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlRequestStats.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SqlRequestStats stats = SqlRequestStats.end();
+        if (stats == null) {
+            return;
+        }
+        request.setAttribute(SqlRequestStats.ATTRIBUTE, stats);
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String endpoint = request.getMethod() + " " + uri;
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+        DistributionSummary.builder("todo.sql.statements")
+                .description("SQL statements executed per request")
+                .tags(tags)
+                .register(registry)
+                .record(stats.statements());
+        DistributionSummary.builder("todo.sql.rows")
+                .description("Rows read from result sets per request")
+                .tags(tags)
+                .register(registry)
+                .record(stats.rows());
+
+        int budget = budgets.getOrDefault(endpoint, defaultBudget);
+        if (budget >= 0 && stats.statements() > budget) {
+            Counter.builder("todo.sql.budget.exceeded").tags(tags).register(registry).increment();
+            log.warn("{} {} ran {} SQL statements ({} rows), budget is {}",
+                    request.getMethod(), request.getRequestURI(), stats.statements(), stats.rows(), budget);
+        }
+    }
+
+    static Map<String, Integer> parseBudgets(List<String> endpoints) {
+        Map<String, Integer> budgets = new HashMap<>();
+        for (String entry : endpoints) {
+            int split = entry.lastIndexOf('=');
+            if (split < 0) {
+                throw new IllegalArgumentException("SQL budget '" + entry + "' must look like 'GET /api/tasks/{id}=1'");
+            }
+            budgets.put(entry.substring(0, split).trim(), Integer.valueOf(entry.substring(split + 1).trim()));
+        }
+        return budgets;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.todo.monitoring;
+
+/**
+ * SQL statements executed and rows read by the current request thread.
+ * Counting only happens between {@link #begin()} and {@link #end()}; work handed to other threads
+ * (async exports, SSE senders, scheduled jobs) is not attributed to the request.
+ */
+public final class SqlRequestStats {
+
+    // Request attribute holding the finished stats, read by tests through SqlStatementMatchers
+    public static final String ATTRIBUTE = SqlRequestStats.class.getName();
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+
+    private SqlRequestStats() {
+    }
+
+    public static void begin() {
+        CURRENT.set(new SqlRequestStats());
+    }
+
+    // Returns null when nothing was begun on this thread
+    public static SqlRequestStats end() {
+        SqlRequestStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    static void statementExecuted() {
+        SqlRequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+        }
+    }
+
+    static void rowRead() {
+        SqlRequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.rows++;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + rows + " rows";
+    }
+}
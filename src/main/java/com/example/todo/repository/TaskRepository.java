@@ -1,10 +1,164 @@
 package com.example.todo.repository;
 
+import com.example.todo.dto.TaskSummary;
 import com.example.todo.model.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    List<Task> findByCompleted(boolean completed);
+/**
+ * The JPA {@link TaskStore}, plus the queries only a database can serve: streamed exports and
+ * PostgreSQL full-text search.
+ */
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskStore {
+
+    // Declared by both parents; redeclared so calls through TaskRepository are not ambiguous
+    @Override
+    <S extends Task> S save(S task);
+
+    @Override
+    <S extends Task> List<S> saveAll(Iterable<S> tasks);
+
+    @Override
+    <S extends Task> S saveAndFlush(S task);
+
+    @Override
+    Optional<Task> findById(Long id);
+
+    @Override
+    List<Task> findAll();
+
+    @Override
+    List<Task> findAllById(Iterable<Long> ids);
+
+    @Override
+    long count();
+
+    @Override
+    void deleteAll();
+
+    long countByCompleted(boolean completed);
+
+    // One aggregate round trip for /api/tasks/stats; rows are projections, not entities
+    @Query("SELECT t.completed AS completed, COUNT(t) AS total FROM Task t GROUP BY t.completed")
+    List<CompletionCount> countGroupedByCompleted();
+
+    // Keyset pagination over (created_at, id), backed by idx_tasks_created_at_id
+    List<Task> findAllByOrderByCreatedAtAscIdAsc(Limit limit);
+
+    @Query("SELECT t FROM Task t WHERE (t.createdAt, t.id) > (:createdAt, :id) ORDER BY t.createdAt ASC, t.id ASC")
+    List<Task> findPageAfter(LocalDateTime createdAt, Long id, Limit limit);
+
+    @Query("SELECT t FROM Task t WHERE (t.createdAt, t.id) < (:createdAt, :id) ORDER BY t.createdAt DESC, t.id DESC")
+    List<Task> findPageBefore(LocalDateTime createdAt, Long id, Limit limit);
+
+    // Completed / pending listings as projections, backed by idx_tasks_completed_created_at_id
+    @Query("SELECT new com.example.todo.dto.TaskSummary(t.id, t.title, t.completed, t.createdAt) FROM Task t"
+            + " WHERE t.completed = :completed ORDER BY t.createdAt ASC, t.id ASC")
+    List<TaskSummary> findSummaries(boolean completed, Limit limit);
+
+    @Query("SELECT new com.example.todo.dto.TaskSummary(t.id, t.title, t.completed, t.createdAt) FROM Task t"
+            + " WHERE t.completed = :completed AND (t.createdAt, t.id) > (:createdAt, :id)"
+            + " ORDER BY t.createdAt ASC, t.id ASC")
+    List<TaskSummary> findSummariesAfter(boolean completed, LocalDateTime createdAt, Long id, Limit limit);
+
+    @Query("SELECT new com.example.todo.dto.TaskSummary(t.id, t.title, t.completed, t.createdAt) FROM Task t"
+            + " WHERE t.completed = :completed AND (t.createdAt, t.id) < (:createdAt, :id)"
+            + " ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskSummary> findSummariesBefore(boolean completed, LocalDateTime createdAt, Long id, Limit limit);
+
+    /**
+     * Forward-only cursor over all tasks for exports. Must be consumed inside a
+     * transaction and closed; callers should detach each entity once written.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t ORDER BY t.createdAt ASC, t.id ASC")
+    Stream<Task> streamAllOrdered();
+
+    // Single UPDATEs; bulk UPDATEs skip the entity callbacks, hence the explicit updated_at
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.completed = :completed, t.version = t.version + 1, t.updatedAt = :now"
+            + " WHERE t.id = :id AND t.completed <> :completed AND t.version = COALESCE(:version, t.version)")
+    int updateCompleted(Long id, boolean completed, Long version, LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.completed = true, t.version = t.version + 1, t.updatedAt = :now"
+            + " WHERE t.id IN :ids AND t.completed = false")
+    int markCompletedByIdIn(Collection<Long> ids, LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.deleted = true, t.version = t.version + 1, t.updatedAt = :now"
+            + " WHERE t.id = :id AND t.version = :version")
+    int softDelete(Long id, Long version, LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.deleted = true, t.version = t.version + 1, t.updatedAt = :now WHERE t.id IN :ids")
+    int softDeleteByIdIn(Collection<Long> ids, LocalDateTime now);
+
+    // Over idx_tasks_updated_at_id; native, so the deleted filter does not apply and tombstones are included
+    @Query(value = """
+            SELECT id, title, description, completed, created_at, version, updated_at, deleted FROM tasks
+            WHERE (updated_at, id) > (:updatedAt, :id) AND updated_at < :horizon
+            ORDER BY updated_at, id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Task> findChangedSince(LocalDateTime updatedAt, Long id, LocalDateTime horizon, int limit);
+
+    // The list ETag's change sequence, see TaskListETag
+    @Query("SELECT c.seq FROM TaskChangeSequence c")
+    long findChangeSequence();
+
+    // Run by TaskListETag just before a transaction that changed tasks commits
+    @Modifying
+    @Query("UPDATE TaskChangeSequence c SET c.seq = c.seq + 1")
+    int bumpChangeSequence();
+
+    @Modifying
+    @Query(value = "DELETE FROM tasks WHERE deleted = TRUE AND updated_at < :cutoff", nativeQuery = true)
+    int purgeTombstonesBefore(LocalDateTime cutoff);
+
+    /**
+     * Ranked full-text search over the search_vector column (PostgreSQL only, see V4 migration).
+     */
+    @Query(value = """
+            SELECT id, title, description, completed, created_at, version, updated_at, deleted FROM tasks
+            WHERE search_vector @@ websearch_to_tsquery('english', :query) AND deleted = FALSE
+            ORDER BY ts_rank(search_vector, websearch_to_tsquery('english', :query)) DESC, id
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<Task> searchRanked(String query, int limit, long offset);
+
+    @Query(value = "SELECT COUNT(*) FROM tasks"
+            + " WHERE search_vector @@ websearch_to_tsquery('english', :query) AND deleted = FALSE",
+            nativeQuery = true)
+    long countSearchMatches(String query);
+
+    // Unindexed substring match, used when no search index is available; title matches first
+    @Query(value = """
+            SELECT t FROM Task t
+            WHERE LOWER(t.title) LIKE LOWER(CONCAT('%', :text, '%'))
+               OR LOWER(t.description) LIKE LOWER(CONCAT('%', :text, '%'))
+            ORDER BY CASE WHEN LOWER(t.title) LIKE LOWER(CONCAT('%', :text, '%')) THEN 0 ELSE 1 END, t.id
+            """,
+            countQuery = """
+            SELECT COUNT(t) FROM Task t
+            WHERE LOWER(t.title) LIKE LOWER(CONCAT('%', :text, '%'))
+               OR LOWER(t.description) LIKE LOWER(CONCAT('%', :text, '%'))
+            """)
+    Page<Task> searchByText(String text, Pageable pageable);
 }
@@ -0,0 +1,105 @@
+package com.example.todo.repository;
+
+import com.example.todo.dto.TaskSummary;
+import com.example.todo.model.Task;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The task operations TaskService and the services beside it need, so they run on either store:
+ * {@link TaskRepository} over JPA, or InMemoryTaskRepository in the {@code memory} profile.
+ * Entity queries and counts never see tombstones of deleted tasks; only {@link #findChangedSince}
+ * and {@link #purgeTombstonesBefore} do.
+ */
+public interface TaskStore {
+
+    /**
+     * Inserts a task without an id, or updates the live task with its id. A non-null version must
+     * still be the stored one, or it fails with an optimistic locking failure.
+     */
+    <S extends Task> S save(S task);
+
+    <S extends Task> List<S> saveAll(Iterable<S> tasks);
+
+    // Like save, but written before it returns even inside a longer transaction
+    <S extends Task> S saveAndFlush(S task);
+
+    Optional<Task> findById(Long id);
+
+    List<Task> findAll();
+
+    List<Task> findAllById(Iterable<Long> ids);
+
+    long count();
+
+    /**
+     * Removes every task for good, bypassing the tombstones; for tests.
+     */
+    void deleteAll();
+
+    long countByCompleted(boolean completed);
+
+    // One row per completed flag that has tasks
+    List<CompletionCount> countGroupedByCompleted();
+
+    // Keyset pages in (created_at, id) order
+    List<Task> findAllByOrderByCreatedAtAscIdAsc(Limit limit);
+
+    List<Task> findPageAfter(LocalDateTime createdAt, Long id, Limit limit);
+
+    // Descending from (createdAt, id)
+    List<Task> findPageBefore(LocalDateTime createdAt, Long id, Limit limit);
+
+    List<TaskSummary> findSummaries(boolean completed, Limit limit);
+
+    List<TaskSummary> findSummariesAfter(boolean completed, LocalDateTime createdAt, Long id, Limit limit);
+
+    List<TaskSummary> findSummariesBefore(boolean completed, LocalDateTime createdAt, Long id, Limit limit);
+
+    /**
+     * Flips the completed flag and bumps the version in one write.
+     * A non-null {@code version} must match the stored one.
+     * Returns 0 when the task does not exist, already has the requested state or is at another version.
+     * The write skips the entity callbacks, so callers pass the {@code updated_at} value.
+     */
+    int updateCompleted(Long id, boolean completed, Long version, LocalDateTime now);
+
+    // Returns the number of tasks that were still pending
+    int markCompletedByIdIn(Collection<Long> ids, LocalDateTime now);
+
+    /**
+     * Deletes leave a tombstone so /api/tasks/sync can report them.
+     * Returns 0 when the task is gone or no longer at {@code version}.
+     */
+    int softDelete(Long id, Long version, LocalDateTime now);
+
+    int softDeleteByIdIn(Collection<Long> ids, LocalDateTime now);
+
+    /**
+     * Live tasks and tombstones changed after (updatedAt, id) and before {@code horizon},
+     * in (updated_at, id) order.
+     */
+    List<Task> findChangedSince(LocalDateTime updatedAt, Long id, LocalDateTime horizon, int limit);
+
+    int purgeTombstonesBefore(LocalDateTime cutoff);
+
+    // The list ETag's change sequence, see TaskListETag
+    long findChangeSequence();
+
+    int bumpChangeSequence();
+
+    // Unindexed substring match on title and description; title matches first, then by id
+    Page<Task> searchByText(String text, Pageable pageable);
+
+    interface CompletionCount {
+        boolean isCompleted();
+
+        long getTotal();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.todo.service;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Unsynchronized buffered char reader for the import parsers, which consume input one char at a time.
+ */
+final class CharInput {
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+
+    CharInput(Reader in) {
+        this.in = in;
+    }
+
+    int read() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.SearchPage;
+import com.example.todo.event.TaskChangedEvent;
+import com.example.todo.model.Task;
+import com.example.todo.repository.TaskStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-process inverted index over task titles and descriptions for the H2 profiles.
+ * Built from the table on startup and kept current from TaskChangedEvents.
+ * Scores are tf-idf with title terms counted {@value #TITLE_WEIGHT} times.
+ * With {@code todo.search.in-memory=false}, or before the first build completes,
+ * searches fall back to an unindexed substring query.
+ */
+@Slf4j
+@Service
+@Profile("!supabase")
+public class InMemoryTaskSearchIndex implements TaskSearch {
+
+    static final int TITLE_WEIGHT = 3;
+    private static final int REBUILD_BATCH = 1000;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final TaskStore repository;
+    private final boolean enabled;
+
+    // term -> (task id -> weighted term frequency)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // task id -> distinct terms, to remove a task's postings on update or delete
+    private final Map<Long, String[]> documentTerms = new HashMap<>();
+    // ids changed by events while a rebuild runs; its copies of them may be older. Null otherwise
+    private Set<Long> changedDuringRebuild;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready = false;
+
+    public InMemoryTaskSearchIndex(TaskStore repository,
+                                   @Value("${todo.search.in-memory:true}") boolean enabled) {
+        this.repository = repository;
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public SearchPage<Task> search(String query, int page, int size) {
+        if (!ready) {
+            Page<Task> result = repository.searchByText(query.trim(), PageRequest.of(page, size));
+            return new SearchPage<>(result.getContent(), page, size, result.getTotalElements());
+        }
+
+        List<Hit> hits;
+        long total;
+        lock.readLock().lock();
+        try {
+            TopHits top = rank(tokenize(query), page * size + size);
+            hits = top.hits();
+            total = top.total();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> ids = hits.stream().skip((long) page * size).map(Hit::id).toList();
+        Map<Long, Task> tasks = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<Task> items = ids.stream().map(tasks::get).filter(task -> task != null).toList();
+        return new SearchPage<>(items, page, size, total);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (event.type() == TaskChangedEvent.ChangeType.DELETED) {
+                remove(event.task().getId());
+            } else {
+                add(event.task());
+            }
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(event.task().getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-reads every task in keyset batches and replaces the index contents. Tasks changed while it
+     * runs keep the state from their event instead of the row read by the rebuild.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentTerms.clear();
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            List<Task> batch = repository.findAllByOrderByCreatedAtAscIdAsc(Limit.of(REBUILD_BATCH));
+            while (!batch.isEmpty()) {
+                lock.writeLock().lock();
+                try {
+                    for (Task task : batch) {
+                        if (!changedDuringRebuild.contains(task.getId())) {
+                            add(task);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                Task last = batch.get(batch.size() - 1);
+                batch = repository.findPageAfter(last.getCreatedAt(), last.getId(), Limit.of(REBUILD_BATCH));
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        ready = true;
+        log.info("Indexed {} tasks for search in {} ms", documentTerms.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Callers hold the write lock; replaces any postings the task already has
+    private void add(Task task) {
+        remove(task.getId());
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : tokenize(task.getTitle())) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(task.getDescription())) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        frequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(task.getId(), frequency));
+        documentTerms.put(task.getId(), frequencies.keySet().toArray(String[]::new));
+    }
+
+    private void remove(Long id) {
+        String[] terms = documentTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> documents = postings.get(term);
+            documents.remove(id);
+            if (documents.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    /**
+     * Scores the documents containing every term and keeps the best {@code limit}.
+     * Candidates come from the rarest term's postings, so common words cost little.
+     */
+    private TopHits rank(Set<String> terms, int limit) {
+        List<Map<Long, Integer>> lists = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Map<Long, Integer> documents = postings.get(term);
+            if (documents == null) {
+                return new TopHits(List.of(), 0);
+            }
+            lists.add(documents);
+        }
+        if (lists.isEmpty()) {
+            return new TopHits(List.of(), 0);
+        }
+        lists.sort(Comparator.comparingInt(Map::size));
+
+        int documentCount = documentTerms.size();
+        double[] idf = lists.stream()
+                .mapToDouble(documents -> Math.log(1.0 + (double) documentCount / documents.size()))
+                .toArray();
+
+        // Min-heap on (score, -id) so the weakest hit is evicted first
+        PriorityQueue<Hit> top = new PriorityQueue<>(Hit.BEST_FIRST.reversed());
+        long total = 0;
+        candidates:
+        for (Map.Entry<Long, Integer> candidate : lists.get(0).entrySet()) {
+            double score = candidate.getValue() * idf[0];
+            for (int i = 1; i < lists.size(); i++) {
+                Integer frequency = lists.get(i).get(candidate.getKey());
+                if (frequency == null) {
+                    continue candidates;
+                }
+                score += frequency * idf[i];
+            }
+            total++;
+            Hit hit = new Hit(candidate.getKey(), score);
+            if (top.size() < limit) {
+                top.add(hit);
+            } else if (Hit.BEST_FIRST.compare(hit, top.peek()) < 0) {
+                top.poll();
+                top.add(hit);
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(Hit.BEST_FIRST);
+        return new TopHits(hits, total);
+    }
+
+    static Set<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(SEPARATORS.split(text.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private record Hit(long id, double score) {
+        // Higher score first, then lower id so pages are stable
+        static final Comparator<Hit> BEST_FIRST = Comparator.comparingDouble(Hit::score).reversed()
+                .thenComparingLong(Hit::id);
+    }
+
+    private record TopHits(List<Hit> hits, long total) {
+    }
+}
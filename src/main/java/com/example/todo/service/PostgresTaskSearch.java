@@ -0,0 +1,30 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.SearchPage;
+import com.example.todo.model.Task;
+import com.example.todo.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Search backed by the generated tsvector column and its GIN index (V4 migration).
+ */
+@Service
+@Profile("supabase")
+@RequiredArgsConstructor
+public class PostgresTaskSearch implements TaskSearch {
+
+    private final TaskRepository repository;
+
+    @Override
+    public SearchPage<Task> search(String query, int page, int size) {
+        List<Task> items = repository.searchRanked(query, size, (long) page * size);
+        long total = items.size() < size && (page == 0 || !items.isEmpty())
+                ? (long) page * size + items.size()
+                : repository.countSearchMatches(query);
+        return new SearchPage<>(items, page, size, total);
+    }
+}
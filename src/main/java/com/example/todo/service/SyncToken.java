@@ -0,0 +1,44 @@
+package com.example.todo.service;
+
+import com.example.todo.exception.BadRequestException;
+import com.example.todo.model.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the (updated_at, id) ordering of task changes, encoded like {@link TaskCursor}.
+ */
+public record SyncToken(LocalDateTime updatedAt, Long id) {
+
+    // Before any row; where a client without a token starts
+    public static final SyncToken ORIGIN = new SyncToken(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    private static final char SEPARATOR = '|';
+
+    public static SyncToken of(Task task) {
+        return new SyncToken(task.getUpdatedAt(), task.getId());
+    }
+
+    public static SyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            if (split < 0) {
+                throw new BadRequestException("Invalid sync token");
+            }
+            LocalDateTime updatedAt = LocalDateTime.parse(raw.substring(0, split));
+            Long id = Long.valueOf(raw.substring(split + 1));
+            return new SyncToken(updatedAt, id);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BadRequestException("Invalid sync token");
+        }
+    }
+
+    public String encode() {
+        String raw = updatedAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
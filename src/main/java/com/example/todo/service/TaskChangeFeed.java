@@ -0,0 +1,89 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.TaskDelta;
+import com.example.todo.event.TaskChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Ring buffer of the last {@code todo.feed.buffer-size} committed task changes, numbered in
+ * commit order, so /api/tasks/events subscribers can catch up and resume after a reconnect.
+ * Sequence numbers restart with the process; event ids carry a per-process epoch so an id
+ * from before a restart is recognised as unknown instead of being resumed from.
+ */
+@Component
+public class TaskChangeFeed {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Entry[] ring;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private long lastSequence = 0;
+
+    public TaskChangeFeed(@Value("${todo.feed.buffer-size:4096}") int capacity) {
+        this.ring = new Entry[capacity];
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskDelta delta = TaskDelta.of(event);
+        synchronized (this) {
+            lastSequence++;
+            ring[(int) (lastSequence % ring.length)] = new Entry(lastSequence, delta);
+        }
+        listeners.forEach(Runnable::run);
+    }
+
+    /**
+     * Runs after every append, on the committing thread; must return quickly.
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Up to {@code max} entries after {@code sequence}, oldest first. Returns null when the
+     * entry right after it has already been overwritten, or the sequence was never issued.
+     */
+    public synchronized List<Entry> since(long sequence, int max) {
+        if (sequence < 0 || sequence > lastSequence || sequence < lastSequence - ring.length) {
+            return null;
+        }
+        long last = Math.min(lastSequence, sequence + max);
+        List<Entry> entries = new ArrayList<>((int) (last - sequence));
+        for (long s = sequence + 1; s <= last; s++) {
+            entries.add(ring[(int) (s % ring.length)]);
+        }
+        return entries;
+    }
+
+    public String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * The sequence in an id from {@link #eventId}, or -1 when it is malformed or from another process.
+     */
+    public long parseEventId(String id) {
+        int split = id.lastIndexOf('-');
+        if (split < 0 || !id.substring(0, split).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(id.substring(split + 1));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    public record Entry(long sequence, TaskDelta delta) {
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.todo.service;
+
+import com.example.todo.model.Task;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 style CSV layout shared by task export and import.
+ */
+final class TaskCsv {
+
+    static final String HEADER = "id,title,description,completed,createdAt";
+
+    private TaskCsv() {
+    }
+
+    static void writeRow(Writer out, Task task) throws IOException {
+        out.write(String.valueOf(task.getId()));
+        out.write(',');
+        writeField(out, task.getTitle());
+        out.write(',');
+        writeField(out, task.getDescription());
+        out.write(',');
+        out.write(String.valueOf(task.isCompleted()));
+        out.write(',');
+        out.write(task.getCreatedAt() == null ? "" : task.getCreatedAt().toString());
+        out.write('\n');
+    }
+
+    private static void writeField(Writer out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    /**
+     * Reads CSV records one at a time; quoted fields may span lines.
+     */
+    static final class RecordReader {
+
+        private final CharInput in;
+        private final int maxRecordLength;
+        private long line = 1;
+        private long recordLine = 1;
+        private int pushback = -2;
+
+        RecordReader(CharInput in, int maxRecordLength) {
+            this.in = in;
+            this.maxRecordLength = maxRecordLength;
+        }
+
+        /**
+         * Line number on which the last returned record started.
+         */
+        long recordLine() {
+            return recordLine;
+        }
+
+        /**
+         * Returns the next record's fields, or null at end of input.
+         * Throws IllegalArgumentException for an unterminated quote or an oversized record;
+         * the reader is positioned after the offending record either way.
+         */
+        List<String> next() throws IOException {
+            recordLine = line;
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int length = 0;
+            String error = null;
+
+            while (true) {
+                if (c == -1) {
+                    if (quoted) {
+                        error = "Unterminated quoted field";
+                    }
+                    break;
+                }
+                if (++length > maxRecordLength && error == null) {
+                    error = "Record longer than " + maxRecordLength + " characters";
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        int peek = read();
+                        if (peek == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            unread(peek);
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        append(field, c, error);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    line++;
+                    break;
+                } else if (c != '\r') {
+                    append(field, c, error);
+                }
+                c = read();
+            }
+            fields.add(field.toString());
+            if (error != null) {
+                throw new IllegalArgumentException(error);
+            }
+            return fields;
+        }
+
+        private static void append(StringBuilder field, int c, String error) {
+            // Stop buffering once the record is known to be rejected
+            if (error == null) {
+                field.append((char) c);
+            }
+        }
+
+        private int read() throws IOException {
+            if (pushback != -2) {
+                int c = pushback;
+                pushback = -2;
+                return c;
+            }
+            return in.read();
+        }
+
+        private void unread(int c) {
+            pushback = c;
+        }
+    }
+}
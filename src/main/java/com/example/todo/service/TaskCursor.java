@@ -0,0 +1,47 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.TaskSummary;
+import com.example.todo.exception.BadRequestException;
+import com.example.todo.model.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the (created_at, id) ordering of tasks.
+ * Encoded as URL-safe Base64 so clients treat it as an opaque token.
+ */
+public record TaskCursor(LocalDateTime createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static TaskCursor of(Task task) {
+        return new TaskCursor(task.getCreatedAt(), task.getId());
+    }
+
+    public static TaskCursor of(TaskSummary summary) {
+        return new TaskCursor(summary.createdAt(), summary.id());
+    }
+
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            if (split < 0) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            LocalDateTime createdAt = LocalDateTime.parse(raw.substring(0, split));
+            Long id = Long.valueOf(raw.substring(split + 1));
+            return new TaskCursor(createdAt, id);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.todo.service;
+
+import com.example.todo.model.Task;
+import com.example.todo.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams every task to an output stream without materialising the table.
+ * Rows come from a forward-only cursor and are detached as soon as they are written,
+ * so heap use does not grow with the number of tasks.
+ */
+@Service
+// Detaches rows from the EntityManager as it goes, so it needs a database
+@Profile("!memory")
+@RequiredArgsConstructor
+public class TaskExportService {
+
+    private final TaskRepository repository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes one JSON object per line and returns the number of tasks written.
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<Task> tasks = repository.streamAllOrdered();
+             SequenceWriter writer = objectMapper.writer()
+                     .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                     .withRootValueSeparator("\n")
+                     .writeValues(out)) {
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                writer.write(task);
+                entityManager.detach(task);
+                count++;
+            }
+        }
+        if (count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        return count;
+    }
+
+    /**
+     * Writes a header line followed by one CSV row per task and returns the number of tasks written.
+     */
+    @Transactional(readOnly = true)
+    public long exportCsv(OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(TaskCsv.HEADER);
+        writer.write('\n');
+        try (Stream<Task> tasks = repository.streamAllOrdered()) {
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                TaskCsv.writeRow(writer, task);
+                entityManager.detach(task);
+                count++;
+            }
+        }
+        writer.flush();
+        return count;
+    }
+}
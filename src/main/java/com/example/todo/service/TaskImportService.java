@@ -0,0 +1,233 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.ImportSummary;
+import com.example.todo.dto.ImportSummary.RejectedLine;
+import com.example.todo.event.TaskChangedEvent;
+import com.example.todo.model.Task;
+import com.example.todo.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports tasks from an NDJSON or CSV request body without buffering it.
+ * Records are parsed one at a time, validated against the Task constraints and
+ * inserted in batches of {@code todo.import.batch-size}, each committed on its own.
+ * The request stream is only read as fast as batches are written, which is the
+ * backpressure towards the client.
+ */
+@Slf4j
+@Service
+// Batches go through the EntityManager, so there is nothing to import into without a database
+@Profile("!memory")
+public class TaskImportService {
+
+    public static final int MAX_REPORTED_REJECTIONS = 100;
+    public static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private final TaskRepository repository;
+    private final EntityManager entityManager;
+    private final ObjectReader taskReader;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public TaskImportService(TaskRepository repository,
+                             EntityManager entityManager,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             PlatformTransactionManager transactionManager,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${todo.import.batch-size:500}") int batchSize) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.taskReader = objectMapper.readerFor(Task.class);
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reads one bounded line at a time and data-binds it with Jackson's streaming parser. A single
+     * {@code readValues} MappingIterator over the whole body was not used: after a malformed record it
+     * resyncs by token depth, not by line, so an unterminated object swallows the records after it, and
+     * it cannot cap the length of one record before buffering it.
+     */
+    public ImportSummary importNdjson(InputStream body) throws IOException {
+        Batch batch = new Batch();
+        CharInput input = new CharInput(new InputStreamReader(body, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        String line;
+        while ((line = readBoundedLine(input)) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (line.length() > MAX_RECORD_LENGTH) {
+                batch.reject(lineNumber, "Record longer than " + MAX_RECORD_LENGTH + " characters");
+                continue;
+            }
+            try {
+                batch.add(lineNumber, taskReader.readValue(line));
+            } catch (JsonProcessingException ex) {
+                batch.reject(lineNumber, "Malformed JSON: " + ex.getOriginalMessage());
+            }
+        }
+        return batch.finish();
+    }
+
+    public ImportSummary importCsv(InputStream body) throws IOException {
+        Batch batch = new Batch();
+        CharInput input = new CharInput(new InputStreamReader(body, StandardCharsets.UTF_8));
+        TaskCsv.RecordReader records = new TaskCsv.RecordReader(input, MAX_RECORD_LENGTH);
+
+        List<String> header = records.next();
+        if (header == null) {
+            return batch.finish();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+
+        while (true) {
+            List<String> fields;
+            try {
+                fields = records.next();
+            } catch (IllegalArgumentException ex) {
+                batch.reject(records.recordLine(), ex.getMessage());
+                continue;
+            }
+            if (fields == null) {
+                break;
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                batch.add(records.recordLine(), fromCsv(columns, fields));
+            } catch (DateTimeParseException ex) {
+                batch.reject(records.recordLine(), "createdAt : " + ex.getParsedString() + " is not a valid timestamp");
+            }
+        }
+        return batch.finish();
+    }
+
+    private static Task fromCsv(Map<String, Integer> columns, List<String> fields) {
+        Task task = new Task();
+        task.setTitle(field(columns, fields, "title"));
+        task.setDescription(field(columns, fields, "description"));
+        task.setCompleted(Boolean.parseBoolean(field(columns, fields, "completed")));
+        String createdAt = field(columns, fields, "createdAt");
+        if (createdAt != null) {
+            task.setCreatedAt(LocalDateTime.parse(createdAt));
+        }
+        return task;
+    }
+
+    private static String field(Map<String, Integer> columns, List<String> fields, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    // Reads one line, but stops buffering past MAX_RECORD_LENGTH so a missing newline cannot exhaust the heap
+    private static String readBoundedLine(CharInput input) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c = input.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1 && c != '\n') {
+            if (line.length() <= MAX_RECORD_LENGTH && c != '\r') {
+                line.append((char) c);
+            }
+            c = input.read();
+        }
+        return line.toString();
+    }
+
+    /**
+     * Accumulates valid tasks and commits them every {@code batchSize} rows.
+     */
+    private class Batch {
+        private final List<Task> pending = new ArrayList<>(batchSize);
+        private final List<RejectedLine> rejections = new ArrayList<>();
+        private long accepted;
+        private long rejected;
+
+        void add(long line, Task task) {
+            Set<ConstraintViolation<Task>> violations = validator.validate(task);
+            if (!violations.isEmpty()) {
+                reject(line, violations.stream()
+                        .map(v -> v.getPropertyPath() + " : " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                return;
+            }
+            task.setId(null);
+            if (task.getCreatedAt() == null) {
+                task.setCreatedAt(LocalDateTime.now());
+            }
+            pending.add(task);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String error) {
+            rejected++;
+            if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+                rejections.add(new RejectedLine(line, error));
+            }
+        }
+
+        ImportSummary finish() {
+            flush();
+            log.info("Imported {} tasks, rejected {}", accepted, rejected);
+            return new ImportSummary(accepted, rejected, rejections);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Task> saved = repository.saveAll(pending);
+                repository.flush();
+                saved.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.created(task)));
+            });
+            // Open-in-view keeps one EntityManager for the whole request; drop the committed batch from it
+            entityManager.clear();
+            accepted += pending.size();
+            pending.clear();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.todo.service;
+
+import com.example.todo.event.TaskChangedEvent;
+import com.example.todo.repository.TaskStore;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Weak ETag of every list response, taken from the change sequence in task_change_sequence. Each
+ * transaction that publishes a TaskChangedEvent bumps it once, just before it commits, so the new
+ * number and the rows it counts become visible together: the tag moves with any change from any
+ * instance as soon as it is committed, and it survives restarts.
+ * <p>
+ * The bump holds the row's lock from just before the commit until it is done, so committing
+ * writes queue on it briefly. Changes published outside a transaction do not move the tag; the
+ * reactive handlers, which serve no list ETags, are the only ones.
+ */
+@Component
+public class TaskListETag {
+
+    private final TaskStore repository;
+
+    public TaskListETag(TaskStore repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Read this before running the list query: a change committed in between then
+     * yields a newer tag on the next poll instead of a 304 over stale data.
+     */
+    public String current() {
+        return "W/\"" + repository.findChangeSequence() + "\"";
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        // Once per transaction, however many tasks it changes
+        if (TransactionSynchronizationManager.getSynchronizations().stream().noneMatch(Bump.class::isInstance)) {
+            TransactionSynchronizationManager.registerSynchronization(new Bump());
+        }
+    }
+
+    private class Bump implements TransactionSynchronization {
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            repository.bumpChangeSequence();
+        }
+    }
+}
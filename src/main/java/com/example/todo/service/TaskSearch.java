@@ -0,0 +1,13 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.SearchPage;
+import com.example.todo.model.Task;
+
+/**
+ * Ranked search over task titles and descriptions; title matches weigh more.
+ * All query words must match. {@code page} is zero-based.
+ */
+public interface TaskSearch {
+
+    SearchPage<Task> search(String query, int page, int size);
+}
@@ -1,63 +1,346 @@
 package com.example.todo.service;
 
+import com.example.todo.controller.TaskController.TaskStats;
+import com.example.todo.dto.BulkItemResult;
+import com.example.todo.dto.BulkResult;
+import com.example.todo.dto.CursorPage;
+import com.example.todo.dto.TaskSummary;
+import com.example.todo.event.TaskChangedEvent;
+import com.example.todo.exception.BadRequestException;
+import com.example.todo.exception.PreconditionFailedException;
 import com.example.todo.exception.ResourceNotFoundException;
 import com.example.todo.model.Task;
-import com.example.todo.repository.TaskRepository;
+import com.example.todo.repository.TaskStore;
+import com.example.todo.writebehind.WriteBehindQueue;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@CacheConfig(cacheNames = TaskService.TASK_CACHE)
+// One timer per public method, tagged with class and method; cache hits are timed too
+@Timed(value = TaskService.TIMER, histogram = true)
 public class TaskService {
 
-    private final TaskRepository repository;
+    public static final String TASK_CACHE = "tasks";
+    public static final String TIMER = "todo.service";
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BULK_SIZE = 1000;
+
+    private final TaskStore repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskStatsCounter statsCounter;
+    private final Validator validator;
+    private final WriteBehindQueue writeBehind;
+    // Null without caching (spring.cache.type=none still provides one, test slices may not)
+    private Cache taskCache;
+
+    @Autowired(required = false)
+    void setCacheManager(CacheManager cacheManager) {
+        this.taskCache = cacheManager.getCache(TASK_CACHE);
+    }
 
     public List<Task> getAll() {
         return repository.findAll();
     }
 
+    /**
+     * Returns one page of tasks ordered by (createdAt, id).
+     * At most one of {@code after} / {@code before} may be given; neither means the first page.
+     */
+    public CursorPage<Task> getPage(String after, String before, int size) {
+        return keysetPage(after, before, size,
+                repository::findAllByOrderByCreatedAtAscIdAsc,
+                (cursor, limit) -> repository.findPageAfter(cursor.createdAt(), cursor.id(), limit),
+                (cursor, limit) -> repository.findPageBefore(cursor.createdAt(), cursor.id(), limit),
+                TaskCursor::of);
+    }
+
+    /**
+     * Like {@link #getPage}, restricted to completed tasks and without descriptions.
+     */
+    public CursorPage<TaskSummary> getCompletedPage(String after, String before, int size) {
+        return summaryPage(true, after, before, size);
+    }
+
+    public CursorPage<TaskSummary> getPendingPage(String after, String before, int size) {
+        return summaryPage(false, after, before, size);
+    }
+
+    // Internal callers bypass the proxy, so mutations always start from a fresh load.
+    // Write-behind updates not yet in the database are read from the queue
+    @Cacheable(key = "#id")
     public Task getById(Long id) {
+        Task pending = writeBehind.pending(id);
+        if (pending != null) {
+            return pending;
+        }
         return repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task with id " + id + " not found"));
     }
 
+    @Transactional
+    @CachePut(key = "#result.id", unless = "#result == null")
     public Task create(Task task) {
-        return repository.save(task);
+        Task saved = repository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.created(saved));
+        return saved;
     }
 
+    @Transactional
+    @CachePut(key = "#id")
     public Task update(Long id, Task newTask) {
+        return update(id, newTask, null);
+    }
+
+    /**
+     * Overwrites title, description and completed. With a non-null {@code expectedVersion}
+     * the task must still be at that version; a write that lands in between fails on the
+     * versioned UPDATE instead of being overwritten.
+     */
+    @Transactional
+    @CachePut(key = "#id")
+    public Task update(Long id, Task newTask, Long expectedVersion) {
+        if (writeBehind.isEnabled()) {
+            return writeBehind.write(id, task -> {
+                checkVersion(task, expectedVersion);
+                task.setTitle(newTask.getTitle());
+                task.setDescription(newTask.getDescription());
+                task.setCompleted(newTask.isCompleted());
+            });
+        }
         Task existing = getById(id);
+        checkVersion(existing, expectedVersion);
+        boolean wasCompleted = existing.isCompleted();
         existing.setTitle(newTask.getTitle());
         existing.setDescription(newTask.getDescription());
         existing.setCompleted(newTask.isCompleted());
-        return repository.save(existing);
+        // Flushed so the returned task carries the new version even inside an outer transaction
+        Task saved;
+        try {
+            saved = repository.saveAndFlush(existing);
+        } catch (OptimisticLockingFailureException e) {
+            throw expectedVersion != null ? versionChanged(id, expectedVersion) : e;
+        }
+        eventPublisher.publishEvent(TaskChangedEvent.updated(saved, wasCompleted));
+        return saved;
     }
 
+    @Transactional
+    @CacheEvict(key = "#id")
     public void delete(Long id) {
+        delete(id, null);
+    }
+
+    /**
+     * Soft delete: the row stays behind as a tombstone for {@link TaskSyncService}
+     * and is purged once the retention period has passed.
+     */
+    @Transactional
+    @CacheEvict(key = "#id")
+    public void delete(Long id, Long expectedVersion) {
+        writeBehind.drain();
         Task existing = getById(id);
-        repository.delete(existing);
+        checkVersion(existing, expectedVersion);
+        if (repository.softDelete(id, existing.getVersion(), LocalDateTime.now()) == 0) {
+            throw expectedVersion != null ? versionChanged(id, expectedVersion)
+                    : new OptimisticLockingFailureException("Task with id " + id + " was modified concurrently");
+        }
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(existing));
+    }
+
+    /**
+     * Inserts all valid tasks in one transaction; with the pooled id sequence
+     * Hibernate sends them as JDBC batches. Invalid items are reported and skipped.
+     */
+    @Transactional
+    public BulkResult createAll(List<Task> tasks) {
+        checkBulkSize(tasks);
+        BulkItemResult[] results = new BulkItemResult[tasks.size()];
+        List<Task> valid = new ArrayList<>();
+        List<Integer> validIndexes = new ArrayList<>();
+
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            String error = validationError(task);
+            if (error != null) {
+                results[i] = BulkItemResult.failed(i, null, 400, error);
+            } else {
+                task.setId(null);
+                valid.add(task);
+                validIndexes.add(i);
+            }
+        }
+
+        List<Task> saved = repository.saveAll(valid);
+        for (int i = 0; i < saved.size(); i++) {
+            Task task = saved.get(i);
+            results[validIndexes.get(i)] = BulkItemResult.ok(validIndexes.get(i), task.getId(), 201);
+            eventPublisher.publishEvent(TaskChangedEvent.created(task));
+        }
+        return BulkResult.of(Arrays.asList(results));
     }
 
-    public List<Task> getCompletedTasks() {
-        return repository.findByCompleted(true);
+    /**
+     * Applies each item onto the task with the same id; loaded with one query and saved as one batch
+     * (with JPA the tasks are managed, so that is the flush on commit).
+     */
+    @Transactional
+    @CacheEvict(allEntries = true)
+    public BulkResult updateAll(List<Task> tasks) {
+        checkBulkSize(tasks);
+        writeBehind.drain();
+        List<Long> ids = tasks.stream().map(Task::getId).filter(Objects::nonNull).toList();
+        Map<Long, Task> existing = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<BulkItemResult> results = new ArrayList<>(tasks.size());
+        List<TaskChangedEvent> events = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task newTask = tasks.get(i);
+            Long id = newTask.getId();
+            String error = id == null ? "id : Id is required" : validationError(newTask);
+            if (error != null) {
+                results.add(BulkItemResult.failed(i, id, 400, error));
+                continue;
+            }
+            Task task = existing.get(id);
+            if (task == null) {
+                results.add(BulkItemResult.failed(i, id, 404, "Task with id " + id + " not found"));
+                continue;
+            }
+            events.add(TaskChangedEvent.updated(task, task.isCompleted()));
+            task.setTitle(newTask.getTitle());
+            task.setDescription(newTask.getDescription());
+            task.setCompleted(newTask.isCompleted());
+            results.add(BulkItemResult.ok(i, id, 200));
+        }
+        repository.saveAll(events.stream().map(TaskChangedEvent::task).toList());
+        events.forEach(eventPublisher::publishEvent);
+        return BulkResult.of(results);
     }
 
-    public List<Task> getPendingTasks() {
-        return repository.findByCompleted(false);
+    @Transactional
+    @CacheEvict(allEntries = true)
+    public BulkResult deleteAll(List<Long> ids) {
+        checkBulkSize(ids);
+        writeBehind.drain();
+        List<Task> found = repository.findAllById(ids);
+        Set<Long> foundIds = found.stream().map(Task::getId).collect(Collectors.toSet());
+        if (!foundIds.isEmpty()) {
+            repository.softDeleteByIdIn(foundIds, LocalDateTime.now());
+        }
+        found.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.deleted(task)));
+
+        List<BulkItemResult> results = new ArrayList<>(ids.size());
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (foundIds.contains(id) && seen.add(id)) {
+                results.add(BulkItemResult.ok(i, id, 204));
+            } else {
+                results.add(BulkItemResult.failed(i, id, 404, "Task with id " + id + " not found"));
+            }
+        }
+        return BulkResult.of(results);
     }
 
+    @Transactional
+    @CachePut(key = "#id")
     public Task markAsCompleted(Long id) {
-        Task task = getById(id);
-        task.setCompleted(true);
-        return repository.save(task);
+        return setCompleted(id, true, null);
+    }
+
+    @Transactional
+    @CachePut(key = "#id")
+    public Task markAsCompleted(Long id, Long expectedVersion) {
+        return setCompleted(id, true, expectedVersion);
     }
 
+    @Transactional
+    @CachePut(key = "#id")
     public Task markAsPending(Long id) {
-        Task task = getById(id);
-        task.setCompleted(false);
-        return repository.save(task);
+        return setCompleted(id, false, null);
+    }
+
+    @Transactional
+    @CachePut(key = "#id")
+    public Task markAsPending(Long id, Long expectedVersion) {
+        return setCompleted(id, false, expectedVersion);
+    }
+
+    /**
+     * Completes every pending task among {@code ids} with one SELECT and one UPDATE, and publishes
+     * an event for each row the UPDATE changed.
+     */
+    @Transactional
+    @CacheEvict(allEntries = true)
+    public BulkResult completeAll(List<Long> ids) {
+        checkBulkSize(ids);
+        writeBehind.drain();
+        List<Task> found = repository.findAllById(ids);
+        List<Task> pending = found.stream().filter(task -> !task.isCompleted()).toList();
+        if (!pending.isEmpty()) {
+            List<Long> pendingIds = pending.stream().map(Task::getId).toList();
+            // Truncated to the column's precision, so the re-select below can compare it
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            int updated = repository.markCompletedByIdIn(pendingIds, now);
+            List<Task> completed = pending;
+            if (updated < pending.size()) {
+                // Rows completed concurrently were skipped by the UPDATE; the ones it changed carry its timestamp
+                completed = repository.findAllById(pendingIds).stream()
+                        .filter(task -> task.isCompleted() && now.equals(task.getUpdatedAt()))
+                        .toList();
+            } else {
+                // The UPDATE clears the persistence context, so the flag set here is not flushed again
+                pending.forEach(task -> task.setCompleted(true));
+            }
+            for (Task task : completed) {
+                eventPublisher.publishEvent(TaskChangedEvent.updated(task, false));
+            }
+        }
+
+        Set<Long> foundIds = found.stream().map(Task::getId).collect(Collectors.toSet());
+        List<BulkItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (foundIds.contains(id)) {
+                results.add(BulkItemResult.ok(i, id, 200));
+            } else {
+                results.add(BulkItemResult.failed(i, id, 404, "Task with id " + id + " not found"));
+            }
+        }
+        return BulkResult.of(results);
     }
 
     public long countTasks() {
@@ -65,10 +348,136 @@ public class TaskService {
     }
 
     public long countCompletedTasks() {
-        return repository.findByCompleted(true).size();
+        return repository.countByCompleted(true);
     }
 
     public long countPendingTasks() {
-        return repository.findByCompleted(false).size();
+        return repository.countByCompleted(false);
+    }
+
+    public TaskStats getStats() {
+        if (statsCounter.isReady()) {
+            return statsCounter.snapshot();
+        }
+        return TaskStatsCounter.fold(repository.countGroupedByCompleted());
+    }
+
+    private CursorPage<TaskSummary> summaryPage(boolean completed, String after, String before, int size) {
+        return keysetPage(after, before, size,
+                limit -> repository.findSummaries(completed, limit),
+                (cursor, limit) -> repository.findSummariesAfter(completed, cursor.createdAt(), cursor.id(), limit),
+                (cursor, limit) -> repository.findSummariesBefore(completed, cursor.createdAt(), cursor.id(), limit),
+                TaskCursor::of);
+    }
+
+    // Fetches one row past the page to learn whether another page exists
+    private static <T> CursorPage<T> keysetPage(String after, String before, int size,
+                                                Function<Limit, List<T>> first,
+                                                BiFunction<TaskCursor, Limit, List<T>> pageAfter,
+                                                BiFunction<TaskCursor, Limit, List<T>> pageBefore,
+                                                Function<T, TaskCursor> position) {
+        if (after != null && before != null) {
+            throw new BadRequestException("Only one of 'after' and 'before' may be given");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        if (before != null) {
+            List<T> rows = pageBefore.apply(TaskCursor.decode(before), Limit.of(limit + 1));
+            boolean hasPrevious = rows.size() > limit;
+            List<T> items = new ArrayList<>(rows.subList(0, Math.min(limit, rows.size())));
+            Collections.reverse(items);
+            return new CursorPage<>(items,
+                    items.isEmpty() ? null : position.apply(items.get(items.size() - 1)).encode(),
+                    hasPrevious ? position.apply(items.get(0)).encode() : null);
+        }
+
+        List<T> rows = after != null
+                ? pageAfter.apply(TaskCursor.decode(after), Limit.of(limit + 1))
+                : first.apply(Limit.of(limit + 1));
+        boolean hasNext = rows.size() > limit;
+        List<T> items = rows.subList(0, Math.min(limit, rows.size()));
+        return new CursorPage<>(items,
+                hasNext ? position.apply(items.get(items.size() - 1)).encode() : null,
+                after != null && !items.isEmpty() ? position.apply(items.get(0)).encode() : null);
+    }
+
+    // One UPDATE guarded on the current flag and version. With the task in the cache the response is built
+    // from it; otherwise, or when the entry turns out stale, a follow-up load also yields the 404
+    private Task setCompleted(Long id, boolean completed, Long expectedVersion) {
+        if (writeBehind.isEnabled()) {
+            return writeBehind.write(id, task -> {
+                checkVersion(task, expectedVersion);
+                task.setCompleted(completed);
+            });
+        }
+        Task cached = taskCache != null ? taskCache.get(id, Task.class) : null;
+        if (cached != null && cached.getVersion() != null && cached.isCompleted() != completed
+                && (expectedVersion == null || expectedVersion.equals(cached.getVersion()))) {
+            // TIMESTAMP columns keep microseconds, so the response matches what a reload would return
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            // Guarded on the cached version: a stale entry updates nothing and falls through to the reload
+            if (repository.updateCompleted(id, completed, cached.getVersion(), now) > 0) {
+                Task task = copyOf(cached);
+                task.setCompleted(completed);
+                task.setVersion(cached.getVersion() + 1);
+                task.setUpdatedAt(now);
+                eventPublisher.publishEvent(TaskChangedEvent.updated(task, !completed));
+                return task;
+            }
+        }
+        boolean changed = repository.updateCompleted(id, completed, expectedVersion, LocalDateTime.now()) > 0;
+        Task task = getById(id);
+        if (changed) {
+            eventPublisher.publishEvent(TaskChangedEvent.updated(task, !completed));
+        } else {
+            checkVersion(task, expectedVersion);
+        }
+        return task;
+    }
+
+    // Cached tasks are shared with earlier callers, so they are never changed in place
+    private static Task copyOf(Task task) {
+        Task copy = new Task();
+        copy.setId(task.getId());
+        copy.setTitle(task.getTitle());
+        copy.setDescription(task.getDescription());
+        copy.setCompleted(task.isCompleted());
+        copy.setCreatedAt(task.getCreatedAt());
+        copy.setVersion(task.getVersion());
+        copy.setUpdatedAt(task.getUpdatedAt());
+        copy.setDeleted(task.isDeleted());
+        return copy;
+    }
+
+    private static void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new PreconditionFailedException("Task with id " + task.getId() + " is at version "
+                    + task.getVersion() + ", not " + expectedVersion);
+        }
+    }
+
+    // A conditional write that loses the race after the check: the precondition no longer holds (412, not 409)
+    private static PreconditionFailedException versionChanged(Long id, Long expectedVersion) {
+        return new PreconditionFailedException("Task with id " + id + " is no longer at version " + expectedVersion);
+    }
+
+    private static void checkBulkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("Bulk request must contain at least one item");
+        }
+        if (items.size() > MAX_BULK_SIZE) {
+            throw new BadRequestException("Bulk request may contain at most " + MAX_BULK_SIZE + " items");
+        }
+    }
+
+    private String validationError(Task task) {
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " : " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
     }
 }
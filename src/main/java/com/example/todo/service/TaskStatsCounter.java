@@ -0,0 +1,174 @@
+package com.example.todo.service;
+
+import com.example.todo.controller.TaskController.TaskStats;
+import com.example.todo.event.TaskChangedEvent;
+import com.example.todo.repository.TaskStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory total/completed/pending counters for /api/tasks/stats.
+ * Enabled with {@code todo.stats.in-memory=true}; kept current from TaskChangedEvents
+ * and periodically reconciled against the database to correct any drift.
+ */
+@Slf4j
+@Component
+public class TaskStatsCounter {
+
+    private static final int RECONCILE_ATTEMPTS = 5;
+    // Doubles per attempt, up to 80 ms before the last one
+    private static final long RECONCILE_BACKOFF_MS = 10;
+
+    private final TaskStore repository;
+    private final boolean enabled;
+
+    // Counts, the number of changes seen and those not yet committed, swapped as a whole: readers always
+    // see total == completed + pending, and reconcile can tell whether a change landed while it counted
+    private record State(TaskStats stats, long mutations, int inFlight) {
+    }
+
+    private final AtomicReference<State> state = new AtomicReference<>(new State(new TaskStats(0, 0, 0), 0, 0));
+    private volatile boolean ready = false;
+
+    public TaskStatsCounter(TaskStore repository,
+                            @Value("${todo.stats.in-memory:false}") boolean enabled) {
+        this.repository = repository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * True once the counters have been seeded from the database.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public TaskStats snapshot() {
+        return state.get().stats();
+    }
+
+    /**
+     * Not a {@code @TransactionalEventListener}: a change must be known from before its commit, or a
+     * reconcile counting between the commit and an after-commit callback would include it twice.
+     * Inside a transaction the change is marked in flight here and applied once it commits.
+     */
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyEvent(event);
+            return;
+        }
+        state.updateAndGet(current -> new State(current.stats(), current.mutations() + 1, current.inFlight() + 1));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    applyEvent(event);
+                }
+                state.updateAndGet(current -> new State(current.stats(), current.mutations() + 1,
+                        current.inFlight() - 1));
+            }
+        });
+    }
+
+    private void applyEvent(TaskChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> {
+                boolean completed = event.task().isCompleted();
+                apply(completed ? 1 : 0, completed ? 0 : 1);
+            }
+            case DELETED -> {
+                boolean completed = event.wasCompleted();
+                apply(completed ? -1 : 0, completed ? 0 : -1);
+            }
+            case UPDATED -> {
+                boolean completed = event.task().isCompleted();
+                if (completed != event.wasCompleted()) {
+                    apply(completed ? 1 : -1, completed ? -1 : 1);
+                }
+            }
+        }
+    }
+
+    void apply(long completedDelta, long pendingDelta) {
+        state.updateAndGet(current -> {
+            long completed = current.stats().completed + completedDelta;
+            long pending = current.stats().pending + pendingDelta;
+            return new State(new TaskStats(completed + pending, completed, pending), current.mutations() + 1,
+                    current.inFlight());
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${todo.stats.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        for (int attempt = 0; attempt < RECONCILE_ATTEMPTS; attempt++) {
+            if (attempt > 0 && !backOff(attempt)) {
+                return;
+            }
+            State before = state.get();
+            // A committed change not applied yet would already be in the count
+            if (before.inFlight() > 0) {
+                continue;
+            }
+            TaskStats actual = fold(repository.countGroupedByCompleted());
+            // A change landing while the query ran may or may not be in its result, so only replace
+            // the counts if none did; the swap fails otherwise and the count is taken again
+            if (state.compareAndSet(before, new State(actual, before.mutations(), 0))) {
+                TaskStats previous = before.stats();
+                if (ready && (previous.completed != actual.completed || previous.pending != actual.pending)) {
+                    log.info("Reconciled task stats: completed {} -> {}, pending {} -> {}",
+                            previous.completed, actual.completed, previous.pending, actual.pending);
+                }
+                ready = true;
+                return;
+            }
+        }
+        log.debug("Skipping stats reconciliation until the next run, tasks kept changing while counting");
+    }
+
+    // Gives in-flight transactions time to finish; jittered so retries do not line up with a steady write rate
+    private static boolean backOff(int attempt) {
+        long delay = RECONCILE_BACKOFF_MS << (attempt - 1);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(delay / 2, delay + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public static TaskStats fold(List<TaskStore.CompletionCount> rows) {
+        long completed = 0;
+        long pending = 0;
+        for (TaskStore.CompletionCount row : rows) {
+            if (row.isCompleted()) {
+                completed = row.getTotal();
+            } else {
+                pending = row.getTotal();
+            }
+        }
+        return new TaskStats(completed + pending, completed, pending);
+    }
+}
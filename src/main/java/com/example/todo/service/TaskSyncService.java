@@ -0,0 +1,77 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.SyncPage;
+import com.example.todo.exception.SyncTokenExpiredException;
+import com.example.todo.model.Task;
+import com.example.todo.repository.TaskStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Incremental sync over (updated_at, id), backed by idx_tasks_updated_at_id.
+ * <p>
+ * updated_at is stamped when a write is issued, not when it commits, so a slow transaction
+ * can commit a row behind a token already handed out. Only rows older than the settle window
+ * are returned; writes must commit within it to be seen. Tombstones are purged after the
+ * retention period, so older tokens get 410 Gone and the client resyncs from scratch.
+ */
+@Slf4j
+@Service
+public class TaskSyncService {
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private final TaskStore repository;
+    private final Duration settle;
+    private final Duration retention;
+
+    public TaskSyncService(TaskStore repository,
+                           @Value("${todo.sync.settle-ms:5000}") long settleMs,
+                           @Value("${todo.sync.tombstone-retention-days:30}") long retentionDays) {
+        this.repository = repository;
+        this.settle = Duration.ofMillis(settleMs);
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    /**
+     * Returns up to {@code limit} changes after {@code since}; no token starts from the beginning.
+     * Once caught up, the next token points at the settle horizon, so it stays fresh while idle.
+     */
+    @Transactional(readOnly = true)
+    public SyncPage changesSince(String since, int limit) {
+        SyncToken from = since != null ? SyncToken.decode(since) : SyncToken.ORIGIN;
+        LocalDateTime now = LocalDateTime.now();
+        if (since != null && from.updatedAt().isBefore(now.minus(retention))) {
+            throw new SyncTokenExpiredException("Sync token is older than " + retention.toDays()
+                    + " days, deletions may be missing; sync again without a token");
+        }
+        int batch = Math.max(1, Math.min(limit, MAX_BATCH_SIZE));
+        LocalDateTime horizon = now.minus(settle);
+
+        List<Task> rows = repository.findChangedSince(from.updatedAt(), from.id(), horizon, batch + 1);
+        if (rows.size() > batch) {
+            List<Task> changes = rows.subList(0, batch);
+            return new SyncPage(changes, SyncToken.of(changes.get(batch - 1)).encode(), true);
+        }
+        // Everything before the horizon has been returned; never move a token backwards
+        SyncToken next = horizon.isAfter(from.updatedAt()) ? new SyncToken(horizon, 0L) : from;
+        return new SyncPage(rows, next.encode(), false);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${todo.sync.purge-interval-ms:3600000}")
+    public void purgeTombstones() {
+        int purged = repository.purgeTombstonesBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} task tombstones older than {} days", purged, retention.toDays());
+        }
+    }
+}
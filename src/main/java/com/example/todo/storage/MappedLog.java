@@ -0,0 +1,249 @@
+package com.example.todo.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only file of records framed like {@link WriteAheadLog}, {@code [int length][int crc32c][payload]},
+ * written and read through memory-mapped regions instead of channel writes.
+ * <p>
+ * The file is mapped {@code regionBytes} at a time and grows by whole regions; unwritten space reads
+ * as zeros, which ends replay, and stays sparse on most file systems. A frame never spans two regions:
+ * one that does not fit is preceded by a {@code -1} length that skips to the next region. Appends are
+ * plain memory copies; {@link #sync} forces only the bytes appended since the previous force, with the
+ * same group commit as {@link WriteAheadLog}. {@link #replay} hands out read-only views of the mapped
+ * pages, so recovery decodes records without reading them into a buffer first.
+ * <p>
+ * Mappings are only released by the garbage collector, so on Windows the file cannot be deleted while
+ * they are alive.
+ */
+public class MappedLog implements Closeable {
+
+    public static final int DEFAULT_REGION_BYTES = 64 << 20;
+
+    private static final int HEADER_BYTES = 8;
+    private static final int END = 0;
+    private static final int SKIP_REGION = -1;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int regionBytes;
+    // j.u.c. locks rather than monitors, as in WriteAheadLog
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final List<MappedByteBuffer> regions = new ArrayList<>();  // guarded by lock
+    private long position;                 // guarded by lock
+    private long appended;                 // guarded by lock
+    private long forced;                   // guarded by syncLock
+    private volatile long durable;
+
+    public MappedLog(Path file) throws IOException {
+        this(file, DEFAULT_REGION_BYTES);
+    }
+
+    public MappedLog(Path file, int regionBytes) throws IOException {
+        if (regionBytes <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Region of " + regionBytes + " bytes cannot hold a record");
+        }
+        this.file = file;
+        this.regionBytes = regionBytes;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Passes every intact record from the start to {@code consumer}, as a read-only buffer over the
+     * mapped file that is only valid during the call, and positions the log after the last one.
+     * Returns the number of records.
+     */
+    public long replay(Consumer<ByteBuffer> consumer) throws IOException {
+        lock.lock();
+        try {
+            return replayLocked(consumer);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long replayLocked(Consumer<ByteBuffer> consumer) throws IOException {
+        long size = channel.size();
+        CRC32C crc = new CRC32C();
+        long records = 0;
+        int offset = 0;
+        MappedByteBuffer region = size > 0 ? region(0) : null;
+        while (region != null) {
+            if (regionBytes - offset < HEADER_BYTES || region.getInt(offset) == SKIP_REGION) {
+                long next = (long) regions.size() * regionBytes;
+                if (next >= size) {
+                    // Crashed after the skip marker, before anything reached the next region
+                    offset = regionBytes;
+                    break;
+                }
+                region = region(regions.size());
+                offset = 0;
+                continue;
+            }
+            int length = region.getInt(offset);
+            if (length <= END || length > regionBytes - offset - HEADER_BYTES) {
+                break;
+            }
+            ByteBuffer payload = region.slice(offset + HEADER_BYTES, length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != region.getInt(offset + Integer.BYTES)) {
+                break;
+            }
+            consumer.accept(payload.asReadOnlyBuffer());
+            records++;
+            offset += HEADER_BYTES + length;
+        }
+
+        position = regions.isEmpty() ? 0 : (long) (regions.size() - 1) * regionBytes + offset;
+        if (size > position) {
+            // Unacknowledged frames past the end could line up with later appends and be replayed after them;
+            // cutting the file zeros them, and no mapping reaches past the cut again
+            regions.clear();
+            channel.truncate(position);
+            channel.force(true);
+        }
+        syncLock.lock();
+        try {
+            forced = position;
+        } finally {
+            syncLock.unlock();
+        }
+        return records;
+    }
+
+    /**
+     * Copies one record into the mapped file and returns its sequence number for {@link #sync};
+     * not yet durable.
+     */
+    public long append(byte[] payload) throws IOException {
+        lock.lock();
+        try {
+            return appendLocked(payload);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long appendLocked(byte[] payload) throws IOException {
+        if (payload.length == 0 || payload.length > regionBytes - HEADER_BYTES) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes does not fit a region of "
+                    + regionBytes);
+        }
+        int offset = (int) (position % regionBytes);
+        int index = (int) (position / regionBytes);
+        if (offset + HEADER_BYTES + payload.length > regionBytes) {
+            if (regionBytes - offset >= Integer.BYTES) {
+                region(index).putInt(offset, SKIP_REGION);
+            }
+            index++;
+            offset = 0;
+            position = (long) index * regionBytes;
+        }
+        MappedByteBuffer region = region(index);
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        region.put(offset + HEADER_BYTES, payload);
+        region.putInt(offset + Integer.BYTES, (int) crc.getValue());
+        region.putInt(offset, payload.length);
+        position += HEADER_BYTES + payload.length;
+        return ++appended;
+    }
+
+    /**
+     * Returns once the record with sequence number {@code seq} and all before it are on disk.
+     */
+    public void sync(long seq) throws IOException {
+        if (durable >= seq) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (durable >= seq) {
+                return;
+            }
+            long target;
+            long end;
+            List<MappedByteBuffer> dirty;
+            lock.lock();
+            try {
+                target = appended;
+                end = position;
+                dirty = List.copyOf(regions.subList((int) (forced / regionBytes),
+                        (int) Math.min(regions.size(), (end + regionBytes - 1) / regionBytes)));
+            } finally {
+                lock.unlock();
+            }
+            long from = forced;
+            long base = from - from % regionBytes;
+            for (MappedByteBuffer region : dirty) {
+                int start = (int) Math.max(0, from - base);
+                int stop = (int) Math.min(regionBytes, end - base);
+                if (stop > start) {
+                    region.force(start, stop - start);
+                }
+                base += regionBytes;
+            }
+            forced = end;
+            durable = target;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Bytes up to the end of the last record.
+     */
+    public long size() {
+        lock.lock();
+        try {
+            return position;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Maps regions in order; a new one extends the file, and the new length is forced with it
+    private MappedByteBuffer region(int index) throws IOException {
+        while (regions.size() <= index) {
+            long start = (long) regions.size() * regionBytes;
+            boolean grows = channel.size() < start + regionBytes;
+            regions.add(channel.map(FileChannel.MapMode.READ_WRITE, start, regionBytes));
+            if (grows) {
+                channel.force(true);
+            }
+        }
+        return regions.get(index);
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.todo.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only file of length- and CRC-framed records: {@code [int length][int crc32c][payload]}.
+ * <p>
+ * Appends only write; {@link #sync} makes them durable with group commit: the first caller
+ * forces everything appended so far while later callers wait on it and return without a
+ * force of their own if it covered their record. Replay stops at the first torn or corrupt
+ * frame and cuts the file there, so a crash mid-append loses only the unacknowledged record.
+ * {@link #rewrite} compacts the log by swapping in a new file, so a crash during it leaves
+ * either the old contents or the new ones.
+ */
+public class WriteAheadLog implements Closeable {
+
+    private static final int HEADER_BYTES = 8;
+
+    private final Path file;
+    // j.u.c. locks rather than monitors, so a virtual thread waiting on a force does not pin its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private FileChannel channel;           // replaced while holding syncLock and lock
+    // Sequence numbers are logical and keep counting across resets
+    private long appended;                 // guarded by lock
+    private volatile long durable;
+
+    public WriteAheadLog(Path file) throws IOException {
+        this.file = file;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = open(file);
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Reads every intact record from the start and positions the log after the last one.
+     */
+    public List<byte[]> replay() throws IOException {
+        lock.lock();
+        try {
+            return replayLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<byte[]> replayLocked() throws IOException {
+        ByteBuffer contents = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+        channel.read(contents, 0);
+        contents.flip();
+
+        List<byte[]> records = new ArrayList<>();
+        CRC32C crc = new CRC32C();
+        while (contents.remaining() >= HEADER_BYTES) {
+            int start = contents.position();
+            int length = contents.getInt();
+            int checksum = contents.getInt();
+            if (length < 0 || length > contents.remaining()) {
+                contents.position(start);
+                break;
+            }
+            byte[] payload = new byte[length];
+            contents.get(payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                contents.position(start);
+                break;
+            }
+            records.add(payload);
+        }
+
+        long end = contents.position();
+        if (end < channel.size()) {
+            channel.truncate(end);
+            channel.force(false);
+        }
+        channel.position(end);
+        return records;
+    }
+
+    /**
+     * Writes one record and returns its sequence number for {@link #sync}; not yet durable.
+     */
+    public long append(byte[] payload) throws IOException {
+        lock.lock();
+        try {
+            write(channel, payload);
+            return ++appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns once the record with sequence number {@code seq} and all before it are on disk.
+     */
+    public void sync(long seq) throws IOException {
+        if (durable >= seq) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (durable >= seq) {
+                return;
+            }
+            long target;
+            lock.lock();
+            try {
+                target = appended;
+            } finally {
+                lock.unlock();
+            }
+            channel.force(false);
+            durable = target;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Empties the log once everything in it has been applied elsewhere.
+     */
+    public void reset() throws IOException {
+        lock.lock();
+        try {
+            if (channel.size() > 0) {
+                channel.truncate(0);
+                channel.position(0);
+                channel.force(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole log with {@code records}, which must stand in for everything appended so
+     * far. They are written and forced to a sibling file that is then renamed over the log, and
+     * every sequence number handed out before counts as durable afterwards.
+     */
+    public void rewrite(List<byte[]> records) throws IOException {
+        syncLock.lock();
+        lock.lock();
+        try {
+            Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+            try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                for (byte[] record : records) {
+                    write(out, record);
+                }
+                out.force(false);
+            }
+            Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            forceDirectory();
+            FileChannel replaced = channel;
+            channel = open(file);
+            channel.position(channel.size());
+            replaced.close();
+            durable = appended;
+        } finally {
+            lock.unlock();
+            syncLock.unlock();
+        }
+    }
+
+    public long size() throws IOException {
+        lock.lock();
+        try {
+            return channel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isOpen() {
+        lock.lock();
+        try {
+            return channel.isOpen();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static void write(FileChannel channel, byte[] payload) throws IOException {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + payload.length)
+                .putInt(payload.length)
+                .putInt((int) crc.getValue())
+                .put(payload)
+                .flip();
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+    }
+
+    // Makes the rename durable; directories cannot be opened for this on every platform
+    private void forceDirectory() {
+        Path parent = file.toAbsolutePath().getParent();
+        try (FileChannel directory = FileChannel.open(parent, StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException e) {
+            // Left to the file system's own ordering
+        }
+    }
+}
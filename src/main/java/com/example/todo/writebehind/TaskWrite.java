@@ -0,0 +1,140 @@
+package com.example.todo.writebehind;
+
+import com.example.todo.model.Task;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+
+/**
+ * The latest acknowledged state of one task, not yet written to the database.
+ * {@code baseVersion} / {@code baseCompleted} describe the row the first pending write started
+ * from; later writes to the same task keep them, so the database sees one UPDATE from the base
+ * straight to {@code version}. A task with nothing pending has {@code baseVersion == version}.
+ */
+record TaskWrite(long id, long baseVersion, boolean baseCompleted, long version,
+                 String title, String description, boolean completed,
+                 LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    static TaskWrite loaded(Task task) {
+        return new TaskWrite(task.getId(), task.getVersion(), task.isCompleted(), task.getVersion(),
+                task.getTitle(), task.getDescription(), task.isCompleted(), task.getCreatedAt(), task.getUpdatedAt());
+    }
+
+    boolean changedBy(Task task) {
+        return completed != task.isCompleted()
+                || !Objects.equals(title, task.getTitle())
+                || !Objects.equals(description, task.getDescription());
+    }
+
+    TaskWrite next(Task changed, LocalDateTime now) {
+        return new TaskWrite(id, baseVersion, baseCompleted, version + 1,
+                changed.getTitle(), changed.getDescription(), changed.isCompleted(), createdAt, now);
+    }
+
+    // After this write's predecessor reached the database, this one starts from it
+    TaskWrite rebasedOn(TaskWrite applied) {
+        return new TaskWrite(id, applied.version, applied.completed, version,
+                title, description, completed, createdAt, updatedAt);
+    }
+
+    // The row gets the time of the drain that writes it, so delta sync sees it as a change of that commit
+    TaskWrite drainedAt(LocalDateTime now) {
+        return new TaskWrite(id, baseVersion, baseCompleted, version, title, description, completed, createdAt, now);
+    }
+
+    // On replay: a later record for the same task still has to cover the earlier one's base
+    TaskWrite withBaseOf(TaskWrite earlier) {
+        return new TaskWrite(id, Math.min(baseVersion, earlier.baseVersion),
+                baseVersion <= earlier.baseVersion ? baseCompleted : earlier.baseCompleted,
+                version, title, description, completed, createdAt, updatedAt);
+    }
+
+    Task toTask() {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setCompleted(completed);
+        task.setCreatedAt(createdAt);
+        task.setVersion(version);
+        task.setUpdatedAt(updatedAt);
+        return task;
+    }
+
+    byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(id);
+            out.writeLong(baseVersion);
+            out.writeBoolean(baseCompleted);
+            out.writeLong(version);
+            writeString(out, title);
+            writeString(out, description);
+            out.writeBoolean(completed);
+            writeTime(out, createdAt);
+            writeTime(out, updatedAt);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static TaskWrite decode(byte[] record) {
+        ByteBuffer in = ByteBuffer.wrap(record);
+        byte format = in.get();
+        if (format != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported write-behind record format " + format);
+        }
+        return new TaskWrite(in.getLong(), in.getLong(), in.get() != 0, in.getLong(),
+                readString(in), readString(in), in.get() != 0, readTime(in), readTime(in));
+    }
+
+    // Length-prefixed UTF-8, -1 for null
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    // Epoch second and nanos in UTC, Long.MIN_VALUE for null
+    private static void writeTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.writeLong(Long.MIN_VALUE);
+            return;
+        }
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    private static LocalDateTime readTime(ByteBuffer in) {
+        long seconds = in.getLong();
+        if (seconds == Long.MIN_VALUE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(seconds, in.getInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,345 @@
+package com.example.todo.writebehind;
+
+import com.example.todo.event.TaskChangedEvent;
+import com.example.todo.exception.ResourceNotFoundException;
+import com.example.todo.model.Task;
+import com.example.todo.repository.TaskStore;
+import com.example.todo.service.TaskService;
+import com.example.todo.storage.WriteAheadLog;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Opt-in write-behind for TaskService.update, markAsCompleted and markAsPending
+ * ({@code todo.write-behind.enabled=true}).
+ * <p>
+ * A write is acknowledged once its record is forced to the local {@link WriteAheadLog}, with
+ * concurrent writers sharing one fsync. The latest state per task is kept in memory, where
+ * TaskService.getById reads it, and a single drainer writes it to the database every
+ * {@code flush-interval-ms} as one JDBC batch per {@code batch-size} tasks: repeated writes to a
+ * task collapse into one UPDATE and one TaskChangedEvent. After each drain the log is emptied,
+ * or rewritten with one record per task still pending, so it stays as small as the backlog under
+ * a steady stream of writes; on startup it is replayed, so acknowledged writes survive a crash.
+ * <p>
+ * A failed fsync leaves it unknown what reached the disk: the write is rolled back and reported,
+ * and later writes are refused until the next checkpoint has rewritten the log.
+ * <p>
+ * Only getById reads its own writes; lists, stats and sync see them after the next drain, which
+ * stamps updated_at with its own time.
+ * Other TaskService writes drain first. The UPDATE is guarded on the versions the pending
+ * writes span, so a row changed outside this instance is left alone and the write is dropped.
+ */
+@Slf4j
+@Component
+public class WriteBehindQueue {
+
+    private static final int STRIPES = 64;
+    private static final String APPLY_SQL = "UPDATE tasks SET title = ?, description = ?, completed = ?,"
+            + " version = ?, updated_at = ? WHERE id = ? AND version >= ? AND version < ? AND deleted = FALSE";
+
+    private final TaskStore repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final boolean enabled;
+    private final int batchSize;
+    private final WriteAheadLog wal;
+
+    private final Map<Long, TaskWrite> pending = new ConcurrentHashMap<>();
+    // Serialize writes per task, so each one starts from the previous one's durable result. Held across
+    // the fsync, so j.u.c. locks: a virtual thread waiting on one does not pin its carrier
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    // Appends hold the read lock, emptying or rewriting the log takes the write lock
+    private final ReadWriteLock checkpointLock = new ReentrantReadWriteLock();
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private volatile IOException syncFailure;
+
+    @Autowired
+    public WriteBehindQueue(TaskStore repository,
+                            @Nullable JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            ApplicationEventPublisher eventPublisher,
+                            ObjectProvider<CacheManager> cacheManager,
+                            @Value("${todo.write-behind.enabled:false}") boolean enabled,
+                            @Value("${todo.write-behind.log-file:todo-write-behind.log}") Path logFile,
+                            @Value("${todo.write-behind.batch-size:500}") int batchSize) throws IOException {
+        this(repository, jdbcTemplate, transactionManager, eventPublisher, cacheManager, enabled,
+                enabled ? new WriteAheadLog(logFile) : null, batchSize);
+    }
+
+    WriteBehindQueue(TaskStore repository,
+                     @Nullable JdbcTemplate jdbcTemplate,
+                     PlatformTransactionManager transactionManager,
+                     ApplicationEventPublisher eventPublisher,
+                     ObjectProvider<CacheManager> cacheManager,
+                     boolean enabled,
+                     @Nullable WriteAheadLog wal,
+                     int batchSize) throws IOException {
+        if (enabled && jdbcTemplate == null) {
+            throw new IllegalStateException("todo.write-behind.enabled needs a database, the memory profile has none");
+        }
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        // Commits on its own, also when a TaskService transaction drains the queue first
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.wal = wal;
+        if (enabled) {
+            recover();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The acknowledged but not yet drained state of a task, or null.
+     */
+    public Task pending(Long id) {
+        TaskWrite write = pending.get(id);
+        return write != null ? write.toTask() : null;
+    }
+
+    /**
+     * Applies {@code change} to a copy of the task's latest state and returns once the result is
+     * durable in the log. A change that leaves title, description and completed as they were is
+     * not logged and keeps the version. Exceptions from {@code change} abort the write.
+     * <p>
+     * The task's stripe is held until the sync returns, so no write builds on one that is not yet
+     * durable; writes to other tasks still share the fsync. If it fails, the task goes back to its
+     * previous state and the write throws, as do all writes until a checkpoint succeeds.
+     */
+    public Task write(Long id, Consumer<Task> change) {
+        ReentrantLock stripe = stripe(id);
+        stripe.lock();
+        try {
+            IOException failure = syncFailure;
+            if (failure != null) {
+                throw new UncheckedIOException("Write-behind log " + wal.file() + " failed to sync, writes resume"
+                        + " once the next drain has rewritten it", failure);
+            }
+            TaskWrite previous = pending.get(id);
+            TaskWrite current = previous;
+            if (current == null) {
+                current = TaskWrite.loaded(repository.findById(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Task with id " + id + " not found")));
+            }
+            Task task = current.toTask();
+            change.accept(task);
+            if (!current.changedBy(task)) {
+                return task;
+            }
+            TaskWrite write = current.next(task, LocalDateTime.now());
+            long seq;
+            checkpointLock.readLock().lock();
+            try {
+                seq = wal.append(write.encode());
+                pending.put(id, write);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not append to " + wal.file(), e);
+            } finally {
+                checkpointLock.readLock().unlock();
+            }
+            try {
+                wal.sync(seq);
+            } catch (IOException e) {
+                // Under the read lock, so the next checkpoint writes the rolled back state
+                checkpointLock.readLock().lock();
+                try {
+                    if (previous != null) {
+                        pending.put(id, previous);
+                    } else {
+                        pending.remove(id);
+                    }
+                    syncFailure = e;
+                } finally {
+                    checkpointLock.readLock().unlock();
+                }
+                throw new UncheckedIOException("Could not sync " + wal.file(), e);
+            }
+            return write.toTask();
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${todo.write-behind.flush-interval-ms:50}",
+            initialDelayString = "${todo.write-behind.flush-interval-ms:50}")
+    public void flush() {
+        drain();
+    }
+
+    /**
+     * Writes everything pending when called to the database; writes arriving meanwhile wait
+     * for the next drain. Returns after the commit.
+     */
+    public void drain() {
+        if (!enabled || pending.isEmpty() && syncFailure == null) {
+            return;
+        }
+        drainLock.lock();
+        try {
+            List<TaskWrite> writes = new ArrayList<>(pending.values());
+            for (int from = 0; from < writes.size(); from += batchSize) {
+                List<TaskWrite> batch = writes.subList(from, Math.min(from + batchSize, writes.size()));
+                int[] counts = transactionTemplate.execute(status -> {
+                    // Stamped now rather than when acknowledged: like any other write, the row commits
+                    // within the settle window after its updated_at, which sync and the horizon rely on
+                    LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+                    List<TaskWrite> drained = batch.stream().map(write -> write.drainedAt(now)).toList();
+                    int[] applied = jdbcTemplate.batchUpdate(APPLY_SQL, setter(drained));
+                    // Published before the commit, as TaskService does, so the list ETag moves with it
+                    for (int i = 0; i < drained.size(); i++) {
+                        if (written(applied[i])) {
+                            TaskWrite write = drained.get(i);
+                            eventPublisher.publishEvent(TaskChangedEvent.updated(write.toTask(), write.baseCompleted()));
+                        }
+                    }
+                    return applied;
+                });
+                for (int i = 0; i < batch.size(); i++) {
+                    settle(batch.get(i), written(counts[i]));
+                }
+            }
+            checkpoint();
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (enabled) {
+            drain();
+            wal.close();
+        }
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private void recover() throws IOException {
+        List<byte[]> records = wal.replay();
+        for (byte[] record : records) {
+            TaskWrite write = TaskWrite.decode(record);
+            pending.merge(write.id(), write, (earlier, later) -> later.withBaseOf(earlier));
+        }
+        if (!records.isEmpty()) {
+            log.info("Replayed {} write-behind records for {} tasks from {}", records.size(), pending.size(), wal.file());
+        }
+    }
+
+    private void settle(TaskWrite applied, boolean written) {
+        ReentrantLock stripe = stripe(applied.id());
+        stripe.lock();
+        try {
+            TaskWrite current = pending.get(applied.id());
+            if (current == applied || !written) {
+                pending.remove(applied.id());
+            } else if (current != null) {
+                pending.put(applied.id(), current.rebasedOn(applied));
+            }
+        } finally {
+            stripe.unlock();
+        }
+        if (!written) {
+            log.warn("Dropped write-behind update of task {} to version {}: the row was deleted, changed elsewhere or already written",
+                    applied.id(), applied.version());
+            CacheManager manager = cacheManager.getIfAvailable();
+            Cache cache = manager != null ? manager.getCache(TaskService.TASK_CACHE) : null;
+            if (cache != null) {
+                cache.evict(applied.id());
+            }
+        }
+    }
+
+    // Drops the drained records; pending writes keep their base, so each one replays on its own
+    private void checkpoint() {
+        checkpointLock.writeLock().lock();
+        try {
+            if (pending.isEmpty() && syncFailure == null) {
+                wal.reset();
+            } else {
+                wal.rewrite(pending.values().stream().map(TaskWrite::encode).toList());
+                syncFailure = null;
+            }
+        } catch (IOException e) {
+            // Harmless: on replay the records no longer match their rows and are dropped
+            log.warn("Could not compact {}", wal.file(), e);
+        } finally {
+            checkpointLock.writeLock().unlock();
+        }
+    }
+
+    private static boolean written(int count) {
+        return count > 0 || count == Statement.SUCCESS_NO_INFO;
+    }
+
+    private ReentrantLock stripe(Long id) {
+        return stripes[(int) (id & (STRIPES - 1))];
+    }
+
+    private static BatchPreparedStatementSetter setter(List<TaskWrite> batch) {
+        return new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                TaskWrite write = batch.get(i);
+                ps.setString(1, write.title());
+                ps.setString(2, write.description());
+                ps.setBoolean(3, write.completed());
+                ps.setLong(4, write.version());
+                ps.setTimestamp(5, Timestamp.valueOf(write.updatedAt()));
+                ps.setLong(6, write.id());
+                ps.setLong(7, write.baseVersion());
+                ps.setLong(8, write.version());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batch.size();
+            }
+        };
+    }
+}
@@ -0,0 +1,3 @@
+-- V2__add_tasks_created_at_id_index.sql
+-- Supports keyset pagination on (created_at, id) for GET /api/tasks
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at_id ON tasks (created_at, id);
@@ -0,0 +1,4 @@
+-- V3__use_pooled_task_id_sequence.sql
+-- Task ids now come from Hibernate's pooled optimizer (allocationSize = 50),
+-- which reserves a block of ids per nextval so inserts can be JDBC-batched.
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 50;
@@ -0,0 +1,5 @@
+-- Ordered listings filtered on completion: /completed, /pending and countByCompleted
+CREATE INDEX IF NOT EXISTS idx_tasks_completed_created_at_id ON tasks (completed, created_at, id);
+
+-- Pending tasks are the small, hot subset; keep a compact index over just those rows
+CREATE INDEX IF NOT EXISTS idx_tasks_pending_created_at_id ON tasks (created_at, id) WHERE completed = FALSE;
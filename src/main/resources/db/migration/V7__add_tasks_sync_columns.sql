@@ -0,0 +1,7 @@
+-- Delta sync: every write stamps updated_at and deletes leave a tombstone row
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT NOW();
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS deleted BOOLEAN NOT NULL DEFAULT FALSE;
+UPDATE tasks SET updated_at = created_at;
+
+-- /api/tasks/sync walks (updated_at, id) from the client's token
+CREATE INDEX IF NOT EXISTS idx_tasks_updated_at_id ON tasks (updated_at, id);
@@ -0,0 +1,6 @@
+-- List ETags: one row whose seq every transaction that changes tasks bumps before it commits
+CREATE TABLE IF NOT EXISTS task_change_sequence (
+    id INTEGER PRIMARY KEY,
+    seq BIGINT NOT NULL
+);
+INSERT INTO task_change_sequence (id, seq) VALUES (1, 0) ON CONFLICT DO NOTHING;
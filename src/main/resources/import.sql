@@ -0,0 +1,2 @@
+-- Run by Hibernate after ddl-auto creates the schema (dev and test); Flyway's V8 seeds the row elsewhere
+INSERT INTO task_change_sequence (id, seq) VALUES (1, 0);
@@ -0,0 +1,92 @@
+package com.example.todo.integration;
+
+import com.example.todo.dto.TaskSummary;
+import com.example.todo.model.Task;
+import com.example.todo.service.TaskCursor;
+import com.example.todo.util.TestDataUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Runs the /api/tasks contract against the WebFlux + R2DBC stack on a live Netty server.
+ * Not transactional: the handlers use their own R2DBC connections, so test data must be committed.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:reactivetestdb",
+                "spring.r2dbc.url=r2dbc:h2:mem:///reactivetestdb"
+        }
+)
+@ActiveProfiles({"test", "reactive"})
+class ReactiveTodoIntegrationTest extends TaskApiContractTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private WebServerApplicationContext context;
+
+    @Override
+    protected WebTestClient createClient() {
+        return webTestClient;
+    }
+
+    @Test
+    void testServedByNetty() {
+        // Not Tomcat, which is on the classpath too
+        assertInstanceOf(NettyWebServer.class, context.getWebServer());
+    }
+
+    @Test
+    void testNdjsonListsStreamEveryRow() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<Task> saved = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Task task = TestDataUtils.createTaskWithDetails("Streamed " + i, "Row " + i, i % 2 == 0);
+            task.setCreatedAt(base.plusMinutes(i));
+            saved.add(taskRepository.save(task));
+        }
+
+        List<Task> all = client.get().uri("/api/tasks?size=2")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Task.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        assertEquals(List.of("Streamed 0", "Streamed 1", "Streamed 2", "Streamed 3", "Streamed 4"),
+                all.stream().map(Task::getTitle).toList());
+
+        String after = TaskCursor.of(saved.get(1)).encode();
+        List<TaskSummary> completed = client.get().uri("/api/tasks/completed?after={after}", after)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TaskSummary.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        assertEquals(List.of("Streamed 2", "Streamed 4"), completed.stream().map(TaskSummary::title).toList());
+
+        client.get().uri("/api/tasks?before={before}", after)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.todo.reactive;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+/**
+ * Keeps JPA working with R2DBC on the classpath. Boot backs off its DataSource once an R2DBC
+ * ConnectionFactory exists, so the Hikari pool from spring.datasource.* is declared here. There are
+ * also two transaction managers: the JPA one stays the default for @Transactional and
+ * TransactionTemplate, and the reactive handlers use the R2DBC one explicitly through a
+ * TransactionalOperator. The memory profile has no JPA and brings its own transaction manager.
+ */
+@Configuration
+@Profile("!memory")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class JpaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                    ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        customizers.ifAvailable(c -> c.customize(transactionManager));
+        return transactionManager;
+    }
+}
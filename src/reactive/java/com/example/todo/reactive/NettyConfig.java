@@ -0,0 +1,21 @@
+package com.example.todo.reactive;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Serves the reactive stack from Netty. Tomcat stays on the classpath for the servlet stack, and
+ * Boot prefers it over Netty when picking a reactive web server, which would put the router
+ * functions behind Tomcat's servlet adapter and its 200-thread pool.
+ */
+@Configuration
+@Profile("reactive")
+public class NettyConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.todo.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The R2DBC pool from spring.r2dbc.*, declared here because Boot has no hook for the pool's
+ * acquisition scheduler. Without one, a released connection is handed to the next waiting request
+ * on the releasing thread, and H2's driver runs that request's statements right there; under load
+ * one Netty event loop ends up running every queued query and never reads its own connections.
+ * Handing connections out on boundedElastic keeps blocking driver work off the event loops.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class R2dbcConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(R2dbcProperties properties) {
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.withUrl(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+        R2dbcProperties.Pool pool = properties.getPool();
+        ConnectionPoolConfiguration.Builder builder = ConnectionPoolConfiguration.builder(connectionFactory)
+                .customizer(poolBuilder -> poolBuilder.acquisitionScheduler(Schedulers.boundedElastic()));
+        // Mapped as Boot maps them; unset durations stay at the pool's own defaults
+        PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        map.from(pool.getInitialSize()).to(builder::initialSize);
+        map.from(pool.getMaxSize()).to(builder::maxSize);
+        map.from(pool.getMinIdle()).to(builder::minIdle);
+        map.from(pool.getMaxIdleTime()).to(builder::maxIdleTime);
+        map.from(pool.getMaxLifeTime()).to(builder::maxLifeTime);
+        map.from(pool.getMaxAcquireTime()).to(builder::maxAcquireTime);
+        map.from(pool.getMaxCreateConnectionTime()).to(builder::maxCreateConnectionTime);
+        map.from(pool.getMaxValidationTime()).to(builder::maxValidationTime);
+        map.from(pool.getAcquireRetry()).to(builder::acquireRetry);
+        map.from(pool.getValidationQuery()).whenHasText().to(builder::validationQuery);
+        map.from(pool.getValidationDepth()).to(builder::validationDepth);
+        return new ConnectionPool(builder.build());
+    }
+}
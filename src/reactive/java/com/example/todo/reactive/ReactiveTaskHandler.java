@@ -0,0 +1,454 @@
+package com.example.todo.reactive;
+
+import com.example.todo.controller.TaskController.TaskStats;
+import com.example.todo.dto.BulkItemResult;
+import com.example.todo.dto.BulkResult;
+import com.example.todo.dto.CursorPage;
+import com.example.todo.dto.TaskSummary;
+import com.example.todo.event.TaskChangedEvent;
+import com.example.todo.exception.BadRequestException;
+import com.example.todo.exception.ResourceNotFoundException;
+import com.example.todo.model.Task;
+import com.example.todo.service.TaskCursor;
+import com.example.todo.service.TaskService;
+import com.example.todo.service.TaskStatsCounter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * WebFlux handlers serving the same /api/tasks contract as TaskController, over R2DBC.
+ * Error bodies mirror GlobalExceptionHandler so clients cannot tell the stacks apart.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveTaskHandler {
+
+    private static final ParameterizedTypeReference<List<Task>> TASK_LIST = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<List<Long>> ID_LIST = new ParameterizedTypeReference<>() {};
+
+    private final ReactiveTaskRepository repository;
+    private final TransactionalOperator transactionalOperator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskStatsCounter statsCounter;
+    private final Validator validator;
+
+    public ReactiveTaskHandler(ReactiveTaskRepository repository,
+                               R2dbcTransactionManager transactionManager,
+                               ApplicationEventPublisher eventPublisher,
+                               TaskStatsCounter statsCounter,
+                               Validator validator) {
+        this.repository = repository;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.statsCounter = statsCounter;
+        this.validator = validator;
+    }
+
+    public Mono<ServerResponse> getAll(ServerRequest request) {
+        String after = request.queryParam("after").orElse(null);
+        String before = request.queryParam("before").orElse(null);
+        if (acceptsNdjson(request)) {
+            return handle(() -> stream(after, before,
+                    cursor -> repository.streamAfter(cursor.createdAt(), cursor.id()), Task.class));
+        }
+        return handle(() -> page(after, before, pageSize(request))
+                .flatMap(page -> ServerResponse.ok().bodyValue(page)));
+    }
+
+    public Mono<ServerResponse> getById(ServerRequest request) {
+        return handle(() -> findExisting(pathId(request)).flatMap(task -> ServerResponse.ok().bodyValue(task)));
+    }
+
+    public Mono<ServerResponse> create(ServerRequest request) {
+        Mono<Task> saved = request.bodyToMono(Task.class)
+                .flatMap(this::validated)
+                .flatMap(task -> {
+                    task.setId(null);
+                    return repository.insert(task);
+                })
+                .doOnNext(task -> eventPublisher.publishEvent(TaskChangedEvent.created(task)));
+        return handle(() -> saved.flatMap(task -> ServerResponse.status(HttpStatus.CREATED).bodyValue(task)));
+    }
+
+    public Mono<ServerResponse> update(ServerRequest request) {
+        return handle(() -> {
+            Long id = pathId(request);
+            Mono<Task> saved = request.bodyToMono(Task.class)
+                    .flatMap(this::validated)
+                    .flatMap(newTask -> findExisting(id).flatMap(existing -> {
+                        boolean wasCompleted = existing.isCompleted();
+                        existing.setTitle(newTask.getTitle());
+                        existing.setDescription(newTask.getDescription());
+                        existing.setCompleted(newTask.isCompleted());
+                        return repository.update(existing)
+                                .flatMap(rows -> rows > 0 ? Mono.just(existing) : Mono.error(concurrentUpdate(id)))
+                                .doOnNext(task -> eventPublisher.publishEvent(TaskChangedEvent.updated(task, wasCompleted)));
+                    }))
+                    .as(transactionalOperator::transactional);
+            return saved.flatMap(task -> ServerResponse.ok().bodyValue(task));
+        });
+    }
+
+    public Mono<ServerResponse> delete(ServerRequest request) {
+        return handle(() -> {
+            Long id = pathId(request);
+            Mono<Task> deleted = findExisting(id)
+                    .flatMap(task -> repository.deleteById(id).thenReturn(task))
+                    .as(transactionalOperator::transactional)
+                    .doOnNext(task -> eventPublisher.publishEvent(TaskChangedEvent.deleted(task)));
+            return deleted.then(ServerResponse.noContent().build());
+        });
+    }
+
+    public Mono<ServerResponse> getCompleted(ServerRequest request) {
+        return summaries(request, true);
+    }
+
+    public Mono<ServerResponse> getPending(ServerRequest request) {
+        return summaries(request, false);
+    }
+
+    public Mono<ServerResponse> markAsCompleted(ServerRequest request) {
+        return handle(() -> setCompleted(pathId(request), true));
+    }
+
+    public Mono<ServerResponse> markAsPending(ServerRequest request) {
+        return handle(() -> setCompleted(pathId(request), false));
+    }
+
+    public Mono<ServerResponse> getStats(ServerRequest request) {
+        Mono<TaskStats> stats = statsCounter.isReady()
+                ? Mono.fromSupplier(statsCounter::snapshot)
+                : repository.stats();
+        return stats.flatMap(body -> ServerResponse.ok().bodyValue(body));
+    }
+
+    public Mono<ServerResponse> createAll(ServerRequest request) {
+        Mono<BulkResult> result = request.bodyToMono(TASK_LIST)
+                .flatMap(tasks -> {
+                    checkBulkSize(tasks);
+                    List<BulkItemResult> failures = new ArrayList<>();
+                    List<Integer> validIndexes = new ArrayList<>();
+                    for (int i = 0; i < tasks.size(); i++) {
+                        String error = validationError(tasks.get(i));
+                        if (error != null) {
+                            failures.add(BulkItemResult.failed(i, null, 400, error));
+                        } else {
+                            tasks.get(i).setId(null);
+                            validIndexes.add(i);
+                        }
+                    }
+                    return Flux.fromIterable(validIndexes)
+                            .concatMap(i -> repository.insert(tasks.get(i))
+                                    .map(task -> BulkItemResult.ok(i, task.getId(), 201)))
+                            .collectList()
+                            .as(transactionalOperator::transactional)
+                            .doOnNext(created -> created.forEach(item -> eventPublisher.publishEvent(
+                                    TaskChangedEvent.created(tasks.get(item.index())))))
+                            .map(created -> {
+                                List<BulkItemResult> items = new ArrayList<>(created);
+                                items.addAll(failures);
+                                items.sort((a, b) -> Integer.compare(a.index(), b.index()));
+                                return BulkResult.of(items);
+                            });
+                });
+        return handle(() -> result.flatMap(body -> ServerResponse.ok().bodyValue(body)));
+    }
+
+    public Mono<ServerResponse> updateAll(ServerRequest request) {
+        Mono<BulkResult> result = request.bodyToMono(TASK_LIST)
+                .flatMap(tasks -> {
+                    checkBulkSize(tasks);
+                    List<Long> ids = tasks.stream().map(Task::getId).filter(Objects::nonNull).toList();
+                    Mono<List<BulkItemResult>> items = loadById(ids).flatMap(existing -> Flux.range(0, tasks.size())
+                            .<BulkItemResult>concatMap(i -> {
+                                Task newTask = tasks.get(i);
+                                Long id = newTask.getId();
+                                String error = id == null ? "id : Id is required" : validationError(newTask);
+                                if (error != null) {
+                                    return Mono.just(BulkItemResult.failed(i, id, 400, error));
+                                }
+                                Task task = existing.get(id);
+                                if (task == null) {
+                                    return Mono.just(BulkItemResult.failed(i, id, 404, notFound(id)));
+                                }
+                                boolean wasCompleted = task.isCompleted();
+                                task.setTitle(newTask.getTitle());
+                                task.setDescription(newTask.getDescription());
+                                task.setCompleted(newTask.isCompleted());
+                                return repository.update(task)
+                                        .flatMap(rows -> rows > 0 ? Mono.just(rows) : Mono.error(concurrentUpdate(id)))
+                                        .doOnNext(rows -> eventPublisher.publishEvent(
+                                                TaskChangedEvent.updated(task, wasCompleted)))
+                                        .thenReturn(BulkItemResult.ok(i, id, 200));
+                            })
+                            .collectList());
+                    return items.as(transactionalOperator::transactional).map(BulkResult::of);
+                });
+        return handle(() -> result.flatMap(body -> ServerResponse.ok().bodyValue(body)));
+    }
+
+    public Mono<ServerResponse> deleteAll(ServerRequest request) {
+        Mono<BulkResult> result = request.bodyToMono(ID_LIST)
+                .flatMap(ids -> {
+                    checkBulkSize(ids);
+                    return loadById(ids)
+                            .flatMap(found -> (found.isEmpty() ? Mono.just(0L) : repository.deleteAllById(found.keySet()))
+                                    .thenReturn(found))
+                            .as(transactionalOperator::transactional)
+                            .map(found -> {
+                                found.values().forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.deleted(task)));
+                                List<BulkItemResult> items = new ArrayList<>(ids.size());
+                                Set<Long> seen = new HashSet<>();
+                                for (int i = 0; i < ids.size(); i++) {
+                                    Long id = ids.get(i);
+                                    items.add(found.containsKey(id) && seen.add(id)
+                                            ? BulkItemResult.ok(i, id, 204)
+                                            : BulkItemResult.failed(i, id, 404, notFound(id)));
+                                }
+                                return BulkResult.of(items);
+                            });
+                });
+        return handle(() -> result.flatMap(body -> ServerResponse.ok().bodyValue(body)));
+    }
+
+    public Mono<ServerResponse> completeAll(ServerRequest request) {
+        Mono<BulkResult> result = request.bodyToMono(ID_LIST)
+                .flatMap(ids -> {
+                    checkBulkSize(ids);
+                    return loadById(ids)
+                            .flatMap(found -> {
+                                List<Task> pending = found.values().stream().filter(task -> !task.isCompleted()).toList();
+                                Mono<Long> update = pending.isEmpty()
+                                        ? Mono.just(0L)
+                                        : repository.markCompletedByIdIn(pending.stream().map(Task::getId).toList());
+                                return update.thenReturn(found).doOnNext(ignored -> pending.forEach(task -> {
+                                    task.setCompleted(true);
+                                    eventPublisher.publishEvent(TaskChangedEvent.updated(task, false));
+                                }));
+                            })
+                            .as(transactionalOperator::transactional)
+                            .map(found -> {
+                                List<BulkItemResult> items = new ArrayList<>(ids.size());
+                                for (int i = 0; i < ids.size(); i++) {
+                                    Long id = ids.get(i);
+                                    items.add(found.containsKey(id)
+                                            ? BulkItemResult.ok(i, id, 200)
+                                            : BulkItemResult.failed(i, id, 404, notFound(id)));
+                                }
+                                return BulkResult.of(items);
+                            });
+                });
+        return handle(() -> result.flatMap(body -> ServerResponse.ok().bodyValue(body)));
+    }
+
+    private Mono<ServerResponse> summaries(ServerRequest request, boolean completed) {
+        String after = request.queryParam("after").orElse(null);
+        String before = request.queryParam("before").orElse(null);
+        if (acceptsNdjson(request)) {
+            return handle(() -> stream(after, before,
+                    cursor -> repository.streamSummariesAfter(completed, cursor.createdAt(), cursor.id()), TaskSummary.class));
+        }
+        return handle(() -> keysetPage(after, before, pageSize(request),
+                limit -> repository.findSummaries(completed, limit),
+                (cursor, limit) -> repository.findSummariesAfter(completed, cursor.createdAt(), cursor.id(), limit),
+                (cursor, limit) -> repository.findSummariesBefore(completed, cursor.createdAt(), cursor.id(), limit),
+                TaskCursor::of).flatMap(page -> ServerResponse.ok().bodyValue(page)));
+    }
+
+    private Mono<CursorPage<Task>> page(String after, String before, int size) {
+        return keysetPage(after, before, size,
+                repository::findFirstPage,
+                (cursor, limit) -> repository.findPageAfter(cursor.createdAt(), cursor.id(), limit),
+                (cursor, limit) -> repository.findPageBefore(cursor.createdAt(), cursor.id(), limit),
+                TaskCursor::of);
+    }
+
+    /**
+     * Accept: application/x-ndjson reads every row from {@code after} on, written as R2DBC emits it
+     * instead of collected into a page, so a client can walk the whole list in one request. Only
+     * forward: {@code before} and {@code size} apply to pages.
+     */
+    private static <T> Mono<ServerResponse> stream(String after, String before,
+                                                   Function<TaskCursor, Flux<T>> rows, Class<T> type) {
+        if (before != null) {
+            throw new BadRequestException("'before' is not supported for application/x-ndjson lists");
+        }
+        TaskCursor cursor = after != null ? TaskCursor.decode(after) : new TaskCursor(null, null);
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON).body(rows.apply(cursor), type);
+    }
+
+    // Same paging rules as TaskService.getPage
+    private static <T> Mono<CursorPage<T>> keysetPage(String after, String before, int size,
+                                                      Function<Integer, Flux<T>> first,
+                                                      BiFunction<TaskCursor, Integer, Flux<T>> pageAfter,
+                                                      BiFunction<TaskCursor, Integer, Flux<T>> pageBefore,
+                                                      Function<T, TaskCursor> position) {
+        if (after != null && before != null) {
+            throw new BadRequestException("Only one of 'after' and 'before' may be given");
+        }
+        int limit = Math.max(1, Math.min(size, TaskService.MAX_PAGE_SIZE));
+
+        if (before != null) {
+            return pageBefore.apply(TaskCursor.decode(before), limit + 1).collectList().map(rows -> {
+                boolean hasPrevious = rows.size() > limit;
+                List<T> items = new ArrayList<>(rows.subList(0, Math.min(limit, rows.size())));
+                Collections.reverse(items);
+                return new CursorPage<>(items,
+                        items.isEmpty() ? null : position.apply(items.get(items.size() - 1)).encode(),
+                        hasPrevious ? position.apply(items.get(0)).encode() : null);
+            });
+        }
+
+        Flux<T> rows = after != null
+                ? pageAfter.apply(TaskCursor.decode(after), limit + 1)
+                : first.apply(limit + 1);
+        return rows.collectList().map(list -> {
+            boolean hasNext = list.size() > limit;
+            List<T> items = list.subList(0, Math.min(limit, list.size()));
+            return new CursorPage<>(items,
+                    hasNext ? position.apply(items.get(items.size() - 1)).encode() : null,
+                    after != null && !items.isEmpty() ? position.apply(items.get(0)).encode() : null);
+        });
+    }
+
+    private Mono<ServerResponse> setCompleted(Long id, boolean completed) {
+        Mono<Task> task = repository.updateCompleted(id, completed)
+                .flatMap(rows -> findExisting(id).doOnNext(found -> {
+                    if (rows > 0) {
+                        eventPublisher.publishEvent(TaskChangedEvent.updated(found, !completed));
+                    }
+                }))
+                .as(transactionalOperator::transactional);
+        return task.flatMap(body -> ServerResponse.ok().bodyValue(body));
+    }
+
+    private Mono<Task> findExisting(Long id) {
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(notFound(id))));
+    }
+
+    private Mono<Map<Long, Task>> loadById(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return repository.findAllById(ids).collectMap(Task::getId, Function.identity());
+    }
+
+    private Mono<Task> validated(Task task) {
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        if (violations.isEmpty()) {
+            return Mono.just(task);
+        }
+        return Mono.error(new ValidationFailedException(violations.stream()
+                .map(v -> v.getPropertyPath() + " : " + v.getMessage())
+                .collect(Collectors.toList())));
+    }
+
+    private String validationError(Task task) {
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " : " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static void checkBulkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("Bulk request must contain at least one item");
+        }
+        if (items.size() > TaskService.MAX_BULK_SIZE) {
+            throw new BadRequestException("Bulk request is limited to " + TaskService.MAX_BULK_SIZE + " items");
+        }
+    }
+
+    // Only when asked for by name; */* and a missing Accept header keep the JSON page
+    private static boolean acceptsNdjson(ServerRequest request) {
+        return request.headers().accept().stream().anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+    }
+
+    private static Long pathId(ServerRequest request) {
+        try {
+            return Long.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Invalid task id: " + request.pathVariable("id"));
+        }
+    }
+
+    private static int pageSize(ServerRequest request) {
+        String size = request.queryParam("size").orElse(null);
+        if (size == null) {
+            return TaskService.DEFAULT_PAGE_SIZE;
+        }
+        try {
+            return Integer.parseInt(size);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Invalid page size: " + size);
+        }
+    }
+
+    private static OptimisticLockingFailureException concurrentUpdate(Long id) {
+        return new OptimisticLockingFailureException("Task with id " + id + " changed during the update");
+    }
+
+    private static String notFound(Long id) {
+        return "Task with id " + id + " not found";
+    }
+
+    // Same bodies as GlobalExceptionHandler
+    private static Mono<ServerResponse> handle(Supplier<Mono<ServerResponse>> response) {
+        return Mono.defer(response)
+                .onErrorResume(ResourceNotFoundException.class, ex -> error(HttpStatus.NOT_FOUND, "error", ex.getMessage()))
+                .onErrorResume(BadRequestException.class, ex -> error(HttpStatus.BAD_REQUEST, "error", ex.getMessage()))
+                .onErrorResume(ValidationFailedException.class, ex -> error(HttpStatus.BAD_REQUEST, "errors", ex.errors))
+                .onErrorResume(OptimisticLockingFailureException.class,
+                        ex -> error(HttpStatus.CONFLICT, "error", "Task was modified concurrently, reload and retry"));
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String key, Object detail) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", status.value());
+        body.put(key, detail);
+        return ServerResponse.status(status).bodyValue(body);
+    }
+
+    private static class ValidationFailedException extends RuntimeException {
+        private final List<String> errors;
+
+        ValidationFailedException(List<String> errors) {
+            super("Validation failed");
+            this.errors = errors;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.todo.reactive;
+
+import com.example.todo.controller.TaskController.TaskStats;
+import com.example.todo.dto.TaskSummary;
+import com.example.todo.model.Task;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * R2DBC access to the tasks table from V1__create_tasks_table.sql.
+ * Ids come from tasks_id_seq like the JPA side; each insert takes one sequence value,
+ * which can never fall inside a block Hibernate's pooled optimizer hands out.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveTaskRepository {
+
+    private static final String COLUMNS = "id, title, description, completed, created_at, version, updated_at, deleted";
+    private static final String SUMMARY_COLUMNS = "id, title, completed, created_at";
+
+    private final DatabaseClient client;
+    private final String nextIdSql;
+
+    public ReactiveTaskRepository(DatabaseClient client) {
+        this.client = client;
+        this.nextIdSql = "H2".equals(client.getConnectionFactory().getMetadata().getName())
+                ? "SELECT NEXT VALUE FOR tasks_id_seq"
+                : "SELECT nextval('tasks_id_seq')";
+    }
+
+    public Mono<Task> findById(Long id) {
+        return client.sql("SELECT " + COLUMNS + " FROM tasks WHERE id = :id AND deleted = FALSE")
+                .bind("id", id)
+                .map(ReactiveTaskRepository::toTask)
+                .one();
+    }
+
+    public Flux<Task> findAllById(Collection<Long> ids) {
+        return client.sql("SELECT " + COLUMNS + " FROM tasks WHERE id IN (:ids) AND deleted = FALSE")
+                .bind("ids", ids)
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    public Flux<Task> findFirstPage(int limit) {
+        return client.sql("SELECT " + COLUMNS + " FROM tasks WHERE deleted = FALSE ORDER BY created_at, id LIMIT :limit")
+                .bind("limit", limit)
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    public Flux<Task> findPageAfter(LocalDateTime createdAt, Long id, int limit) {
+        return client.sql("SELECT " + COLUMNS + " FROM tasks WHERE deleted = FALSE AND (created_at, id) > (:createdAt, :id)"
+                        + " ORDER BY created_at, id LIMIT :limit")
+                .bind("createdAt", createdAt)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    // Nearest rows first; the caller reverses them back into ascending order
+    public Flux<Task> findPageBefore(LocalDateTime createdAt, Long id, int limit) {
+        return client.sql("SELECT " + COLUMNS + " FROM tasks WHERE deleted = FALSE AND (created_at, id) < (:createdAt, :id)"
+                        + " ORDER BY created_at DESC, id DESC LIMIT :limit")
+                .bind("createdAt", createdAt)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    // Completed / pending listings; the description column is never read
+    public Flux<TaskSummary> findSummaries(boolean completed, int limit) {
+        return client.sql("SELECT " + SUMMARY_COLUMNS + " FROM tasks WHERE completed = :completed AND deleted = FALSE"
+                        + " ORDER BY created_at, id LIMIT :limit")
+                .bind("completed", completed)
+                .bind("limit", limit)
+                .map(ReactiveTaskRepository::toSummary)
+                .all();
+    }
+
+    public Flux<TaskSummary> findSummariesAfter(boolean completed, LocalDateTime createdAt, Long id, int limit) {
+        return client.sql("SELECT " + SUMMARY_COLUMNS + " FROM tasks WHERE completed = :completed AND deleted = FALSE"
+                        + " AND (created_at, id) > (:createdAt, :id) ORDER BY created_at, id LIMIT :limit")
+                .bind("completed", completed)
+                .bind("createdAt", createdAt)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveTaskRepository::toSummary)
+                .all();
+    }
+
+    public Flux<TaskSummary> findSummariesBefore(boolean completed, LocalDateTime createdAt, Long id, int limit) {
+        return client.sql("SELECT " + SUMMARY_COLUMNS + " FROM tasks WHERE completed = :completed AND deleted = FALSE"
+                        + " AND (created_at, id) < (:createdAt, :id) ORDER BY created_at DESC, id DESC LIMIT :limit")
+                .bind("completed", completed)
+                .bind("createdAt", createdAt)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveTaskRepository::toSummary)
+                .all();
+    }
+
+    // The NDJSON lists: every row after (createdAt, id), or all of them for a null cursor, read on demand
+    public Flux<Task> streamAfter(LocalDateTime createdAt, Long id) {
+        String after = id != null ? " AND (created_at, id) > (:createdAt, :id)" : "";
+        return bindCursor(client.sql("SELECT " + COLUMNS + " FROM tasks WHERE deleted = FALSE" + after
+                        + " ORDER BY created_at, id"), createdAt, id)
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    public Flux<TaskSummary> streamSummariesAfter(boolean completed, LocalDateTime createdAt, Long id) {
+        String after = id != null ? " AND (created_at, id) > (:createdAt, :id)" : "";
+        return bindCursor(client.sql("SELECT " + SUMMARY_COLUMNS + " FROM tasks WHERE completed = :completed"
+                        + " AND deleted = FALSE" + after + " ORDER BY created_at, id"), createdAt, id)
+                .bind("completed", completed)
+                .map(ReactiveTaskRepository::toSummary)
+                .all();
+    }
+
+    public Mono<Task> insert(Task task) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime createdAt = task.getCreatedAt() != null ? task.getCreatedAt() : now;
+        return client.sql(nextIdSql)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(id -> bindNullable(client.sql("INSERT INTO tasks (" + COLUMNS + ")"
+                                        + " VALUES (:id, :title, :description, :completed, :createdAt, 0, :now, FALSE)")
+                                .bind("id", id)
+                                .bind("title", task.getTitle())
+                                .bind("completed", task.isCompleted())
+                                .bind("createdAt", createdAt)
+                                .bind("now", now), "description", task.getDescription())
+                        .then()
+                        .then(Mono.fromSupplier(() -> {
+                            task.setId(id);
+                            task.setCreatedAt(createdAt);
+                            task.setVersion(0L);
+                            task.setUpdatedAt(now);
+                            return task;
+                        })));
+    }
+
+    /**
+     * Writes title, description and completed if the row is still at the task's version,
+     * bumping it like Hibernate's @Version; emits the number of rows changed (0 or 1).
+     */
+    public Mono<Long> update(Task task) {
+        return bindNullable(client.sql("UPDATE tasks SET title = :title, description = :description,"
+                                + " completed = :completed, version = version + 1, updated_at = :now"
+                                + " WHERE id = :id AND version = :version AND deleted = FALSE")
+                        .bind("id", task.getId())
+                        .bind("now", LocalDateTime.now())
+                        .bind("version", task.getVersion())
+                        .bind("title", task.getTitle())
+                        .bind("completed", task.isCompleted()), "description", task.getDescription())
+                .fetch()
+                .rowsUpdated()
+                .doOnNext(rows -> {
+                    if (rows > 0) {
+                        task.setVersion(task.getVersion() + 1);
+                    }
+                });
+    }
+
+    // Guarded on the current flag, so only a real change counts as an updated row
+    public Mono<Long> updateCompleted(Long id, boolean completed) {
+        return client.sql("UPDATE tasks SET completed = :completed, version = version + 1, updated_at = :now"
+                        + " WHERE id = :id AND completed <> :completed AND deleted = FALSE")
+                .bind("id", id)
+                .bind("now", LocalDateTime.now())
+                .bind("completed", completed)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> markCompletedByIdIn(Collection<Long> ids) {
+        return client.sql("UPDATE tasks SET completed = TRUE, version = version + 1, updated_at = :now"
+                        + " WHERE id IN (:ids) AND completed = FALSE AND deleted = FALSE")
+                .bind("ids", ids)
+                .bind("now", LocalDateTime.now())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    // Soft deletes, leaving tombstones for /api/tasks/sync like the JPA side
+    public Mono<Long> deleteById(Long id) {
+        return client.sql("UPDATE tasks SET deleted = TRUE, version = version + 1, updated_at = :now"
+                        + " WHERE id = :id AND deleted = FALSE")
+                .bind("id", id)
+                .bind("now", LocalDateTime.now())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteAllById(Collection<Long> ids) {
+        return client.sql("UPDATE tasks SET deleted = TRUE, version = version + 1, updated_at = :now"
+                        + " WHERE id IN (:ids) AND deleted = FALSE")
+                .bind("ids", ids)
+                .bind("now", LocalDateTime.now())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<TaskStats> stats() {
+        return client.sql("SELECT completed, COUNT(*) AS total FROM tasks WHERE deleted = FALSE GROUP BY completed")
+                .map(row -> new long[]{Boolean.TRUE.equals(row.get("completed", Boolean.class)) ? 1 : 0,
+                        row.get("total", Long.class)})
+                .all()
+                .reduce(new long[2], (counts, row) -> {
+                    counts[(int) row[0]] += row[1];
+                    return counts;
+                })
+                .map(counts -> new TaskStats(counts[0] + counts[1], counts[1], counts[0]));
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                 String name, String value) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, String.class);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindCursor(DatabaseClient.GenericExecuteSpec spec,
+                                                                LocalDateTime createdAt, Long id) {
+        return id != null ? spec.bind("createdAt", createdAt).bind("id", id) : spec;
+    }
+
+    private static Task toTask(Readable row) {
+        Task task = new Task();
+        task.setId(row.get("id", Long.class));
+        task.setTitle(row.get("title", String.class));
+        task.setDescription(row.get("description", String.class));
+        task.setCompleted(Boolean.TRUE.equals(row.get("completed", Boolean.class)));
+        task.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        task.setVersion(row.get("version", Long.class));
+        task.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        task.setDeleted(Boolean.TRUE.equals(row.get("deleted", Boolean.class)));
+        return task;
+    }
+
+    private static TaskSummary toSummary(Readable row) {
+        return new TaskSummary(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                Boolean.TRUE.equals(row.get("completed", Boolean.class)),
+                row.get("created_at", LocalDateTime.class));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.todo.reactive;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * /api/tasks routes for the reactive stack; static paths come before /{id}.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveTaskRoutes {
+
+    @Bean
+    public RouterFunction<ServerResponse> taskRoutes(ReactiveTaskHandler handler) {
+        return route()
+                .path("/api/tasks", builder -> builder
+                        .GET("", handler::getAll)
+                        .POST("", handler::create)
+                        .GET("/stats", handler::getStats)
+                        .GET("/completed", handler::getCompleted)
+                        .GET("/pending", handler::getPending)
+                        .POST("/bulk", handler::createAll)
+                        .PUT("/bulk", handler::updateAll)
+                        .DELETE("/bulk", handler::deleteAll)
+                        .PATCH("/bulk/complete", handler::completeAll)
+                        .GET("/{id}", handler::getById)
+                        .PUT("/{id}", handler::update)
+                        .DELETE("/{id}", handler::delete)
+                        .PATCH("/{id}/complete", handler::markAsCompleted)
+                        .PATCH("/{id}/pending", handler::markAsPending))
+                .build();
+    }
+}
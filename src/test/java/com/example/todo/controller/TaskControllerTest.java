@@ -1,7 +1,18 @@
 package com.example.todo.controller;
 
+import com.example.todo.dto.BulkItemResult;
+import com.example.todo.dto.BulkResult;
+import com.example.todo.dto.CursorPage;
+import com.example.todo.dto.TaskSummary;
+import com.example.todo.exception.GlobalExceptionHandler;
+import com.example.todo.exception.PreconditionFailedException;
+import com.example.todo.exception.ResourceNotFoundException;
 import com.example.todo.model.Task;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.service.TaskListETag;
 import com.example.todo.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,8 +27,14 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
+import static com.example.todo.util.SqlStatementMatchers.sqlStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -32,6 +49,22 @@ class TaskControllerTest {
         public TaskService taskService() {
             return mock(TaskService.class);
         }
+
+        @Bean
+        public TaskRepository taskRepository() {
+            return mock(TaskRepository.class);
+        }
+
+        @Bean
+        public TaskListETag taskListETag(TaskRepository taskRepository) {
+            return new TaskListETag(taskRepository);
+        }
+
+        @Bean
+        @Primary
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
     }
 
     @Autowired
@@ -40,11 +73,17 @@ class TaskControllerTest {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
 
     @BeforeEach
     void setUp() {
         // Reset the mock before each test
-        reset(taskService);
+        reset(taskService, taskRepository);
     }
 
     @Test
@@ -64,14 +103,51 @@ class TaskControllerTest {
         task2.setCreatedAt(LocalDateTime.now());
 
         List<Task> tasks = Arrays.asList(task1, task2);
-        when(taskService.getAll()).thenReturn(tasks);
+        when(taskService.getPage(null, null, 20)).thenReturn(new CursorPage<>(tasks, "next-token", null));
 
         mockMvc.perform(get("/api/tasks"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].title").value("Task 1"))
-                .andExpect(jsonPath("$[1].completed").value(true));
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].title").value("Task 1"))
+                .andExpect(jsonPath("$.items[1].completed").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.prevCursor").isEmpty());
+    }
+
+    @Test
+    void testGetAllTasksWithCursor() throws Exception {
+        when(taskService.getPage("abc", null, 5)).thenReturn(new CursorPage<>(List.of(), null, null));
+
+        mockMvc.perform(get("/api/tasks").param("after", "abc").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0));
+
+        verify(taskService).getPage("abc", null, 5);
+    }
+
+    @Test
+    void testGetCompletedTasksOmitsDescription() throws Exception {
+        TaskSummary summary = new TaskSummary(3L, "Done", true, LocalDateTime.of(2024, 1, 1, 9, 0));
+        when(taskService.getCompletedPage(null, null, 20)).thenReturn(new CursorPage<>(List.of(summary), "next-token", null));
+
+        mockMvc.perform(get("/api/tasks/completed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].title").value("Done"))
+                .andExpect(jsonPath("$.items[0].description").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value("next-token"));
+    }
+
+    @Test
+    void testGetPendingTasksWithCursor() throws Exception {
+        when(taskService.getPendingPage(null, "abc", 5)).thenReturn(new CursorPage<>(List.of(), null, null));
+
+        mockMvc.perform(get("/api/tasks/pending").param("before", "abc").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0));
+
+        verify(taskService).getPendingPage(null, "abc", 5);
     }
 
     @Test
@@ -85,11 +161,30 @@ class TaskControllerTest {
 
         when(taskService.getById(1L)).thenReturn(task);
 
+        // With the service mocked, any statement would come from the web layer itself
         mockMvc.perform(get("/api/tasks/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.title").value("Test Task"))
-                .andExpect(jsonPath("$.completed").value(false));
+                .andExpect(jsonPath("$.completed").value(false))
+                .andExpect(sqlStatements(0));
+    }
+
+    @Test
+    void testErrorsAreCounted() throws Exception {
+        double notFound = errorCount("not_found");
+        double validation = errorCount("validation");
+        when(taskService.getById(99L)).thenThrow(new ResourceNotFoundException("Task with id 99 not found"));
+
+        mockMvc.perform(get("/api/tasks/99"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\": \"No title\"}"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(notFound + 1, errorCount("not_found"));
+        assertEquals(validation + 1, errorCount("validation"));
     }
 
     @Test
@@ -138,7 +233,7 @@ class TaskControllerTest {
         updatedTask.setCompleted(true);
         updatedTask.setCreatedAt(LocalDateTime.now());
 
-        when(taskService.update(eq(1L), any(Task.class))).thenReturn(updatedTask);
+        when(taskService.update(eq(1L), any(Task.class), isNull())).thenReturn(updatedTask);
 
         mockMvc.perform(put("/api/tasks/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -151,6 +246,126 @@ class TaskControllerTest {
     @Test
     void testDeleteTask() throws Exception {
         mockMvc.perform(delete("/api/tasks/1"))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isNoContent())
+                .andExpect(sqlStatements(0));
+    }
+
+    @Test
+    void testListNotModifiedUntilTasksChange() throws Exception {
+        when(taskRepository.findChangeSequence()).thenReturn(41L);
+        String etag = "W/\"41\"";
+
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        verify(taskService, never()).getPage(any(), any(), anyInt());
+
+        when(taskRepository.findChangeSequence()).thenReturn(42L);
+        when(taskService.getPage(null, null, 20)).thenReturn(new CursorPage<>(List.of(), null, null));
+
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"42\""));
+    }
+
+    @Test
+    void testGetTaskByIdNotModified() throws Exception {
+        Task task = new Task();
+        task.setId(1L);
+        task.setTitle("Test Task");
+        task.setVersion(7L);
+        when(taskService.getById(1L)).thenReturn(task);
+
+        mockMvc.perform(get("/api/tasks/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7\""))
+                .andExpect(jsonPath("$.version").value(7));
+
+        mockMvc.perform(get("/api/tasks/1").header("If-None-Match", "\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testUpdateTaskWithIfMatch() throws Exception {
+        Task updatedTask = new Task();
+        updatedTask.setId(1L);
+        updatedTask.setTitle("Updated Task");
+        updatedTask.setVersion(4L);
+        when(taskService.update(eq(1L), any(Task.class), eq(3L))).thenReturn(updatedTask);
+
+        mockMvc.perform(put("/api/tasks/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Updated Task\", \"version\": 99}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    void testStaleIfMatchIsPreconditionFailed() throws Exception {
+        when(taskService.markAsCompleted(1L, 2L))
+                .thenThrow(new PreconditionFailedException("Task with id 1 is at version 3, not 2"));
+
+        mockMvc.perform(patch("/api/tasks/1/complete").header("If-Match", "\"2\""))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412))
+                .andExpect(jsonPath("$.error").value("Task with id 1 is at version 3, not 2"));
+
+        // Weak tags never satisfy If-Match
+        mockMvc.perform(delete("/api/tasks/1").header("If-Match", "W/\"3\""))
+                .andExpect(status().isPreconditionFailed());
+        verify(taskService, never()).delete(anyLong(), any());
+    }
+
+    @Test
+    void testGetStats() throws Exception {
+        when(taskService.getStats()).thenReturn(new TaskController.TaskStats(5, 2, 3));
+
+        mockMvc.perform(get("/api/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.completed").value(2))
+                .andExpect(jsonPath("$.pending").value(3));
+    }
+
+    @Test
+    void testCreateAllTasks() throws Exception {
+        String inputJson = """
+                [
+                    {"title": "Bulk 1"},
+                    {"description": "Missing title"}
+                ]
+                """;
+
+        BulkResult result = BulkResult.of(List.of(
+                BulkItemResult.ok(0, 1L, 201),
+                BulkItemResult.failed(1, null, 400, "title : Title is required")));
+        when(taskService.createAll(anyList())).thenReturn(result);
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(inputJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.items[1].status").value(400));
+    }
+
+    @Test
+    void testDeleteAllTasks() throws Exception {
+        when(taskService.deleteAll(List.of(1L, 2L)))
+                .thenReturn(BulkResult.of(List.of(BulkItemResult.ok(0, 1L, 204), BulkItemResult.ok(1, 2L, 204))));
+
+        mockMvc.perform(delete("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2));
+    }
+
+    private double errorCount(String type) {
+        return meterRegistry.counter(GlobalExceptionHandler.ERROR_COUNTER, "type", type).count();
     }
 }
@@ -0,0 +1,145 @@
+package com.example.todo.controller;
+
+import com.example.todo.event.TaskChangedEvent;
+import com.example.todo.model.Task;
+import com.example.todo.service.TaskChangeFeed;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskEventBroadcasterTest {
+
+    private final TaskChangeFeed feed = new TaskChangeFeed(64);
+    private final CountDownLatch blocked = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch stalledCompleted = new CountDownLatch(1);
+    private final CountDownLatch delivered = new CountDownLatch(1);
+    private TaskEventBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void testStalledSubscriberIsDroppedWithoutStarvingOthers() throws Exception {
+        // Given: a single sender thread, and a first client that stops reading
+        broadcaster = new TaskEventBroadcaster(feed, 10, 1, 64, 60_000, 0, 16) {
+            private int created;
+
+            @Override
+            SseEmitter createEmitter(long timeoutMs) {
+                return created++ == 0 ? new StalledEmitter() : new ReadingEmitter();
+            }
+        };
+        broadcaster.subscribe(null);
+        broadcaster.subscribe(null);
+        feed.onTaskChanged(TaskChangedEvent.created(task(1L)));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        // When
+        Thread.sleep(5);
+        broadcaster.expireStalledSends();
+
+        // Then: the other client still gets the change, and the stalled one is completed once its write returns
+        assertEquals(1, broadcaster.subscriberCount());
+        assertEquals(2, broadcaster.senderPoolSize());
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(1, stalledCompleted.getCount());
+        release.countDown();
+        assertTrue(stalledCompleted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testStalledSubscriberPastTheCapGetsNoStandIn() throws Exception {
+        // Given: two sender threads, no stand-ins allowed, and a first client that stops reading
+        broadcaster = new TaskEventBroadcaster(feed, 10, 2, 64, 60_000, 0, 0) {
+            private int created;
+
+            @Override
+            SseEmitter createEmitter(long timeoutMs) {
+                return created++ == 0 ? new StalledEmitter() : new ReadingEmitter();
+            }
+        };
+        broadcaster.subscribe(null);
+        broadcaster.subscribe(null);
+        feed.onTaskChanged(TaskChangedEvent.created(task(1L)));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        // When
+        Thread.sleep(5);
+        broadcaster.expireStalledSends();
+
+        // Then: dropped all the same, the remaining sender serves the other client and the pool keeps its size
+        assertEquals(1, broadcaster.subscriberCount());
+        assertEquals(2, broadcaster.senderPoolSize());
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        assertTrue(stalledCompleted.await(5, TimeUnit.SECONDS));
+        assertEquals(2, broadcaster.senderPoolSize());
+    }
+
+    @Test
+    void testHeartbeatsDoNotTieUpMoreSendersForABlockedClient() throws Exception {
+        // Given: two sender threads, and a first client that stops reading before the send timeout
+        broadcaster = new TaskEventBroadcaster(feed, 10, 2, 64, 60_000, 60_000, 16) {
+            private int created;
+
+            @Override
+            SseEmitter createEmitter(long timeoutMs) {
+                return created++ == 0 ? new StalledEmitter() : new ReadingEmitter();
+            }
+        };
+        broadcaster.subscribe(null);
+        feed.onTaskChanged(TaskChangedEvent.created(task(1L)));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        // When
+        broadcaster.heartbeat();
+        broadcaster.heartbeat();
+        broadcaster.subscribe(null);
+        feed.onTaskChanged(TaskChangedEvent.created(task(2L)));
+
+        // Then: the blocked client holds one sender, the other still serves the second client
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(2, broadcaster.subscriberCount());
+    }
+
+    private static Task task(Long id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        return task;
+    }
+
+    private class StalledEmitter extends SseEmitter {
+        @Override
+        public void send(SseEventBuilder builder) {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void complete() {
+            stalledCompleted.countDown();
+        }
+    }
+
+    private class ReadingEmitter extends SseEmitter {
+        @Override
+        public void send(SseEventBuilder builder) {
+            delivered.countDown();
+        }
+    }
+}
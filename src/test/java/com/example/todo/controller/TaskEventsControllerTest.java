@@ -0,0 +1,78 @@
+package com.example.todo.controller;
+
+import com.example.todo.event.TaskChangedEvent;
+import com.example.todo.model.Task;
+import com.example.todo.service.TaskChangeFeed;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@WebMvcTest(TaskEventsController.class)
+@Import({TaskEventBroadcaster.class, TaskChangeFeed.class})
+class TaskEventsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskChangeFeed feed;
+
+    @Test
+    void testResumesAfterLastEventIdAndStreamsNewChanges() throws Exception {
+        // Given
+        feed.onTaskChanged(TaskChangedEvent.created(task(1L, "Already seen")));
+        long seen = feed.lastSequence();
+        feed.onTaskChanged(TaskChangedEvent.created(task(2L, "Missed while offline")));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/tasks/events").header("Last-Event-ID", feed.eventId(seen)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        feed.onTaskChanged(TaskChangedEvent.deleted(task(2L, "Missed while offline")));
+
+        // Then
+        String body = awaitContent(result, "event:deleted");
+        assertTrue(body.contains("id:" + feed.eventId(seen + 1)));
+        assertTrue(body.contains("\"title\":\"Missed while offline\""));
+        assertFalse(body.contains("Already seen"));
+    }
+
+    @Test
+    void testUnknownLastEventIdGetsReset() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/tasks/events").header("Last-Event-ID", "before-restart-7"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        awaitContent(result, "event:reset");
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            String body = result.getResponse().getContentAsString();
+            if (body.contains(expected)) {
+                return body;
+            }
+            Thread.sleep(20);
+        }
+        return fail("No '" + expected + "' in " + result.getResponse().getContentAsString());
+    }
+
+    private static Task task(Long id, String title) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        return task;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.todo.controller;
+
+import com.example.todo.service.TaskExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TaskExportController.class)
+class TaskExportControllerTest {
+
+    @TestConfiguration
+    static class TaskExportControllerTestConfig {
+        @Bean
+        @Primary
+        public TaskExportService taskExportService() {
+            return mock(TaskExportService.class);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        reset(exportService);
+    }
+
+    @Test
+    void testExportNdjson() throws Exception {
+        when(exportService.exportNdjson(any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    void testExportCsv() throws Exception {
+        when(exportService.exportCsv(any(OutputStream.class))).thenReturn(0L);
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"));
+    }
+
+    @Test
+    void testExportUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/tasks/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+}
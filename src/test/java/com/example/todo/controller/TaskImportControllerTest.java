@@ -0,0 +1,79 @@
+package com.example.todo.controller;
+
+import com.example.todo.dto.ImportSummary;
+import com.example.todo.service.TaskImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TaskImportController.class)
+class TaskImportControllerTest {
+
+    @TestConfiguration
+    static class TaskImportControllerTestConfig {
+        @Bean
+        @Primary
+        public TaskImportService taskImportService() {
+            return mock(TaskImportService.class);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        reset(importService);
+    }
+
+    @Test
+    void testImportNdjson() throws Exception {
+        when(importService.importNdjson(any(InputStream.class))).thenReturn(
+                new ImportSummary(1, 1, List.of(new ImportSummary.RejectedLine(2, "title : Title is required"))));
+
+        mockMvc.perform(post("/api/tasks/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"title\":\"A\"}\n{}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.rejections[0].line").value(2));
+    }
+
+    @Test
+    void testImportCsv() throws Exception {
+        when(importService.importCsv(any(InputStream.class))).thenReturn(new ImportSummary(1, 0, List.of()));
+
+        mockMvc.perform(post("/api/tasks/import")
+                        .contentType("text/csv")
+                        .content("title\nA\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(1));
+
+        verify(importService).importCsv(any(InputStream.class));
+    }
+
+    @Test
+    void testImportUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/api/tasks/import")
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<tasks/>"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
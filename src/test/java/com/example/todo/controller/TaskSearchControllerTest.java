@@ -0,0 +1,81 @@
+package com.example.todo.controller;
+
+import com.example.todo.dto.SearchPage;
+import com.example.todo.service.TaskSearch;
+import com.example.todo.util.TestDataUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TaskSearchController.class)
+class TaskSearchControllerTest {
+
+    @TestConfiguration
+    static class TaskSearchControllerTestConfig {
+        @Bean
+        @Primary
+        public TaskSearch taskSearch() {
+            return mock(TaskSearch.class);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskSearch search;
+
+    @BeforeEach
+    void setUp() {
+        reset(search);
+    }
+
+    @Test
+    void testSearch() throws Exception {
+        when(search.search("milk", 1, 5)).thenReturn(
+                new SearchPage<>(List.of(TestDataUtils.createTaskWithDetails("Buy milk", null, false)), 1, 5, 6));
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "milk").param("page", "1").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Buy milk"))
+                .andExpect(jsonPath("$.page").value(1))
+                .andExpect(jsonPath("$.total").value(6));
+    }
+
+    @Test
+    void testSearchClampsPageSize() throws Exception {
+        when(search.search("milk", 0, 100)).thenReturn(new SearchPage<>(List.of(), 0, 100, 0));
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "milk").param("size", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(100));
+    }
+
+    @Test
+    void testSearchRejectsBadParameters() throws Exception {
+        mockMvc.perform(get("/api/tasks/search").param("q", "  "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Search query must not be blank"));
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "milk").param("page", "-1"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "milk").param("page", "500"))
+                .andExpect(status().isBadRequest());
+
+        verify(search, never()).search(anyString(), anyInt(), anyInt());
+    }
+}
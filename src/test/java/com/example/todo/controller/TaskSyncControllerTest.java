@@ -0,0 +1,82 @@
+package com.example.todo.controller;
+
+import com.example.todo.dto.SyncPage;
+import com.example.todo.exception.SyncTokenExpiredException;
+import com.example.todo.model.Task;
+import com.example.todo.service.TaskSyncService;
+import com.example.todo.util.TestDataUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TaskSyncController.class)
+class TaskSyncControllerTest {
+
+    @TestConfiguration
+    static class TaskSyncControllerTestConfig {
+        @Bean
+        @Primary
+        public TaskSyncService taskSyncService() {
+            return mock(TaskSyncService.class);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskSyncService syncService;
+
+    @BeforeEach
+    void setUp() {
+        reset(syncService);
+    }
+
+    @Test
+    void testSync() throws Exception {
+        Task tombstone = TestDataUtils.createMinimalTask("Gone");
+        tombstone.setId(3L);
+        tombstone.setDeleted(true);
+        when(syncService.changesSince("abc", 50)).thenReturn(new SyncPage(List.of(tombstone), "def", true));
+
+        mockMvc.perform(get("/api/tasks/sync").param("since", "abc").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].id").value(3))
+                .andExpect(jsonPath("$.changes[0].deleted").value(true))
+                .andExpect(jsonPath("$.nextToken").value("def"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void testSyncDefaults() throws Exception {
+        when(syncService.changesSince(null, TaskSyncService.DEFAULT_BATCH_SIZE))
+                .thenReturn(new SyncPage(List.of(), "def", false));
+
+        mockMvc.perform(get("/api/tasks/sync"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes").isEmpty())
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void testExpiredToken() throws Exception {
+        when(syncService.changesSince("old", TaskSyncService.DEFAULT_BATCH_SIZE))
+                .thenThrow(new SyncTokenExpiredException("Sync token is older than 30 days"));
+
+        mockMvc.perform(get("/api/tasks/sync").param("since", "old"))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.status").value(410))
+                .andExpect(jsonPath("$.error").value("Sync token is older than 30 days"));
+    }
+}
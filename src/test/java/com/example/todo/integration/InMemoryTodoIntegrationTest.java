@@ -0,0 +1,73 @@
+package com.example.todo.integration;
+
+import com.example.todo.model.Task;
+import com.example.todo.service.TaskService;
+import com.example.todo.util.TestDataUtils;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static com.example.todo.util.SqlStatementMatchers.sqlStatements;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The full integration suite against the in-memory store of the memory profile instead of H2.
+ * Only the two tests about JDBC and Spring Data instrumentation differ.
+ */
+@ActiveProfiles("memory")
+// The statement counts are still pinned, at zero; the test profile that turns counting on is not active
+@TestPropertySource(properties = {"todo.memory.data-dir=", "todo.sql-budget.enabled=true"})
+class InMemoryTodoIntegrationTest extends TodoIntegrationTest {
+
+    @Test
+    @Override
+    void testServiceAndRepositoryCallsAreTimed() throws Exception {
+        Task task = taskRepository.save(TestDataUtils.createMinimalTask("Timed"));
+
+        mockMvc.perform(get("/api/tasks/" + task.getId()))
+                .andExpect(status().isOk());
+
+        Timer service = meterRegistry.find(TaskService.TIMER).tag("method", "getById").timer();
+        assertNotNull(service);
+        assertTrue(service.count() >= 1);
+        // Spring Data only times the repositories it creates
+        assertNull(meterRegistry.find("spring.data.repository.invocations").tag("repository", "TaskRepository").timer());
+    }
+
+    @Test
+    @Override
+    void testStatementCountsPerEndpoint() throws Exception {
+        Task task = taskRepository.save(TestDataUtils.createMinimalTask("Counted"));
+        String path = "/api/tasks/" + task.getId();
+
+        mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatements(0));
+
+        mockMvc.perform(put(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Counted\", \"completed\": false}"))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatements(0));
+
+        mockMvc.perform(patch(path + "/complete"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(sqlStatements(0));
+
+        mockMvc.perform(get("/api/tasks/completed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(task.getId()))
+                .andExpect(sqlStatements(0));
+
+        mockMvc.perform(delete(path))
+                .andExpect(status().isNoContent())
+                .andExpect(sqlStatements(0));
+    }
+}
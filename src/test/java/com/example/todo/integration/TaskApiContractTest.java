@@ -0,0 +1,311 @@
+package com.example.todo.integration;
+
+import com.example.todo.model.Task;
+import com.example.todo.repository.TaskStore;
+import com.example.todo.util.TestDataUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * The /api/tasks contract, run against every web stack through WebTestClient.
+ * Subclasses supply the client: MockMvc for the servlet stack, a live server for the reactive one.
+ */
+abstract class TaskApiContractTest {
+
+    protected WebTestClient client;
+
+    @Autowired
+    protected TaskStore taskRepository;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    protected abstract WebTestClient createClient();
+
+    @BeforeEach
+    void setUpClient() {
+        client = createClient();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void testCompleteTaskWorkflow() throws Exception {
+        // Create a task using raw JSON to avoid LocalDateTime issues
+        String createTaskJson = """
+                {
+                    "title": "Integration Test Task",
+                    "description": "Test the complete workflow",
+                    "completed": false
+                }
+                """;
+
+        byte[] response = client.post().uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createTaskJson)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Integration Test Task")
+                .jsonPath("$.completed").isEqualTo(false)
+                .returnResult().getResponseBody();
+
+        Task createdTask = objectMapper.readValue(response, Task.class);
+        Long taskId = createdTask.getId();
+
+        // Get the created task
+        client.get().uri("/api/tasks/" + taskId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Integration Test Task");
+
+        // Update the task using raw JSON
+        String updateTaskJson = """
+                {
+                    "title": "Integration Test Task",
+                    "description": "Updated description",
+                    "completed": true
+                }
+                """;
+
+        client.put().uri("/api/tasks/" + taskId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updateTaskJson)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.completed").isEqualTo(true)
+                .jsonPath("$.description").isEqualTo("Updated description");
+
+        // Verify the task is in the list
+        client.get().uri("/api/tasks")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items").value(hasSize(1))
+                .jsonPath("$.items[0].completed").isEqualTo(true)
+                .jsonPath("$.nextCursor").isEmpty();
+
+        // Delete the task
+        client.delete().uri("/api/tasks/" + taskId)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        // Verify the task is deleted
+        client.get().uri("/api/tasks")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items").value(hasSize(0));
+    }
+
+    @Test
+    void testKeysetPagination() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for (int i = 0; i < 5; i++) {
+            Task task = TestDataUtils.createMinimalTask("Page Task " + i);
+            task.setCreatedAt(base.plusMinutes(i));
+            taskRepository.save(task);
+        }
+
+        byte[] firstPage = client.get().uri("/api/tasks?size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items").value(hasSize(2))
+                .jsonPath("$.items[0].title").isEqualTo("Page Task 0")
+                .jsonPath("$.prevCursor").isEmpty()
+                .returnResult().getResponseBody();
+        String next = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        byte[] secondPage = client.get().uri("/api/tasks?size=2&after={after}", next)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items").value(hasSize(2))
+                .jsonPath("$.items[0].title").isEqualTo("Page Task 2")
+                .jsonPath("$.items[1].title").isEqualTo("Page Task 3")
+                .returnResult().getResponseBody();
+        String prev = objectMapper.readTree(secondPage).get("prevCursor").asText();
+
+        client.get().uri("/api/tasks?size=2&before={before}", prev)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items").value(hasSize(2))
+                .jsonPath("$.items[0].title").isEqualTo("Page Task 0")
+                .jsonPath("$.items[1].title").isEqualTo("Page Task 1");
+
+        client.get().uri("/api/tasks?after=not-a-cursor")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Invalid cursor");
+    }
+
+    @Test
+    void testBulkCreateAndDelete() throws Exception {
+        String bulkJson = """
+                [
+                    {"title": "Bulk Task 1", "description": "First"},
+                    {"description": "No title"},
+                    {"title": "Bulk Task 2", "completed": true}
+                ]
+                """;
+
+        byte[] response = client.post().uri("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bulkJson)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.succeeded").isEqualTo(2)
+                .jsonPath("$.failed").isEqualTo(1)
+                .jsonPath("$.items[0].status").isEqualTo(201)
+                .jsonPath("$.items[1].status").isEqualTo(400)
+                .returnResult().getResponseBody();
+
+        JsonNode items = objectMapper.readTree(response).get("items");
+        long firstId = items.get(0).get("id").asLong();
+        long secondId = items.get(2).get("id").asLong();
+
+        client.get().uri("/api/tasks/stats")
+                .exchange()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(2)
+                .jsonPath("$.completed").isEqualTo(1);
+
+        client.method(HttpMethod.DELETE).uri("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[" + firstId + ", " + secondId + ", 999999]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.succeeded").isEqualTo(2)
+                .jsonPath("$.items[2].status").isEqualTo(404);
+
+        client.get().uri("/api/tasks/stats")
+                .exchange()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(0);
+    }
+
+    @Test
+    void testStatusToggles() {
+        Task task = taskRepository.save(TestDataUtils.createMinimalTask("Toggle me"));
+
+        client.patch().uri("/api/tasks/" + task.getId() + "/complete")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.completed").isEqualTo(true);
+
+        client.patch().uri("/api/tasks/" + task.getId() + "/complete")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.completed").isEqualTo(true);
+
+        client.patch().uri("/api/tasks/" + task.getId() + "/pending")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.completed").isEqualTo(false);
+
+        client.patch().uri("/api/tasks/999999/complete")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        client.patch().uri("/api/tasks/bulk/complete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[" + task.getId() + ", 999999]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.succeeded").isEqualTo(1)
+                .jsonPath("$.items[1].status").isEqualTo(404);
+
+        client.get().uri("/api/tasks/stats")
+                .exchange()
+                .expectBody()
+                .jsonPath("$.completed").isEqualTo(1);
+    }
+
+    @Test
+    void testCompletedAndPendingLists() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for (int i = 0; i < 3; i++) {
+            Task task = TestDataUtils.createTaskWithDetails("Done " + i, "Finished", true);
+            task.setCreatedAt(base.plusMinutes(i));
+            taskRepository.save(task);
+        }
+        taskRepository.save(TestDataUtils.createTaskWithDetails("Open", "Not yet", false));
+
+        byte[] firstPage = client.get().uri("/api/tasks/completed?size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items").value(hasSize(2))
+                .jsonPath("$.items[0].title").isEqualTo("Done 0")
+                .jsonPath("$.items[0].description").doesNotExist()
+                .returnResult().getResponseBody();
+        String next = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        client.get().uri("/api/tasks/completed?size=2&after={after}", next)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items").value(hasSize(1))
+                .jsonPath("$.items[0].title").isEqualTo("Done 2")
+                .jsonPath("$.nextCursor").isEmpty();
+
+        client.get().uri("/api/tasks/pending")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items").value(hasSize(1))
+                .jsonPath("$.items[0].title").isEqualTo("Open")
+                .jsonPath("$.items[0].completed").isEqualTo(false);
+    }
+
+    @Test
+    void testErrorHandling() {
+        // Test 404 for non-existent task
+        client.get().uri("/api/tasks/999")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.error").isEqualTo("Task with id 999 not found");
+    }
+
+    @Test
+    void testValidation() {
+        // Test validation for empty title using raw JSON
+        String invalidTaskJson = """
+                {
+                    "description": "No title provided",
+                    "completed": false
+                }
+                """;
+
+        client.post().uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(invalidTaskJson)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.errors").isArray();
+    }
+}
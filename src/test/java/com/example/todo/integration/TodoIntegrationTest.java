@@ -1,109 +1,81 @@
 package com.example.todo.integration;
 
+import com.example.todo.json.MessagePackHttpMessageConverter;
 import com.example.todo.model.Task;
-import com.example.todo.repository.TaskRepository;
+import com.example.todo.service.TaskService;
+import com.example.todo.util.TestDataUtils;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.junit.jupiter.api.BeforeEach;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.client.MockMvcWebTestClient;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
+import static com.example.todo.util.SqlStatementMatchers.sqlRows;
+import static com.example.todo.util.SqlStatementMatchers.sqlStatements;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
-import static org.hamcrest.Matchers.*;
 
 /**
  * Integration tests for the entire Todo application
- * Uses H2 in-memory database for testing
+ * Uses H2 in-memory database for testing; the /api/tasks contract lives in TaskApiContractTest
  */
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
 @Transactional
-class TodoIntegrationTest {
+class TodoIntegrationTest extends TaskApiContractTest {
 
-    private MockMvc mockMvc;
+    protected MockMvc mockMvc;
 
     @Autowired
     private WebApplicationContext webApplicationContext;
 
     @Autowired
-    private TaskRepository taskRepository;
+    protected MeterRegistry meterRegistry;
 
-    @Autowired
-    private ObjectMapper objectMapper;
+    // Absent in the memory profile, see InMemoryTodoIntegrationTest
+    @Autowired(required = false)
+    private EntityManager entityManager;
+
+    @LocalServerPort
+    private int port;
 
-    @BeforeEach
-    void setUp() {
+    @Override
+    protected WebTestClient createClient() {
         // Configure MockMvc manually for SpringBootTest
         mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
-        taskRepository.deleteAll();
-    }
-
-    @Test
-    void testCompleteTaskWorkflow() throws Exception {
-        // Create a task using raw JSON to avoid LocalDateTime issues
-        String createTaskJson = """
-                {
-                    "title": "Integration Test Task",
-                    "description": "Test the complete workflow",
-                    "completed": false
-                }
-                """;
-
-        String response = mockMvc.perform(post("/api/tasks")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(createTaskJson))
-                .andExpect(status().isCreated())
-                .andExpect(jsonPath("$.title").value("Integration Test Task"))
-                .andExpect(jsonPath("$.completed").value(false))
-                .andReturn().getResponse().getContentAsString();
-
-        Task createdTask = objectMapper.readValue(response, Task.class);
-        Long taskId = createdTask.getId();
-
-        // Get the created task
-        mockMvc.perform(get("/api/tasks/" + taskId))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$.title").value("Integration Test Task"));
-
-        // Update the task using raw JSON
-        String updateTaskJson = """
-                {
-                    "title": "Integration Test Task",
-                    "description": "Updated description",
-                    "completed": true
-                }
-                """;
-
-        mockMvc.perform(put("/api/tasks/" + taskId)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(updateTaskJson))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$.completed").value(true))
-                .andExpect(jsonPath("$.description").value("Updated description"));
-
-        // Verify the task is in the list
-        mockMvc.perform(get("/api/tasks"))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].completed").value(true));
-
-        // Delete the task
-        mockMvc.perform(delete("/api/tasks/" + taskId))
-                .andExpect(status().isNoContent());
-
-        // Verify the task is deleted
-        mockMvc.perform(get("/api/tasks"))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(0)));
+        return MockMvcWebTestClient.bindTo(mockMvc).build();
     }
 
     @Test
@@ -130,29 +102,225 @@ class TodoIntegrationTest {
     }
 
     @Test
-    void testErrorHandling() throws Exception {
-        // Test 404 for non-existent task
-        mockMvc.perform(get("/api/tasks/999"))
-                .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.status").value(404))
-                .andExpect(jsonPath("$.error").value("Task with id 999 not found"));
+    void testWebInterfacePagesAndFilters() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for (int i = 0; i < 3; i++) {
+            Task task = TestDataUtils.createTaskWithDetails("View Task " + i, "Details " + i, i == 1);
+            task.setCreatedAt(base.plusMinutes(i));
+            taskRepository.save(task);
+        }
+
+        mockMvc.perform(get("/").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("tasks", hasSize(2)))
+                .andExpect(content().string(containsString("Details 0")))
+                .andExpect(content().string(containsString("size=2&amp;after=")));
+
+        mockMvc.perform(get("/").param("status", "completed"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("status", "completed"))
+                .andExpect(model().attribute("tasks", hasSize(1)))
+                .andExpect(content().string(containsString("View Task 1")))
+                .andExpect(content().string(not(containsString("Description"))));
     }
 
     @Test
-    void testValidation() throws Exception {
-        // Test validation for empty title using raw JSON
-        String invalidTaskJson = """
-                {
-                    "description": "No title provided",
-                    "completed": false
-                }
-                """;
-
-        mockMvc.perform(post("/api/tasks")
+    void testConditionalRequests() throws Exception {
+        Task task = taskRepository.save(TestDataUtils.createMinimalTask("Versioned"));
+        String path = "/api/tasks/" + task.getId();
+
+        mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""));
+
+        mockMvc.perform(get(path).header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put(path)
+                        .header("If-Match", "\"0\"")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(invalidTaskJson))
-                .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.status").value(400))
-                .andExpect(jsonPath("$.errors").isArray());
+                        .content("{\"title\": \"Versioned\", \"completed\": true}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.version").value(1));
+
+        // A second writer still holding version 0 must not overwrite the change
+        mockMvc.perform(patch(path + "/pending").header("If-Match", "\"0\""))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+
+        mockMvc.perform(delete(path).header("If-Match", "\"1\""))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void testDeltaSync() throws Exception {
+        // Tombstones left by other tests survive deleteAll, so start from a token past all of them
+        String start = syncTokenAtEnd();
+        Task kept = taskRepository.save(TestDataUtils.createMinimalTask("Kept"));
+        Task removed = taskRepository.save(TestDataUtils.createMinimalTask("Removed"));
+        mockMvc.perform(delete("/api/tasks/" + removed.getId()))
+                .andExpect(status().isNoContent());
+
+        String response = mockMvc.perform(get("/api/tasks/sync").param("since", start).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].id").value(kept.getId()))
+                .andExpect(jsonPath("$.changes[0].deleted").value(false))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn().getResponse().getContentAsString();
+        String next = objectMapper.readTree(response).get("nextToken").asText();
+
+        // The deletion comes back as a tombstone although the task is gone from every other endpoint
+        response = mockMvc.perform(get("/api/tasks/sync").param("since", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(1))
+                .andExpect(jsonPath("$.changes[0].id").value(removed.getId()))
+                .andExpect(jsonPath("$.changes[0].deleted").value(true))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andReturn().getResponse().getContentAsString();
+        next = objectMapper.readTree(response).get("nextToken").asText();
+
+        mockMvc.perform(get("/api/tasks/sync").param("since", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes").isEmpty());
+        // The tombstones read by sync are still in the shared persistence context, where findById would find them
+        if (entityManager != null) {
+            entityManager.clear();
+        }
+        mockMvc.perform(get("/api/tasks/" + removed.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testServiceAndRepositoryCallsAreTimed() throws Exception {
+        Task task = taskRepository.save(TestDataUtils.createMinimalTask("Timed"));
+
+        mockMvc.perform(get("/api/tasks/" + task.getId()))
+                .andExpect(status().isOk());
+
+        Timer service = meterRegistry.find(TaskService.TIMER).tag("method", "getById").timer();
+        assertNotNull(service);
+        assertTrue(service.count() >= 1);
+        assertNotNull(meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", "TaskRepository").tag("method", "findById").timer());
+    }
+
+    @Test
+    void testStatementCountsPerEndpoint() throws Exception {
+        Task task = taskRepository.saveAndFlush(TestDataUtils.createMinimalTask("Counted"));
+        String path = "/api/tasks/" + task.getId();
+        // Requests share the test transaction's persistence context; clear it so each one starts cold.
+        // Inserts are only flushed on commit here, so POST is not pinned
+        entityManager.clear();
+
+        mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatements(1))
+                .andExpect(sqlRows(1));
+        entityManager.clear();
+
+        mockMvc.perform(put(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Recounted\", \"completed\": false}"))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatements(2));
+        entityManager.clear();
+
+        // The PUT left the task in the cache, so the toggle is its UPDATE alone
+        mockMvc.perform(patch(path + "/complete"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true))
+                .andExpect(sqlStatements(1));
+        entityManager.clear();
+
+        // Lists read the newest updated_at for their ETag, then the page
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatements(2));
+
+        mockMvc.perform(get("/api/tasks/pending"))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatements(2))
+                .andExpect(sqlRows(1));
+
+        // The PATCH above refreshed the cache entry
+        mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatements(0));
+        entityManager.clear();
+
+        mockMvc.perform(delete(path))
+                .andExpect(status().isNoContent())
+                .andExpect(sqlStatements(2));
+    }
+
+    @Test
+    void testBinaryFormatsByAccept() throws Exception {
+        Task task = TestDataUtils.createTaskWithDetails("Binary", "Sent as CBOR, Smile and MessagePack", true);
+        taskRepository.save(task);
+        Map<MediaType, ObjectMapper> formats = Map.of(
+                MediaType.valueOf("application/cbor"), new ObjectMapper(new CBORFactory()),
+                MediaType.valueOf("application/x-jackson-smile"), new ObjectMapper(new SmileFactory()),
+                MessagePackHttpMessageConverter.APPLICATION_MSGPACK, new ObjectMapper(new MessagePackFactory()));
+
+        for (Map.Entry<MediaType, ObjectMapper> format : formats.entrySet()) {
+            byte[] body = mockMvc.perform(get("/api/tasks").accept(format.getKey()))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(format.getKey()))
+                    .andExpect(header().string("Vary", containsString("Accept")))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            JsonNode item = format.getValue().readTree(body).get("items").get(0);
+            assertEquals("Binary", item.get("title").asText());
+            assertEquals("Sent as CBOR, Smile and MessagePack", item.get("description").asText());
+            assertTrue(item.get("completed").asBoolean());
+        }
+
+        // JSON stays the default
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    // Compression is done by Tomcat, so this goes over HTTP and commits its data
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testLargeResponsesAreCompressed() throws Exception {
+        Task single = null;
+        for (int i = 0; i < 20; i++) {
+            single = taskRepository.save(TestDataUtils.createTaskWithDetails("Compressed " + i, "x".repeat(255), false));
+        }
+        HttpClient http = HttpClient.newHttpClient();
+        String base = "http://localhost:" + port + "/api/tasks";
+
+        HttpResponse<byte[]> list = http.send(HttpRequest.newBuilder(URI.create(base + "?size=20"))
+                .header("Accept-Encoding", "gzip").build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, list.statusCode());
+        assertEquals("gzip", list.headers().firstValue("Content-Encoding").orElse(null));
+        try (GZIPInputStream json = new GZIPInputStream(new ByteArrayInputStream(list.body()))) {
+            assertEquals(20, objectMapper.readTree(json).get("items").size());
+        }
+
+        HttpResponse<byte[]> one = http.send(HttpRequest.newBuilder(URI.create(base + "/" + single.getId()))
+                .header("Accept-Encoding", "gzip").build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, one.statusCode());
+        assertTrue(one.headers().firstValue("Content-Encoding").isEmpty());
+        assertEquals("Compressed 19", objectMapper.readTree(one.body()).get("title").asText());
+
+        taskRepository.deleteAll();
+    }
+
+    // Follows /api/tasks/sync from the beginning and returns the token it ends on
+    private String syncTokenAtEnd() throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/tasks/sync");
+        while (true) {
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            String token = page.get("nextToken").asText();
+            if (!page.get("hasMore").asBoolean()) {
+                return token;
+            }
+            request = get("/api/tasks/sync").param("since", token);
+        }
     }
 }
@@ -0,0 +1,154 @@
+package com.example.todo.json;
+
+import com.example.todo.controller.TaskController.TaskStats;
+import com.example.todo.dto.CursorPage;
+import com.example.todo.event.TaskChangedEvent;
+import com.example.todo.model.Task;
+import com.example.todo.util.TestDataUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskJsonSerializerTest {
+
+    // Databind's reflective serialization with Spring Boot's date format, the output the serializers must reproduce
+    private final ObjectMapper reflective = builder().build();
+
+    private TaskJsonSerializer serializer;
+    private ObjectMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        serializer = new TaskJsonSerializer(100);
+        mapper = builder()
+                .serializers(serializer, new TaskStatsJsonSerializer())
+                .build();
+    }
+
+    @Test
+    void testSavedTaskMatchesReflectiveOutput() throws Exception {
+        // Given
+        Task task = savedTask(1L, 3L);
+
+        // When
+        String first = mapper.writeValueAsString(task);
+        String cached = mapper.writeValueAsString(task);
+
+        // Then
+        assertEquals(reflective.writeValueAsString(task), first);
+        assertEquals(first, cached);
+        assertEquals(1, serializer.cachedFragments());
+    }
+
+    @Test
+    void testUnsavedTaskIsWrittenWithoutCaching() throws Exception {
+        // Given
+        Task task = new Task();
+        task.setTitle("Draft");
+        task.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+
+        // When
+        String json = mapper.writeValueAsString(task);
+
+        // Then
+        assertEquals(reflective.writeValueAsString(task), json);
+        assertTrue(json.contains("\"description\":null"));
+        assertTrue(json.contains("\"createdAt\":\"2024-01-01T09:00:00\""));
+        assertEquals(0, serializer.cachedFragments());
+    }
+
+    @Test
+    void testNewVersionIsReEncoded() throws Exception {
+        // Given
+        Task task = savedTask(1L, 3L);
+        mapper.writeValueAsString(task);
+
+        // When
+        task.setTitle("Renamed");
+        task.setVersion(4L);
+        String json = mapper.writeValueAsString(task);
+
+        // Then
+        assertEquals(reflective.writeValueAsString(task), json);
+        assertTrue(json.contains("\"title\":\"Renamed\""));
+    }
+
+    @Test
+    void testChangeEventDropsFragment() throws Exception {
+        // Given
+        Task task = savedTask(1L, 3L);
+        mapper.writeValueAsString(task);
+
+        // When
+        serializer.onTaskChanged(TaskChangedEvent.updated(task, false));
+
+        // Then
+        assertEquals(0, serializer.cachedFragments());
+    }
+
+    @Test
+    void testListPageMatchesReflectiveOutput() throws Exception {
+        // Given
+        Task unicode = savedTask(2L, 0L);
+        unicode.setDescription("Ünïcödé \"quoted\" \n line");
+        unicode.setCompleted(true);
+        CursorPage<Task> page = new CursorPage<>(List.of(savedTask(1L, 0L), unicode), "next", null);
+        mapper.writeValueAsString(page);
+
+        // When
+        byte[] json = mapper.writeValueAsBytes(page);
+
+        // Then
+        assertArrayEquals(reflective.writeValueAsBytes(page), json);
+    }
+
+    @Test
+    void testBinaryFormatsGetFieldsNotFragments() throws Exception {
+        // Given
+        ObjectMapper cbor = builder()
+                .factory(new CBORFactory())
+                .serializers(serializer)
+                .build();
+        Task task = savedTask(1L, 3L);
+        mapper.writeValueAsString(task);
+
+        // When
+        Task decoded = cbor.readValue(cbor.writeValueAsBytes(task), Task.class);
+
+        // Then
+        assertEquals(task.getTitle(), decoded.getTitle());
+        assertEquals(task.getDescription(), decoded.getDescription());
+        assertEquals(task.getCreatedAt(), decoded.getCreatedAt());
+    }
+
+    @Test
+    void testStatsMatchReflectiveOutput() throws Exception {
+        // Given
+        TaskStats stats = new TaskStats(5, 2, 3);
+
+        // Then
+        assertEquals(reflective.writeValueAsString(stats), mapper.writeValueAsString(stats));
+    }
+
+    private static Task savedTask(Long id, Long version) {
+        Task task = TestDataUtils.createTaskWithDetails("Task " + id, "Description " + id, false);
+        task.setId(id);
+        task.setVersion(version);
+        task.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0, 0, 123_000_000));
+        task.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 10, 30));
+        return task;
+    }
+
+    // Spring Boot writes java.time values as ISO-8601 strings
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
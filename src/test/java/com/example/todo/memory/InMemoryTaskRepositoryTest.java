@@ -0,0 +1,264 @@
+package com.example.todo.memory;
+
+import com.example.todo.dto.TaskSummary;
+import com.example.todo.model.Task;
+import com.example.todo.util.TestDataUtils;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryTaskRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final List<InMemoryTaskRepository> opened = new ArrayList<>();
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void closeRepositories() throws IOException {
+        for (InMemoryTaskRepository repository : opened) {
+            repository.close();
+        }
+    }
+
+    @Test
+    void testSaveAssignsIdsAndBumpsVersionOnlyOnChange() {
+        // Given
+        InMemoryTaskRepository repository = open("");
+        Task task = repository.save(TestDataUtils.createMinimalTask("First"));
+
+        // When
+        Task unchanged = repository.save(repository.findById(task.getId()).orElseThrow());
+        Task loaded = repository.findById(task.getId()).orElseThrow();
+        loaded.setCompleted(true);
+        Task changed = repository.save(loaded);
+
+        // Then
+        assertEquals(1L, task.getId());
+        assertEquals(0L, unchanged.getVersion());
+        assertEquals(1L, changed.getVersion());
+        assertTrue(repository.findById(task.getId()).orElseThrow().isCompleted());
+        assertEquals(1, repository.countByCompleted(true));
+    }
+
+    @Test
+    void testStaleVersionIsRejected() {
+        // Given
+        InMemoryTaskRepository repository = open("");
+        Task task = repository.save(TestDataUtils.createMinimalTask("Versioned"));
+        Task stale = repository.findById(task.getId()).orElseThrow();
+        repository.updateCompleted(task.getId(), true, 0L, LocalDateTime.now());
+
+        // When & Then
+        stale.setTitle("Lost update");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> repository.save(stale));
+        assertEquals(0, repository.updateCompleted(task.getId(), false, 0L, LocalDateTime.now()));
+        assertEquals("Versioned", repository.findById(task.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void testInvalidTaskIsNotStored() {
+        // Given
+        InMemoryTaskRepository repository = open("");
+        Task valid = TestDataUtils.createMinimalTask("Valid");
+        Task blank = TestDataUtils.createMinimalTask(" ");
+
+        // When & Then
+        assertThrows(ConstraintViolationException.class, () -> repository.saveAll(List.of(valid, blank)));
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void testKeysetPagesAndCompletedFilter() {
+        // Given
+        InMemoryTaskRepository repository = open("");
+        for (int i = 0; i < 6; i++) {
+            Task task = TestDataUtils.createTaskWithDetails("Task " + i, null, i % 2 == 1);
+            task.setCreatedAt(BASE.plusMinutes(5 - i));
+            repository.save(task);
+        }
+
+        // When
+        List<Task> first = repository.findAllByOrderByCreatedAtAscIdAsc(Limit.of(2));
+        Task last = first.get(1);
+        List<Task> next = repository.findPageAfter(last.getCreatedAt(), last.getId(), Limit.of(2));
+        List<Task> previous = repository.findPageBefore(next.get(0).getCreatedAt(), next.get(0).getId(), Limit.of(2));
+        List<TaskSummary> completed = repository.findSummaries(true, Limit.unlimited());
+
+        // Then
+        assertEquals(List.of("Task 5", "Task 4"), first.stream().map(Task::getTitle).toList());
+        assertEquals(List.of("Task 3", "Task 2"), next.stream().map(Task::getTitle).toList());
+        assertEquals(List.of("Task 4", "Task 5"), previous.stream().map(Task::getTitle).toList());
+        assertEquals(List.of("Task 5", "Task 3", "Task 1"), completed.stream().map(TaskSummary::title).toList());
+    }
+
+    @Test
+    void testSoftDeleteLeavesTombstoneUntilPurged() {
+        // Given
+        InMemoryTaskRepository repository = open("");
+        Task kept = repository.save(TestDataUtils.createMinimalTask("Kept"));
+        Task removed = repository.save(TestDataUtils.createMinimalTask("Removed"));
+        LocalDateTime now = LocalDateTime.now();
+
+        // When
+        int deleted = repository.softDelete(removed.getId(), removed.getVersion(), now);
+
+        // Then
+        assertEquals(1, deleted);
+        assertTrue(repository.findById(removed.getId()).isEmpty());
+        assertEquals(1, repository.count());
+        List<Task> changes = repository.findChangedSince(LocalDateTime.MIN, 0L, now.plusSeconds(1), 10);
+        assertEquals(List.of(kept.getId(), removed.getId()), changes.stream().map(Task::getId).toList());
+        assertTrue(changes.get(1).isDeleted());
+        assertEquals(1, repository.purgeTombstonesBefore(now.plusSeconds(1)));
+        assertEquals(1, repository.findChangedSince(LocalDateTime.MIN, 0L, now.plusSeconds(1), 10).size());
+    }
+
+    @Test
+    void testLogIsReplayedAfterRestart() {
+        // Given
+        InMemoryTaskRepository repository = openUnclosed(dir.toString());
+        Task task = repository.save(TestDataUtils.createTaskWithDetails("Durable", "Survives a restart", false));
+        repository.updateCompleted(task.getId(), true, null, LocalDateTime.now());
+        Task removed = repository.save(TestDataUtils.createMinimalTask("Removed"));
+        repository.softDelete(removed.getId(), 0L, LocalDateTime.now());
+
+        // When: reopened without closing, as after a crash
+        InMemoryTaskRepository recovered = open(dir.toString());
+
+        // Then
+        Task reloaded = recovered.findById(task.getId()).orElseThrow();
+        assertEquals("Survives a restart", reloaded.getDescription());
+        assertTrue(reloaded.isCompleted());
+        assertEquals(1L, reloaded.getVersion());
+        assertTrue(recovered.findById(removed.getId()).isEmpty());
+        assertEquals(3L, recovered.save(TestDataUtils.createMinimalTask("Next")).getId());
+    }
+
+    @Test
+    void testSnapshotAndLogAreReplayedAfterRestart() {
+        // Given
+        InMemoryTaskRepository repository = openUnclosed(dir.toString());
+        for (int i = 0; i < 10; i++) {
+            repository.save(TestDataUtils.createMinimalTask("Snapshotted " + i));
+        }
+        repository.snapshot();
+        repository.save(TestDataUtils.createMinimalTask("After the snapshot"));
+        repository.deleteAll();
+        repository.save(TestDataUtils.createMinimalTask("After the reset"));
+
+        // When
+        InMemoryTaskRepository recovered = open(dir.toString());
+
+        // Then
+        assertTrue(Files.exists(dir.resolve("tasks.snapshot")));
+        assertFalse(Files.exists(dir.resolve("tasks-1.log")));
+        assertEquals(List.of("After the reset"), recovered.findAll().stream().map(Task::getTitle).toList());
+        assertEquals(12L, recovered.findAll().get(0).getId());
+        assertEquals(13L, recovered.save(TestDataUtils.createMinimalTask("Fresh id")).getId());
+    }
+
+    @Test
+    void testFormatOneSnapshotAndLogAreRecovered() throws IOException {
+        // Given: written by the journal before format 2, a snapshot of three tasks and a log with
+        // task 1 completed, task 3 deleted and task 4 inserted, left behind by a crash
+        for (String file : List.of("tasks.snapshot", "tasks-2.log")) {
+            try (InputStream in = getClass().getResourceAsStream("/memory/format1/" + file)) {
+                Files.copy(in, dir.resolve(file));
+            }
+        }
+
+        // When
+        InMemoryTaskRepository recovered = openUnclosed(dir.toString());
+        recovered.snapshot();
+        recovered.close();
+        InMemoryTaskRepository rewritten = open(dir.toString());
+
+        // Then
+        for (InMemoryTaskRepository repository : List.of(recovered, rewritten)) {
+            List<Task> tasks = repository.findAll();
+            assertEquals(List.of("Snapshotted pending", "Snapshotted done", "Logged über ✓"),
+                    tasks.stream().map(Task::getTitle).toList());
+            assertEquals(BASE, tasks.get(0).getCreatedAt());
+            assertEquals("Kept in the snapshot", tasks.get(0).getDescription());
+            assertTrue(tasks.get(0).isCompleted());
+            assertEquals(1L, tasks.get(0).getVersion());
+            assertEquals(BASE.plusHours(1), tasks.get(0).getUpdatedAt());
+            assertNull(tasks.get(1).getDescription());
+            assertTrue(tasks.get(1).isCompleted());
+            assertEquals(4L, tasks.get(2).getId());
+            List<Task> logged = repository.findChangedSince(BASE.plusMinutes(59), 0L, BASE.plusHours(2), 10);
+            assertEquals(List.of(1L, 3L), logged.stream().map(Task::getId).toList());
+            assertTrue(logged.get(1).isDeleted());
+        }
+        assertEquals(TaskJournal.FORMAT_VERSION, Files.readAllBytes(dir.resolve("tasks.snapshot"))[4]);
+        assertEquals(5L, rewritten.save(TestDataUtils.createMinimalTask("Next")).getId());
+    }
+
+    @Test
+    void testConcurrentWritersKeepCountsConsistent() throws Exception {
+        // Given
+        InMemoryTaskRepository repository = openUnclosed(dir.toString());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 250; j++) {
+                    Task task = repository.save(TestDataUtils.createMinimalTask("Concurrent"));
+                    if (j % 2 == 0) {
+                        repository.updateCompleted(task.getId(), true, null, LocalDateTime.now());
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(2000, repository.count());
+        assertEquals(1000, repository.countByCompleted(true));
+        assertEquals(2000, repository.findAllByOrderByCreatedAtAscIdAsc(Limit.unlimited()).size());
+        assertEquals(2000, open(dir.toString()).count());
+    }
+
+    private InMemoryTaskRepository open(String dataDir) {
+        InMemoryTaskRepository repository = openUnclosed(dataDir);
+        opened.add(repository);
+        return repository;
+    }
+
+    // Never closed, so no shutdown snapshot: what a restart after a crash finds on disk
+    private InMemoryTaskRepository openUnclosed(String dataDir) {
+        try {
+            return new InMemoryTaskRepository(validator, dataDir);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
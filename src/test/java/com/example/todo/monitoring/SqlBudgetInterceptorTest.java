@@ -0,0 +1,89 @@
+package com.example.todo.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlBudgetInterceptorTest {
+
+    private MeterRegistry registry;
+    private SqlBudgetInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        interceptor = new SqlBudgetInterceptor(registry, 10,
+                List.of("GET /api/tasks/{id}=1", "POST /api/tasks/import=-1"));
+    }
+
+    @Test
+    void testOverBudgetRequestIsCounted() {
+        // Given
+        MockHttpServletRequest request = request("GET", "/api/tasks/{id}");
+
+        // When
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+        SqlRequestStats.statementExecuted();
+        SqlRequestStats.rowRead();
+        SqlRequestStats.statementExecuted();
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), null, null);
+
+        // Then
+        SqlRequestStats stats = (SqlRequestStats) request.getAttribute(SqlRequestStats.ATTRIBUTE);
+        assertEquals(2, stats.statements());
+        assertEquals(1, stats.rows());
+        assertEquals(2.0, registry.get("todo.sql.statements").tag("uri", "/api/tasks/{id}").summary().totalAmount());
+        assertEquals(1.0, registry.get("todo.sql.budget.exceeded").tag("uri", "/api/tasks/{id}").counter().count());
+    }
+
+    @Test
+    void testWithinBudgetAndUnlimitedEndpoints() {
+        // Given
+        MockHttpServletRequest list = request("GET", "/api/tasks");
+        MockHttpServletRequest imported = request("POST", "/api/tasks/import");
+
+        // When: the default budget of 10 applies to the list, the import has none
+        interceptor.preHandle(list, new MockHttpServletResponse(), null);
+        SqlRequestStats.statementExecuted();
+        interceptor.afterCompletion(list, new MockHttpServletResponse(), null, null);
+
+        interceptor.preHandle(imported, new MockHttpServletResponse(), null);
+        for (int i = 0; i < 50; i++) {
+            SqlRequestStats.statementExecuted();
+        }
+        interceptor.afterCompletion(imported, new MockHttpServletResponse(), null, null);
+
+        // Then
+        assertNull(registry.find("todo.sql.budget.exceeded").counter());
+        assertEquals(2, registry.find("todo.sql.statements").summaries().size());
+    }
+
+    @Test
+    void testStatementsOutsideRequestsAreIgnored() {
+        SqlRequestStats.statementExecuted();
+
+        assertNull(SqlRequestStats.end());
+    }
+
+    @Test
+    void testParseBudgets() {
+        assertEquals(Map.of("GET /api/tasks/{id}", 1, "PUT /api/tasks/bulk", 25),
+                SqlBudgetInterceptor.parseBudgets(List.of("GET /api/tasks/{id}=1", " PUT /api/tasks/bulk = 25")));
+        assertThrows(IllegalArgumentException.class, () -> SqlBudgetInterceptor.parseBudgets(List.of("GET /api/tasks")));
+    }
+
+    private static MockHttpServletRequest request(String method, String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.todo.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Captures the SQL Hibernate sends for a repository call and runs EXPLAIN on it.
+ * Register {@link Capture} as {@code hibernate.session_factory.statement_inspector}.
+ * Understands H2 ("tableScan") and PostgreSQL ("Seq Scan") plans.
+ */
+public class QueryPlanHarness {
+
+    private static final List<String> SCAN_MARKERS = List.of(".tablescan", "seq scan");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public QueryPlanHarness(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Runs {@code call}, then EXPLAINs every SELECT it issued with {@code parameters}
+     * bound in order, and fails if any plan scans the whole table.
+     */
+    public void assertNoFullScan(String name, Runnable call, Object... parameters) {
+        Capture.STATEMENTS.clear();
+        call.run();
+        List<String> selects = Capture.STATEMENTS.stream()
+                .filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select"))
+                .toList();
+        assertFalse(selects.isEmpty(), name + " issued no SELECT");
+
+        for (String sql : selects) {
+            String plan = explain(name, sql, parameters);
+            String normalized = plan.toLowerCase(Locale.ROOT);
+            if (SCAN_MARKERS.stream().anyMatch(normalized::contains)) {
+                fail(name + " scans the whole table:\n" + plan);
+            }
+        }
+    }
+
+    private String explain(String name, String sql, Object[] parameters) {
+        int placeholders = (int) sql.chars().filter(c -> c == '?').count();
+        if (placeholders > parameters.length) {
+            fail(name + " needs " + placeholders + " parameters, got " + Arrays.toString(parameters) + ":\n" + sql);
+        }
+        // Limits may be rendered inline, so surplus trailing parameters are ignored
+        Object[] bound = Arrays.copyOf(parameters, placeholders);
+        List<String> lines = new ArrayList<>(jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, bound));
+        return String.join("\n", lines);
+    }
+
+    public static class Capture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
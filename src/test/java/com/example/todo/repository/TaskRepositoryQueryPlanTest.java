@@ -0,0 +1,98 @@
+package com.example.todo.repository;
+
+import com.example.todo.util.TestDataUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Fails when a hot TaskRepository query falls back to a full table scan.
+ * Seeds enough rows for the planner to prefer indexes, with the usual skew:
+ * most tasks completed, a small pending set. ANALYZE commits, so the rows are seeded once for
+ * the class, outside the per-test transactions, and deleted afterwards.
+ */
+@DataJpaTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.todo.repository.QueryPlanHarness$Capture")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskRepositoryQueryPlanTest {
+
+    private static final int ROWS = 20_000;
+    private static final LocalDateTime MIDDLE = LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(ROWS / 2);
+
+    @Autowired
+    private TaskRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private QueryPlanHarness harness;
+
+    @BeforeAll
+    void seed() {
+        TestDataUtils.seedTasks(jdbcTemplate, ROWS);
+        jdbcTemplate.update("UPDATE tasks SET completed = MOD(id, 20) <> 0");
+        jdbcTemplate.execute("ANALYZE");
+        harness = new QueryPlanHarness(jdbcTemplate);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tasks");
+    }
+
+    @Test
+    void testFindByIdUsesPrimaryKey() {
+        harness.assertNoFullScan("findById", () -> repository.findById(42L), 42L);
+    }
+
+    @Test
+    void testKeysetPagesUseCreatedAtIndex() {
+        harness.assertNoFullScan("findAllByOrderByCreatedAtAscIdAsc",
+                () -> repository.findAllByOrderByCreatedAtAscIdAsc(Limit.of(21)), 21);
+        harness.assertNoFullScan("findPageAfter",
+                () -> repository.findPageAfter(MIDDLE, 10_000L, Limit.of(21)), MIDDLE, 10_000L, 21);
+        harness.assertNoFullScan("findPageBefore",
+                () -> repository.findPageBefore(MIDDLE, 10_000L, Limit.of(21)), MIDDLE, 10_000L, 21);
+    }
+
+    @Test
+    void testPendingQueriesUseCompletionIndex() {
+        harness.assertNoFullScan("findSummaries(false)",
+                () -> repository.findSummaries(false, Limit.of(21)), false, 21);
+        harness.assertNoFullScan("findSummariesAfter(false)",
+                () -> repository.findSummariesAfter(false, MIDDLE, 10_000L, Limit.of(21)), false, MIDDLE, 10_000L, 21);
+        harness.assertNoFullScan("countByCompleted(false)", () -> repository.countByCompleted(false), false);
+    }
+
+    @Test
+    void testCompletedPagesUseCompletionIndex() {
+        harness.assertNoFullScan("findSummaries(true)",
+                () -> repository.findSummaries(true, Limit.of(21)), true, 21);
+        harness.assertNoFullScan("findSummariesBefore(true)",
+                () -> repository.findSummariesBefore(true, MIDDLE, 10_000L, Limit.of(21)), true, MIDDLE, 10_000L, 21);
+    }
+
+    @Test
+    void testSyncUsesUpdatedAtIndex() {
+        LocalDateTime horizon = LocalDateTime.now();
+        harness.assertNoFullScan("findChangedSince",
+                () -> repository.findChangedSince(MIDDLE, 10_000L, horizon, 101), MIDDLE, 10_000L, horizon, 101);
+    }
+
+    @Test
+    void testHarnessDetectsFullScan() {
+        // Unfiltered and unordered: nothing but a scan can answer it
+        assertThrows(AssertionFailedError.class,
+                () -> harness.assertNoFullScan("findAll", () -> repository.findAll()));
+    }
+}
@@ -1,13 +1,18 @@
 package com.example.todo.repository;
 
+import com.example.todo.dto.TaskSummary;
 import com.example.todo.model.Task;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
@@ -30,21 +35,115 @@ public class TaskRepositoryTest {
     }
 
     @Test
-    void testFindByCompleted() {
+    void testFindSummariesByCompleted() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
         Task t1 = new Task();
         t1.setTitle("Task 1");
+        t1.setDescription("Not part of the projection");
         t1.setCompleted(true);
+        t1.setCreatedAt(base.plusMinutes(1));
 
         Task t2 = new Task();
         t2.setTitle("Task 2");
         t2.setCompleted(false);
+        t2.setCreatedAt(base);
+
+        Task t3 = new Task();
+        t3.setTitle("Task 3");
+        t3.setCompleted(true);
+        t3.setCreatedAt(base.plusMinutes(2));
 
         repository.save(t1);
         repository.save(t2);
+        repository.save(t3);
+
+        List<TaskSummary> completed = repository.findSummaries(true, Limit.of(10));
+        assertEquals(List.of("Task 1", "Task 3"), completed.stream().map(TaskSummary::title).toList());
+        assertTrue(completed.stream().allMatch(TaskSummary::completed));
+
+        List<TaskSummary> after = repository.findSummariesAfter(true, t1.getCreatedAt(), t1.getId(), Limit.of(10));
+        assertEquals(List.of("Task 3"), after.stream().map(TaskSummary::title).toList());
+
+        List<TaskSummary> before = repository.findSummariesBefore(false, t3.getCreatedAt(), t3.getId(), Limit.of(10));
+        assertEquals(List.of("Task 2"), before.stream().map(TaskSummary::title).toList());
+    }
+
+    @Test
+    void testKeysetPageAfterAndBefore() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        Task t1 = new Task();
+        t1.setTitle("Task 1");
+        t1.setCreatedAt(base);
+
+        Task t2 = new Task();
+        t2.setTitle("Task 2");
+        t2.setCreatedAt(base.plusMinutes(1));
+
+        Task t3 = new Task();
+        t3.setTitle("Task 3");
+        t3.setCreatedAt(base.plusMinutes(1));
+
+        repository.save(t1);
+        repository.save(t2);
+        repository.save(t3);
+
+        List<Task> first = repository.findAllByOrderByCreatedAtAscIdAsc(Limit.of(2));
+        assertEquals(List.of("Task 1", "Task 2"), first.stream().map(Task::getTitle).toList());
+
+        // t2 and t3 share created_at, so the id breaks the tie
+        List<Task> after = repository.findPageAfter(t2.getCreatedAt(), t2.getId(), Limit.of(2));
+        assertEquals(List.of("Task 3"), after.stream().map(Task::getTitle).toList());
+
+        List<Task> before = repository.findPageBefore(t3.getCreatedAt(), t3.getId(), Limit.of(2));
+        assertEquals(List.of("Task 2", "Task 1"), before.stream().map(Task::getTitle).toList());
+    }
+
+    @Test
+    void testSoftDeletedTasksOnlyVisibleToSync() {
+        Task kept = new Task();
+        kept.setTitle("Kept");
+        Task removed = new Task();
+        removed.setTitle("Removed");
+        repository.save(kept);
+        repository.save(removed);
+        repository.flush();
+
+        // Later than the insert stamps, and exactly representable as a TIMESTAMP
+        LocalDateTime deletedAt = LocalDateTime.now().plusHours(1).withNano(0);
+        assertEquals(1, repository.softDelete(removed.getId(), removed.getVersion(), deletedAt));
+
+        assertEquals(List.of("Kept"), repository.findAll().stream().map(Task::getTitle).toList());
+        assertTrue(repository.findById(removed.getId()).isEmpty());
+
+        List<Task> changes = repository.findChangedSince(
+                LocalDateTime.of(1970, 1, 1, 0, 0), 0L, deletedAt.plusSeconds(1), 10);
+        assertEquals(List.of("Kept", "Removed"), changes.stream().map(Task::getTitle).toList());
+        assertTrue(changes.get(1).isDeleted());
+        assertEquals(deletedAt, changes.get(1).getUpdatedAt());
+
+        // The horizon is exclusive, and the token position skips what was already seen
+        assertEquals(List.of("Kept"), repository.findChangedSince(
+                LocalDateTime.of(1970, 1, 1, 0, 0), 0L, deletedAt, 10).stream().map(Task::getTitle).toList());
+        Task first = changes.get(0);
+        assertEquals(List.of("Removed"), repository.findChangedSince(
+                first.getUpdatedAt(), first.getId(), deletedAt.plusSeconds(1), 10).stream().map(Task::getTitle).toList());
+    }
+
+    @Test
+    void testMarkCompletedStampsTheGivenTimeExactly() {
+        Task pending = new Task();
+        pending.setTitle("Pending");
+        Task done = new Task();
+        done.setTitle("Done");
+        done.setCompleted(true);
+        repository.save(pending);
+        repository.save(done);
 
-        List<Task> completed = repository.findByCompleted(true);
+        // TaskService.completeAll tells its own rows apart by this stamp
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        assertEquals(1, repository.markCompletedByIdIn(List.of(pending.getId(), done.getId()), now));
 
-        assertEquals(1, completed.size());
-        assertTrue(completed.get(0).isCompleted());
+        assertEquals(now, repository.findById(pending.getId()).orElseThrow().getUpdatedAt());
+        assertNotEquals(now, repository.findById(done.getId()).orElseThrow().getUpdatedAt());
     }
 }
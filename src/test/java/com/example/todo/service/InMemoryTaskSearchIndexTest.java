@@ -0,0 +1,215 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.SearchPage;
+import com.example.todo.event.TaskChangedEvent;
+import com.example.todo.model.Task;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.util.TestDataUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryTaskSearchIndexTest {
+
+    @Mock
+    private TaskRepository repository;
+
+    private InMemoryTaskSearchIndex index;
+
+    // Stands in for the table so search results can be loaded by id
+    private final Map<Long, Task> table = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemoryTaskSearchIndex(repository, true);
+        lenient().when(repository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Task> found = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                if (table.containsKey(id)) {
+                    found.add(table.get(id));
+                }
+            }
+            return found;
+        });
+    }
+
+    @Test
+    void testRebuildIndexesExistingTasks() {
+        // Given
+        Task first = task(1L, "Buy milk", "From the corner shop");
+        Task second = task(2L, "Call the shop", "About the milk delivery");
+        when(repository.findAllByOrderByCreatedAtAscIdAsc(any(Limit.class))).thenReturn(List.of(first, second));
+        when(repository.findPageAfter(any(), eq(2L), any(Limit.class))).thenReturn(List.of());
+
+        // When
+        assertFalse(index.isReady());
+        index.rebuild();
+
+        // Then
+        assertTrue(index.isReady());
+        SearchPage<Task> results = index.search("milk", 0, 10);
+        assertEquals(2, results.total());
+        // A title match outranks a description match
+        assertEquals("Buy milk", results.items().get(0).getTitle());
+    }
+
+    @Test
+    void testAllQueryTermsMustMatch() {
+        // Given
+        emptyIndex();
+        created(task(1L, "Buy milk", "Semi-skimmed"));
+        created(task(2L, "Buy bread", "Wholemeal"));
+
+        // When
+        SearchPage<Task> results = index.search("BUY, milk!", 0, 10);
+
+        // Then
+        assertEquals(1, results.total());
+        assertEquals(1L, results.items().get(0).getId());
+        assertEquals(0, index.search("milk cheese", 0, 10).total());
+    }
+
+    @Test
+    void testUpdatesAndDeletesAreApplied() {
+        // Given
+        emptyIndex();
+        Task task = task(1L, "Buy milk", null);
+        created(task);
+
+        // When
+        task.setTitle("Buy bread");
+        index.onTaskChanged(TaskChangedEvent.updated(task, false));
+
+        // Then
+        assertEquals(0, index.search("milk", 0, 10).total());
+        assertEquals(1, index.search("bread", 0, 10).total());
+
+        // When
+        table.remove(1L);
+        index.onTaskChanged(TaskChangedEvent.deleted(task));
+
+        // Then
+        assertEquals(0, index.search("bread", 0, 10).total());
+    }
+
+    @Test
+    void testReindexingATaskReplacesItsTerms() {
+        // Given
+        emptyIndex();
+        created(task(1L, "Buy milk", null));
+
+        // When: the same task arrives again, as a replayed or duplicated event would deliver it
+        created(task(1L, "Buy bread", null));
+
+        // Then
+        assertEquals(0, index.search("milk", 0, 10).total());
+        assertEquals(1, index.search("bread", 0, 10).total());
+    }
+
+    @Test
+    void testChangesDuringRebuildAreNotOverwrittenByStaleRows() {
+        // Given: the rebuild reads both rows, then they change before it indexes them
+        Task renamed = task(1L, "Buy milk", null);
+        Task deleted = task(2L, "Buy milk too", null);
+        List<Task> staleRows = List.of(copy(renamed), copy(deleted));
+        when(repository.findAllByOrderByCreatedAtAscIdAsc(any(Limit.class))).thenAnswer(invocation -> {
+            renamed.setTitle("Buy bread");
+            index.onTaskChanged(TaskChangedEvent.updated(renamed, false));
+            table.remove(2L);
+            index.onTaskChanged(TaskChangedEvent.deleted(deleted));
+            return staleRows;
+        });
+        when(repository.findPageAfter(any(), eq(2L), any(Limit.class))).thenReturn(List.of());
+
+        // When
+        index.rebuild();
+
+        // Then
+        assertEquals(0, index.search("milk", 0, 10).total());
+        assertEquals(List.of(1L), ids(index.search("bread", 0, 10).items()));
+
+        // And changes after the rebuild still replace what it indexed
+        renamed.setTitle("Buy cheese");
+        index.onTaskChanged(TaskChangedEvent.updated(renamed, false));
+        assertEquals(0, index.search("bread", 0, 10).total());
+    }
+
+    @Test
+    void testPagesAreStable() {
+        // Given
+        emptyIndex();
+        for (long id = 1; id <= 25; id++) {
+            created(task(id, "Task " + id, "Same description"));
+        }
+
+        // When
+        SearchPage<Task> first = index.search("description", 0, 10);
+        SearchPage<Task> third = index.search("description", 2, 10);
+
+        // Then
+        assertEquals(25, first.total());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), ids(first.items()));
+        assertEquals(List.of(21L, 22L, 23L, 24L, 25L), ids(third.items()));
+    }
+
+    @Test
+    void testFallsBackToSubstringQueryUntilBuilt() {
+        // Given
+        InMemoryTaskSearchIndex disabled = new InMemoryTaskSearchIndex(repository, false);
+        Task task = task(1L, "Buy milk", null);
+        when(repository.searchByText(eq("milk"), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(task)));
+
+        // When
+        disabled.rebuild();
+        disabled.onTaskChanged(TaskChangedEvent.created(task));
+        SearchPage<Task> results = disabled.search(" milk ", 0, 10);
+
+        // Then
+        assertFalse(disabled.isReady());
+        assertEquals(1, results.total());
+        verify(repository, never()).findAllByOrderByCreatedAtAscIdAsc(any(Limit.class));
+    }
+
+    private void emptyIndex() {
+        when(repository.findAllByOrderByCreatedAtAscIdAsc(any(Limit.class))).thenReturn(List.of());
+        index.rebuild();
+    }
+
+    private void created(Task task) {
+        index.onTaskChanged(TaskChangedEvent.created(task));
+    }
+
+    private Task task(Long id, String title, String description) {
+        Task task = TestDataUtils.createTaskWithDetails(title, description, false);
+        task.setId(id);
+        table.put(id, task);
+        return task;
+    }
+
+    private static Task copy(Task task) {
+        Task copy = TestDataUtils.createTaskWithDetails(task.getTitle(), task.getDescription(), task.isCompleted());
+        copy.setId(task.getId());
+        copy.setCreatedAt(task.getCreatedAt());
+        return copy;
+    }
+
+    private static List<Long> ids(Collection<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.TaskDelta;
+import com.example.todo.event.TaskChangedEvent;
+import com.example.todo.event.TaskChangedEvent.ChangeType;
+import com.example.todo.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskChangeFeedTest {
+
+    private TaskChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new TaskChangeFeed(4);
+    }
+
+    @Test
+    void testSinceReturnsEntriesInOrder() {
+        // Given
+        feed.onTaskChanged(TaskChangedEvent.created(task(1L, "First")));
+        feed.onTaskChanged(TaskChangedEvent.updated(task(1L, "Renamed"), false));
+        feed.onTaskChanged(TaskChangedEvent.deleted(task(1L, "Renamed")));
+
+        // When
+        List<TaskChangeFeed.Entry> entries = feed.since(1, 10);
+
+        // Then
+        assertEquals(List.of(2L, 3L), entries.stream().map(TaskChangeFeed.Entry::sequence).toList());
+        assertEquals(new TaskDelta(ChangeType.UPDATED, 1L, "Renamed", false), entries.get(0).delta());
+        assertEquals(new TaskDelta(ChangeType.DELETED, 1L, null, null), entries.get(1).delta());
+        assertTrue(feed.since(3, 10).isEmpty());
+        assertEquals(1, feed.since(0, 1).size());
+    }
+
+    @Test
+    void testSinceDetectsOverwrittenEntries() {
+        // Given
+        for (long id = 1; id <= 6; id++) {
+            feed.onTaskChanged(TaskChangedEvent.created(task(id, "Task " + id)));
+        }
+
+        // When & Then
+        assertNull(feed.since(1, 10));
+        assertEquals(4, feed.since(2, 10).size());
+        assertNull(feed.since(7, 10));
+        assertNull(feed.since(-1, 10));
+    }
+
+    @Test
+    void testEventIdsFromAnotherProcessAreRejected() {
+        // Given
+        String id = feed.eventId(42);
+
+        // When & Then
+        assertEquals(42, feed.parseEventId(id));
+        assertEquals(-1, feed.parseEventId("0-42"));
+        assertEquals(-1, feed.parseEventId("garbage"));
+    }
+
+    @Test
+    void testListenersRunAfterEachAppend() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        feed.addListener(calls::incrementAndGet);
+
+        // When
+        feed.onTaskChanged(TaskChangedEvent.created(task(1L, "First")));
+        feed.onTaskChanged(TaskChangedEvent.created(task(2L, "Second")));
+
+        // Then
+        assertEquals(2, calls.get());
+        assertEquals(2, feed.lastSequence());
+    }
+
+    private static Task task(Long id, String title) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        return task;
+    }
+}
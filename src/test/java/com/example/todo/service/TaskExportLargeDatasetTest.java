@@ -0,0 +1,66 @@
+package com.example.todo.service;
+
+import com.example.todo.util.TestDataUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Exports a million rows under a small heap (see the large-tests profile, -Xmx128m).
+ * A file-backed H2 keeps the table itself off the heap, so only the export path is measured.
+ * Run with: ./mvnw test -Plarge-tests
+ */
+@Tag("large")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:file:./target/h2/export-large-test;CACHE_SIZE=8192"
+)
+@ActiveProfiles("test")
+class TaskExportLargeDatasetTest {
+
+    private static final int ROWS = 1_000_000;
+
+    @Autowired
+    private TaskExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testExportMillionRowsWithConstantMemory() throws Exception {
+        TestDataUtils.seedTasks(jdbcTemplate, ROWS);
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        long exported = exportService.exportNdjson(out);
+
+        assertEquals(ROWS, exported);
+        assertEquals(ROWS, out.lines);
+    }
+
+    private static class LineCountingOutputStream extends OutputStream {
+        long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
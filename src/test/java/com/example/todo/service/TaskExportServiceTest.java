@@ -0,0 +1,79 @@
+package com.example.todo.service;
+
+import com.example.todo.model.Task;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.util.TestDataUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(TaskExportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class TaskExportServiceTest {
+
+    @Autowired
+    private TaskExportService exportService;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void testExportNdjson() throws Exception {
+        Task first = TestDataUtils.createMinimalTask("First");
+        first.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        Task second = TestDataUtils.createCompletedTask();
+        second.setCreatedAt(LocalDateTime.of(2024, 1, 1, 10, 0));
+        repository.save(second);
+        repository.save(first);
+        entityManager.flush();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = exportService.exportNdjson(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"title\":\"First\""));
+        assertTrue(lines[1].contains("\"completed\":true"));
+        // Exported rows are detached as they are written
+        assertFalse(entityManager.getEntityManager().contains(first));
+    }
+
+    @Test
+    void testExportCsvEscapesFields() throws Exception {
+        Task task = TestDataUtils.createTaskWithDetails("Buy milk, eggs", "Say \"hi\"\nthen leave", false);
+        task.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        repository.save(task);
+        entityManager.flush();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = exportService.exportCsv(out);
+
+        assertEquals(1, count);
+        assertEquals("id,title,description,completed,createdAt\n"
+                        + task.getId() + ",\"Buy milk, eggs\",\"Say \"\"hi\"\"\nthen leave\",false,2024-01-01T09:00\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExportEmptyTable() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, exportService.exportNdjson(out));
+        assertEquals("", out.toString(StandardCharsets.UTF_8));
+    }
+}
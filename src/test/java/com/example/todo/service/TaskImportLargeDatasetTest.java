@@ -0,0 +1,79 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.ImportSummary;
+import com.example.todo.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Imports a million generated NDJSON lines under -Xmx128m and logs the throughput.
+ * The body is generated on the fly, so neither side ever holds the whole upload.
+ * Run with: ./mvnw test -Plarge-tests
+ */
+@Slf4j
+@Tag("large")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.datasource.url=jdbc:h2:file:./target/h2/import-large-test;CACHE_SIZE=8192",
+                // The search index would hold every imported row on the heap
+                "todo.search.in-memory=false"
+        }
+)
+@ActiveProfiles("test")
+class TaskImportLargeDatasetTest {
+
+    private static final int ROWS = 1_000_000;
+
+    @Autowired
+    private TaskImportService importService;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @Test
+    void testImportMillionRowsWithConstantMemory() throws Exception {
+        long start = System.nanoTime();
+        ImportSummary summary = importService.importNdjson(new GeneratedNdjson(ROWS));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        log.info("Imported {} rows in {} s ({} rows/s)",
+                summary.accepted(), String.format("%.1f", seconds), String.format("%.0f", summary.accepted() / seconds));
+        assertEquals(ROWS, summary.accepted());
+        assertEquals(ROWS, repository.count());
+    }
+
+    private static class GeneratedNdjson extends InputStream {
+        private final int rows;
+        private int row;
+        private byte[] current = new byte[0];
+        private int position;
+
+        GeneratedNdjson(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read() {
+            if (position == current.length) {
+                if (row == rows) {
+                    return -1;
+                }
+                row++;
+                current = ("{\"title\":\"Imported " + row + "\",\"description\":\"Generated row " + row
+                        + "\",\"completed\":" + (row % 2 == 0) + "}\n").getBytes(StandardCharsets.UTF_8);
+                position = 0;
+            }
+            return current[position++];
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.ImportSummary;
+import com.example.todo.model.Task;
+import com.example.todo.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "todo.import.batch-size=2")
+@Import(TaskImportService.class)
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+class TaskImportServiceTest {
+
+    @Autowired
+    private TaskImportService importService;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @Test
+    void testImportNdjsonReportsRejectedLines() throws Exception {
+        String body = """
+                {"title": "Imported 1", "description": "First"}
+                {"title": "Imported 2", "completed": true, "createdAt": "2024-01-01T09:00:00"}
+
+                {"title": "Broken",
+                {"description": "No title"}
+                {"title": "Imported 3"}
+                """;
+
+        ImportSummary summary = importService.importNdjson(stream(body));
+
+        assertEquals(3, summary.accepted());
+        assertEquals(2, summary.rejected());
+        assertEquals(4, summary.rejections().get(0).line());
+        assertTrue(summary.rejections().get(0).error().startsWith("Malformed JSON"));
+        assertEquals(5, summary.rejections().get(1).line());
+        assertEquals("title : Title is required", summary.rejections().get(1).error());
+
+        List<Task> tasks = repository.findAll();
+        assertEquals(3, tasks.size());
+        assertTrue(tasks.stream().anyMatch(task -> task.isCompleted()
+                && task.getCreatedAt().equals(LocalDateTime.of(2024, 1, 1, 9, 0))));
+    }
+
+    @Test
+    void testImportCsvWithQuotedFields() throws Exception {
+        String body = "id,title,description,completed,createdAt\n"
+                + "1,\"Buy milk, eggs\",\"Say \"\"hi\"\"\nthen leave\",false,2024-01-01T09:00\n"
+                + "2,,missing title,true,\n"
+                + "3,Bad date,,false,yesterday\n"
+                + "4,Plain,,true,\n";
+
+        ImportSummary summary = importService.importCsv(stream(body));
+
+        assertEquals(2, summary.accepted());
+        assertEquals(2, summary.rejected());
+        assertEquals(4, summary.rejections().get(0).line());
+        assertEquals(5, summary.rejections().get(1).line());
+
+        Task quoted = repository.findAll().stream()
+                .filter(task -> task.getTitle().equals("Buy milk, eggs"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("Say \"hi\"\nthen leave", quoted.getDescription());
+    }
+
+    @Test
+    void testRejectionListIsCapped() throws Exception {
+        String body = "{\"description\": \"No title\"}\n".repeat(TaskImportService.MAX_REPORTED_REJECTIONS + 5);
+
+        ImportSummary summary = importService.importNdjson(stream(body));
+
+        assertEquals(0, summary.accepted());
+        assertEquals(TaskImportService.MAX_REPORTED_REJECTIONS + 5, summary.rejected());
+        assertEquals(TaskImportService.MAX_REPORTED_REJECTIONS, summary.rejections().size());
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.todo.service;
+
+import com.example.todo.model.Task;
+import com.example.todo.util.TestDataUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Not transactional: the sequence is only bumped when a write commits.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskListETagTest {
+
+    @Autowired
+    private TaskListETag listETag;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tasks");
+    }
+
+    @Test
+    void testTagMovesOncePerCommittedTransaction() {
+        // Given
+        long before = sequence();
+
+        // When
+        Task task = taskService.create(TestDataUtils.createMinimalTask("Tagged"));
+        taskService.createAll(List.of(TestDataUtils.createMinimalTask("Bulk 1"), TestDataUtils.createMinimalTask("Bulk 2")));
+        taskService.markAsCompleted(task.getId());
+
+        // Then
+        assertEquals(before + 3, sequence());
+    }
+
+    @Test
+    void testRolledBackWriteKeepsTheTag() {
+        // Given
+        long before = sequence();
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            taskService.create(TestDataUtils.createMinimalTask("Rolled back"));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertEquals(before, sequence());
+    }
+
+    private long sequence() {
+        String tag = listETag.current();
+        return Long.parseLong(tag.substring(3, tag.length() - 1));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.todo.service;
+
+import com.example.todo.model.Task;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.writebehind.WriteBehindQueue;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifies the read-through cache wiring on TaskService through the Spring proxy
+ */
+@SpringJUnitConfig
+class TaskServiceCacheTest {
+
+    @Configuration
+    @EnableCaching
+    static class CacheTestConfig {
+        @Bean
+        public TaskRepository taskRepository() {
+            return mock(TaskRepository.class);
+        }
+
+        @Bean
+        public CacheManager cacheManager() {
+            return new CaffeineCacheManager(TaskService.TASK_CACHE);
+        }
+
+        @Bean
+        public TaskService taskService(TaskRepository repository, ApplicationEventPublisher eventPublisher) {
+            return new TaskService(repository, eventPublisher, mock(TaskStatsCounter.class),
+                    Validation.buildDefaultValidatorFactory().getValidator(), mock(WriteBehindQueue.class));
+        }
+    }
+
+    @Autowired
+    private TaskService service;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        reset(repository);
+        cacheManager.getCache(TaskService.TASK_CACHE).clear();
+    }
+
+    @Test
+    void testGetByIdIsServedFromCache() {
+        // Given
+        when(repository.findById(1L)).thenReturn(Optional.of(task(1L, false)));
+
+        // When
+        service.getById(1L);
+        Task second = service.getById(1L);
+
+        // Then
+        assertEquals("Task 1", second.getTitle());
+        verify(repository, times(1)).findById(1L);
+    }
+
+    @Test
+    void testMutationsWriteThrough() {
+        // Given
+        Task stored = task(1L, false);
+        stored.setVersion(0L);
+        when(repository.findById(1L)).thenAnswer(invocation -> Optional.of(stored));
+        when(repository.updateCompleted(eq(1L), eq(true), eq(0L), any(LocalDateTime.class))).thenReturn(1);
+        service.getById(1L);
+
+        // When
+        service.markAsCompleted(1L);
+        Task cached = service.getById(1L);
+
+        // Then: markAsCompleted builds its result from the cached task, the second getById is a hit
+        assertTrue(cached.isCompleted());
+        assertEquals(1L, cached.getVersion());
+        verify(repository, times(1)).findById(1L);
+    }
+
+    @Test
+    void testDeleteEvicts() {
+        // Given
+        when(repository.findById(1L)).thenReturn(Optional.of(task(1L, false)));
+        when(repository.softDelete(eq(1L), isNull(), any(LocalDateTime.class))).thenReturn(1);
+        service.getById(1L);
+
+        // When
+        service.delete(1L);
+        service.getById(1L);
+
+        // Then: initial load, delete's own load, and a miss after eviction
+        verify(repository, times(3)).findById(1L);
+    }
+
+    private static Task task(Long id, boolean completed) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setCompleted(completed);
+        return task;
+    }
+}
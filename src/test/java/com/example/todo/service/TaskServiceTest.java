@@ -1,20 +1,43 @@
 package com.example.todo.service;
 
+import com.example.todo.controller.TaskController.TaskStats;
+import com.example.todo.dto.BulkResult;
+import com.example.todo.dto.CursorPage;
+import com.example.todo.dto.TaskSummary;
+import com.example.todo.event.TaskChangedEvent;
+import com.example.todo.exception.BadRequestException;
+import com.example.todo.exception.PreconditionFailedException;
 import com.example.todo.exception.ResourceNotFoundException;
 import com.example.todo.model.Task;
 import com.example.todo.repository.TaskRepository;
+import com.example.todo.util.TestDataUtils;
+import com.example.todo.writebehind.WriteBehindQueue;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,11 +46,22 @@ public class TaskServiceTest {
     @Mock
     private TaskRepository repository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskStatsCounter statsCounter;
+
+    @Mock
+    private WriteBehindQueue writeBehind;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     private TaskService service;
 
     @BeforeEach
     void setUp() {
-        service = new TaskService(repository);
+        service = new TaskService(repository, eventPublisher, statsCounter, validator, writeBehind);
     }
 
     @Test
@@ -62,6 +96,82 @@ public class TaskServiceTest {
         verify(repository, times(1)).findAll();
     }
 
+    @Test
+    void testGetFirstPage() {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<Task> rows = List.of(pagedTask(1L, base), pagedTask(2L, base.plusMinutes(1)), pagedTask(3L, base.plusMinutes(2)));
+        when(repository.findAllByOrderByCreatedAtAscIdAsc(Limit.of(3))).thenReturn(rows);
+
+        // When
+        CursorPage<Task> page = service.getPage(null, null, 2);
+
+        // Then
+        assertEquals(2, page.items().size());
+        assertEquals(1L, page.items().get(0).getId());
+        assertNull(page.prevCursor());
+        assertEquals(new TaskCursor(base.plusMinutes(1), 2L), TaskCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void testGetPageAfterCursor() {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        String after = new TaskCursor(base, 1L).encode();
+        List<Task> rows = List.of(pagedTask(2L, base.plusMinutes(1)));
+        when(repository.findPageAfter(base, 1L, Limit.of(3))).thenReturn(rows);
+
+        // When
+        CursorPage<Task> page = service.getPage(after, null, 2);
+
+        // Then
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+        assertEquals(new TaskCursor(base.plusMinutes(1), 2L), TaskCursor.decode(page.prevCursor()));
+    }
+
+    @Test
+    void testGetPageBeforeCursor() {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        String before = new TaskCursor(base.plusMinutes(3), 4L).encode();
+        List<Task> rows = List.of(pagedTask(3L, base.plusMinutes(2)), pagedTask(2L, base.plusMinutes(1)), pagedTask(1L, base));
+        when(repository.findPageBefore(base.plusMinutes(3), 4L, Limit.of(3))).thenReturn(rows);
+
+        // When
+        CursorPage<Task> page = service.getPage(null, before, 2);
+
+        // Then
+        assertEquals(List.of(2L, 3L), page.items().stream().map(Task::getId).toList());
+        assertEquals(new TaskCursor(base.plusMinutes(1), 2L), TaskCursor.decode(page.prevCursor()));
+        assertEquals(new TaskCursor(base.plusMinutes(2), 3L), TaskCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void testGetPageClampsSize() {
+        // Given
+        when(repository.findAllByOrderByCreatedAtAscIdAsc(Limit.of(TaskService.MAX_PAGE_SIZE + 1))).thenReturn(List.of());
+
+        // When
+        CursorPage<Task> page = service.getPage(null, null, 10_000);
+
+        // Then
+        assertTrue(page.items().isEmpty());
+        verify(repository, times(1)).findAllByOrderByCreatedAtAscIdAsc(Limit.of(TaskService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void testGetPageInvalidCursor() {
+        // When & Then
+        BadRequestException exception = assertThrows(
+                BadRequestException.class,
+                () -> service.getPage("not-a-cursor", null, 20)
+        );
+
+        assertEquals("Invalid cursor", exception.getMessage());
+        verifyNoInteractions(repository);
+    }
+
     @Test
     void testGetByIdFound() {
         // Given
@@ -129,6 +239,7 @@ public class TaskServiceTest {
         assertFalse(result.isCompleted());
         assertNotNull(result.getCreatedAt());
         verify(repository, times(1)).save(inputTask);
+        verify(eventPublisher, times(1)).publishEvent(TaskChangedEvent.created(savedTask));
     }
 
     @Test
@@ -156,7 +267,7 @@ public class TaskServiceTest {
         updatedTask.setCreatedAt(existingTask.getCreatedAt());
 
         when(repository.findById(taskId)).thenReturn(Optional.of(existingTask));
-        when(repository.save(any(Task.class))).thenReturn(updatedTask);
+        when(repository.saveAndFlush(any(Task.class))).thenReturn(updatedTask);
 
         // When
         Task result = service.update(taskId, updateData);
@@ -168,7 +279,7 @@ public class TaskServiceTest {
         assertEquals("Updated Description", result.getDescription());
         assertTrue(result.isCompleted());
         verify(repository, times(1)).findById(taskId);
-        verify(repository, times(1)).save(existingTask);
+        verify(repository, times(1)).saveAndFlush(existingTask);
     }
 
     @Test
@@ -188,7 +299,7 @@ public class TaskServiceTest {
 
         assertEquals("Task with id 99 not found", exception.getMessage());
         verify(repository, times(1)).findById(taskId);
-        verify(repository, never()).save(any(Task.class));
+        verify(repository, never()).saveAndFlush(any(Task.class));
     }
 
     @Test
@@ -200,13 +311,15 @@ public class TaskServiceTest {
         existingTask.setTitle("Task to Delete");
 
         when(repository.findById(taskId)).thenReturn(Optional.of(existingTask));
+        when(repository.softDelete(eq(taskId), isNull(), any(LocalDateTime.class))).thenReturn(1);
 
         // When
         service.delete(taskId);
 
         // Then
         verify(repository, times(1)).findById(taskId);
-        verify(repository, times(1)).delete(existingTask);
+        verify(repository, times(1)).softDelete(eq(taskId), isNull(), any(LocalDateTime.class));
+        verify(eventPublisher, times(1)).publishEvent(TaskChangedEvent.deleted(existingTask));
     }
 
     @Test
@@ -223,101 +336,463 @@ public class TaskServiceTest {
 
         assertEquals("Task with id 99 not found", exception.getMessage());
         verify(repository, times(1)).findById(taskId);
-        verify(repository, never()).delete(any(Task.class));
+        verify(repository, never()).softDelete(any(), any(), any());
     }
 
     @Test
-    void testGetCompletedTasks() {
+    void testUpdateWithStaleVersion() {
         // Given
-        Task completedTask = new Task();
-        completedTask.setId(1L);
-        completedTask.setTitle("Completed Task");
-        completedTask.setCompleted(true);
+        Task existingTask = new Task();
+        existingTask.setId(1L);
+        existingTask.setTitle("Original Title");
+        existingTask.setVersion(3L);
 
-        List<Task> completedTasks = List.of(completedTask);
-        when(repository.findByCompleted(true)).thenReturn(completedTasks);
+        Task updateData = new Task();
+        updateData.setTitle("Updated Title");
+
+        when(repository.findById(1L)).thenReturn(Optional.of(existingTask));
+
+        // When & Then
+        PreconditionFailedException exception = assertThrows(
+                PreconditionFailedException.class,
+                () -> service.update(1L, updateData, 2L)
+        );
+
+        assertEquals("Task with id 1 is at version 3, not 2", exception.getMessage());
+        verify(repository, never()).saveAndFlush(any(Task.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testDeleteWithMatchingVersion() {
+        // Given
+        Task existingTask = new Task();
+        existingTask.setId(1L);
+        existingTask.setVersion(4L);
+
+        when(repository.findById(1L)).thenReturn(Optional.of(existingTask));
+        when(repository.softDelete(eq(1L), eq(4L), any(LocalDateTime.class))).thenReturn(1);
 
         // When
-        List<Task> result = service.getCompletedTasks();
+        service.delete(1L, 4L);
 
         // Then
-        assertEquals(1, result.size());
-        assertTrue(result.get(0).isCompleted());
-        assertEquals("Completed Task", result.get(0).getTitle());
-        verify(repository, times(1)).findByCompleted(true);
+        verify(repository, times(1)).softDelete(eq(1L), eq(4L), any(LocalDateTime.class));
     }
 
     @Test
-    void testGetPendingTasks() {
+    void testDeleteRacingWrite() {
         // Given
-        Task pendingTask = new Task();
-        pendingTask.setId(1L);
-        pendingTask.setTitle("Pending Task");
-        pendingTask.setCompleted(false);
+        Task existingTask = new Task();
+        existingTask.setId(1L);
+        existingTask.setVersion(4L);
 
-        List<Task> pendingTasks = List.of(pendingTask);
-        when(repository.findByCompleted(false)).thenReturn(pendingTasks);
+        when(repository.findById(1L)).thenReturn(Optional.of(existingTask));
+        when(repository.softDelete(eq(1L), eq(4L), any(LocalDateTime.class))).thenReturn(0);
+
+        // When & Then
+        PreconditionFailedException exception = assertThrows(
+                PreconditionFailedException.class,
+                () -> service.delete(1L, 4L)
+        );
+
+        assertEquals("Task with id 1 is no longer at version 4", exception.getMessage());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testUnconditionalDeleteRacingWrite() {
+        // Given
+        Task existingTask = new Task();
+        existingTask.setId(1L);
+        existingTask.setVersion(4L);
+
+        when(repository.findById(1L)).thenReturn(Optional.of(existingTask));
+        when(repository.softDelete(eq(1L), eq(4L), any(LocalDateTime.class))).thenReturn(0);
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class, () -> service.delete(1L));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testUpdateRacingWriteWithVersion() {
+        // Given
+        Task existingTask = new Task();
+        existingTask.setId(1L);
+        existingTask.setTitle("Original Title");
+        existingTask.setVersion(3L);
+
+        Task updateData = new Task();
+        updateData.setTitle("Updated Title");
+
+        when(repository.findById(1L)).thenReturn(Optional.of(existingTask));
+        when(repository.saveAndFlush(existingTask))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        // When & Then
+        PreconditionFailedException exception = assertThrows(
+                PreconditionFailedException.class,
+                () -> service.update(1L, updateData, 3L)
+        );
+
+        assertEquals("Task with id 1 is no longer at version 3", exception.getMessage());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testCreateAllSkipsInvalidItems() {
+        // Given
+        Task valid = TestDataUtils.createMinimalTask("Bulk 1");
+        Task invalid = TestDataUtils.createMinimalTask("");
+        when(repository.saveAll(List.of(valid))).thenAnswer(invocation -> {
+            valid.setId(10L);
+            return List.of(valid);
+        });
 
         // When
-        List<Task> result = service.getPendingTasks();
+        BulkResult result = service.createAll(List.of(invalid, valid));
 
         // Then
-        assertEquals(1, result.size());
-        assertFalse(result.get(0).isCompleted());
-        assertEquals("Pending Task", result.get(0).getTitle());
-        verify(repository, times(1)).findByCompleted(false);
+        assertEquals(1, result.succeeded());
+        assertEquals(1, result.failed());
+        assertEquals(400, result.items().get(0).status());
+        assertEquals("title : Title is required", result.items().get(0).error());
+        assertEquals(201, result.items().get(1).status());
+        assertEquals(10L, result.items().get(1).id());
+        verify(eventPublisher, times(1)).publishEvent(TaskChangedEvent.created(valid));
+    }
+
+    @Test
+    void testCreateAllRejectsOversizedRequest() {
+        // Given
+        List<Task> tasks = Collections.nCopies(TaskService.MAX_BULK_SIZE + 1, new Task());
+
+        // When & Then
+        assertThrows(BadRequestException.class, () -> service.createAll(tasks));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testUpdateAllReportsMissingIds() {
+        // Given
+        Task existing = TestDataUtils.createMinimalTask("Before");
+        existing.setId(1L);
+        Task change = TestDataUtils.createTaskWithDetails("After", "Changed", true);
+        change.setId(1L);
+        Task missing = TestDataUtils.createMinimalTask("Missing");
+        missing.setId(2L);
+        Task noId = TestDataUtils.createMinimalTask("No id");
+        when(repository.findAllById(List.of(1L, 2L))).thenReturn(List.of(existing));
+
+        // When
+        BulkResult result = service.updateAll(List.of(change, missing, noId));
+
+        // Then
+        assertEquals(1, result.succeeded());
+        assertEquals(200, result.items().get(0).status());
+        assertEquals(404, result.items().get(1).status());
+        assertEquals(400, result.items().get(2).status());
+        assertEquals("After", existing.getTitle());
+        assertTrue(existing.isCompleted());
+        verify(repository, never()).save(any(Task.class));
+        verify(eventPublisher, times(1)).publishEvent(TaskChangedEvent.updated(existing, false));
+    }
+
+    @Test
+    void testDeleteAllInOneBatch() {
+        // Given
+        Task existing = TestDataUtils.createMinimalTask("Delete me");
+        existing.setId(1L);
+        when(repository.findAllById(List.of(1L, 99L))).thenReturn(List.of(existing));
+
+        // When
+        BulkResult result = service.deleteAll(List.of(1L, 99L));
+
+        // Then
+        assertEquals(204, result.items().get(0).status());
+        assertEquals(404, result.items().get(1).status());
+        verify(repository, times(1)).softDeleteByIdIn(eq(Set.of(1L)), any(LocalDateTime.class));
+        verify(eventPublisher, times(1)).publishEvent(TaskChangedEvent.deleted(existing));
+    }
+
+    @Test
+    void testGetCompletedPage() {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<TaskSummary> rows = List.of(
+                new TaskSummary(1L, "Completed 1", true, base),
+                new TaskSummary(4L, "Completed 2", true, base.plusMinutes(3)));
+        when(repository.findSummaries(true, Limit.of(2))).thenReturn(rows);
+
+        // When
+        CursorPage<TaskSummary> page = service.getCompletedPage(null, null, 1);
+
+        // Then
+        assertEquals(1, page.items().size());
+        assertEquals("Completed 1", page.items().get(0).title());
+        assertNull(page.prevCursor());
+        assertEquals(new TaskCursor(base, 1L), TaskCursor.decode(page.nextCursor()));
+        verify(repository, never()).findAllByOrderByCreatedAtAscIdAsc(any());
+    }
+
+    @Test
+    void testGetPendingPageAfterCursor() {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        String after = new TaskCursor(base, 1L).encode();
+        List<TaskSummary> rows = List.of(new TaskSummary(5L, "Pending", false, base.plusMinutes(4)));
+        when(repository.findSummariesAfter(false, base, 1L, Limit.of(21))).thenReturn(rows);
+
+        // When
+        CursorPage<TaskSummary> page = service.getPendingPage(after, null, 20);
+
+        // Then
+        assertEquals(1, page.items().size());
+        assertFalse(page.items().get(0).completed());
+        assertNull(page.nextCursor());
+        assertEquals(new TaskCursor(base.plusMinutes(4), 5L), TaskCursor.decode(page.prevCursor()));
     }
 
     @Test
     void testMarkAsCompleted() {
         // Given
         Long taskId = 1L;
-        Task task = new Task();
-        task.setId(taskId);
-        task.setTitle("Task to Complete");
-        task.setCompleted(false);
-
         Task completedTask = new Task();
         completedTask.setId(taskId);
         completedTask.setTitle("Task to Complete");
         completedTask.setCompleted(true);
 
-        when(repository.findById(taskId)).thenReturn(Optional.of(task));
-        when(repository.save(task)).thenReturn(completedTask);
+        when(repository.updateCompleted(eq(taskId), eq(true), isNull(), any(LocalDateTime.class))).thenReturn(1);
+        when(repository.findById(taskId)).thenReturn(Optional.of(completedTask));
 
         // When
         Task result = service.markAsCompleted(taskId);
 
         // Then
         assertTrue(result.isCompleted());
+        verify(repository, times(1)).updateCompleted(eq(taskId), eq(true), isNull(), any(LocalDateTime.class));
         verify(repository, times(1)).findById(taskId);
-        verify(repository, times(1)).save(task);
+        verify(repository, never()).save(any(Task.class));
+        verify(eventPublisher, times(1)).publishEvent(TaskChangedEvent.updated(completedTask, false));
     }
 
     @Test
-    void testMarkAsPending() {
+    void testMarkAsCompletedWithWriteBehind() {
+        // Given
+        Task pending = TestDataUtils.createMinimalTask("Queued");
+        pending.setId(1L);
+        pending.setVersion(2L);
+        when(writeBehind.isEnabled()).thenReturn(true);
+        when(writeBehind.write(eq(1L), any())).thenAnswer(invocation -> {
+            invocation.<Consumer<Task>>getArgument(1).accept(pending);
+            return pending;
+        });
+
+        // When
+        Task result = service.markAsCompleted(1L, 2L);
+
+        // Then
+        assertTrue(result.isCompleted());
+        verify(repository, never()).updateCompleted(any(), anyBoolean(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testWriteBehindRejectsStaleVersion() {
+        // Given
+        Task pending = TestDataUtils.createMinimalTask("Queued");
+        pending.setId(1L);
+        pending.setVersion(3L);
+        when(writeBehind.isEnabled()).thenReturn(true);
+        when(writeBehind.write(eq(1L), any())).thenAnswer(invocation -> {
+            invocation.<Consumer<Task>>getArgument(1).accept(pending);
+            return pending;
+        });
+
+        // When & Then
+        assertThrows(PreconditionFailedException.class, () -> service.markAsPending(1L, 2L));
+    }
+
+    @Test
+    void testGetByIdReadsPendingWriteBehindUpdate() {
+        // Given
+        Task pending = TestDataUtils.createMinimalTask("Not yet written");
+        pending.setId(1L);
+        when(writeBehind.pending(1L)).thenReturn(pending);
+
+        // When
+        Task result = service.getById(1L);
+
+        // Then
+        assertSame(pending, result);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testMarkAsCompletedAlreadyCompleted() {
         // Given
         Long taskId = 1L;
-        Task task = new Task();
-        task.setId(taskId);
-        task.setTitle("Task to Mark Pending");
-        task.setCompleted(true);
+        Task completedTask = new Task();
+        completedTask.setId(taskId);
+        completedTask.setTitle("Already Done");
+        completedTask.setCompleted(true);
+
+        when(repository.updateCompleted(eq(taskId), eq(true), isNull(), any(LocalDateTime.class))).thenReturn(0);
+        when(repository.findById(taskId)).thenReturn(Optional.of(completedTask));
+
+        // When
+        Task result = service.markAsCompleted(taskId);
+
+        // Then
+        assertTrue(result.isCompleted());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testMarkAsCompletedNotFound() {
+        // Given
+        Long taskId = 99L;
+        when(repository.updateCompleted(eq(taskId), eq(true), isNull(), any(LocalDateTime.class))).thenReturn(0);
+        when(repository.findById(taskId)).thenReturn(Optional.empty());
+
+        // When & Then
+        ResourceNotFoundException exception = assertThrows(
+                ResourceNotFoundException.class,
+                () -> service.markAsCompleted(taskId)
+        );
+
+        assertEquals("Task with id 99 not found", exception.getMessage());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testMarkAsCompletedWithStaleVersion() {
+        // Given
+        Task current = new Task();
+        current.setId(1L);
+        current.setCompleted(false);
+        current.setVersion(5L);
+
+        when(repository.updateCompleted(eq(1L), eq(true), eq(4L), any(LocalDateTime.class))).thenReturn(0);
+        when(repository.findById(1L)).thenReturn(Optional.of(current));
+
+        // When & Then
+        assertThrows(PreconditionFailedException.class, () -> service.markAsCompleted(1L, 4L));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testMarkAsCompletedFromCacheIsSingleUpdate() {
+        // Given
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(TaskService.TASK_CACHE);
+        service.setCacheManager(cacheManager);
+        Task cached = TestDataUtils.createMinimalTask("Cached");
+        cached.setId(1L);
+        cached.setVersion(2L);
+        cacheManager.getCache(TaskService.TASK_CACHE).put(1L, cached);
+        when(repository.updateCompleted(eq(1L), eq(true), eq(2L), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        Task result = service.markAsCompleted(1L);
 
+        // Then
+        assertTrue(result.isCompleted());
+        assertEquals(3L, result.getVersion());
+        assertEquals("Cached", result.getTitle());
+        assertFalse(cached.isCompleted());
+        verify(repository, never()).findById(any());
+        verify(eventPublisher).publishEvent(TaskChangedEvent.updated(result, false));
+    }
+
+    @Test
+    void testMarkAsCompletedWithStaleCacheEntryReloads() {
+        // Given
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(TaskService.TASK_CACHE);
+        service.setCacheManager(cacheManager);
+        Task cached = TestDataUtils.createMinimalTask("Stale");
+        cached.setId(1L);
+        cached.setVersion(2L);
+        cacheManager.getCache(TaskService.TASK_CACHE).put(1L, cached);
+        Task current = TestDataUtils.createMinimalTask("Renamed elsewhere");
+        current.setId(1L);
+        current.setVersion(4L);
+        when(repository.updateCompleted(eq(1L), eq(true), eq(2L), any(LocalDateTime.class))).thenReturn(0);
+        when(repository.updateCompleted(eq(1L), eq(true), isNull(), any(LocalDateTime.class))).thenReturn(1);
+        when(repository.findById(1L)).thenReturn(Optional.of(current));
+
+        // When
+        Task result = service.markAsCompleted(1L);
+
+        // Then
+        assertEquals("Renamed elsewhere", result.getTitle());
+        verify(repository).findById(1L);
+    }
+
+    @Test
+    void testMarkAsPending() {
+        // Given
+        Long taskId = 1L;
         Task pendingTask = new Task();
         pendingTask.setId(taskId);
         pendingTask.setTitle("Task to Mark Pending");
         pendingTask.setCompleted(false);
 
-        when(repository.findById(taskId)).thenReturn(Optional.of(task));
-        when(repository.save(task)).thenReturn(pendingTask);
+        when(repository.updateCompleted(eq(taskId), eq(false), isNull(), any(LocalDateTime.class))).thenReturn(1);
+        when(repository.findById(taskId)).thenReturn(Optional.of(pendingTask));
 
         // When
         Task result = service.markAsPending(taskId);
 
         // Then
         assertFalse(result.isCompleted());
-        verify(repository, times(1)).findById(taskId);
-        verify(repository, times(1)).save(task);
+        verify(repository, times(1)).updateCompleted(eq(taskId), eq(false), isNull(), any(LocalDateTime.class));
+        verify(repository, never()).save(any(Task.class));
+        verify(eventPublisher, times(1)).publishEvent(TaskChangedEvent.updated(pendingTask, true));
+    }
+
+    @Test
+    void testCompleteAll() {
+        // Given
+        Task pending = TestDataUtils.createMinimalTask("Pending");
+        pending.setId(1L);
+        Task done = TestDataUtils.createCompletedTask();
+        done.setId(2L);
+        when(repository.findAllById(List.of(1L, 2L, 3L))).thenReturn(List.of(pending, done));
+        when(repository.markCompletedByIdIn(eq(List.of(1L)), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        BulkResult result = service.completeAll(List.of(1L, 2L, 3L));
+
+        // Then
+        assertEquals(2, result.succeeded());
+        assertEquals(404, result.items().get(2).status());
+        assertTrue(pending.isCompleted());
+        verify(repository, times(1)).markCompletedByIdIn(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(eventPublisher, times(1)).publishEvent(TaskChangedEvent.updated(pending, false));
+    }
+
+    @Test
+    void testCompleteAllSkipsEventsForRowsCompletedConcurrently() {
+        // Given: the second task is completed by another request between the SELECT and the UPDATE
+        Task first = TestDataUtils.createMinimalTask("First");
+        first.setId(1L);
+        Task second = TestDataUtils.createMinimalTask("Second");
+        second.setId(2L);
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(repository.markCompletedByIdIn(eq(List.of(1L, 2L)), now.capture())).thenReturn(1);
+        when(repository.findAllById(List.of(1L, 2L)))
+                .thenReturn(List.of(first, second))
+                .thenAnswer(invocation -> List.of(completedAt(1L, now.getValue()),
+                        completedAt(2L, now.getValue().minusSeconds(1))));
+
+        // When
+        service.completeAll(List.of(1L, 2L));
+
+        // Then: only the row the UPDATE changed gets an event
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(1)).publishEvent(events.capture());
+        assertEquals(1L, ((TaskChangedEvent) events.getValue()).task().getId());
     }
 
     @Test
@@ -336,28 +811,101 @@ public class TaskServiceTest {
     @Test
     void testCountCompletedTasks() {
         // Given
-        List<Task> completedTasks = List.of(new Task(), new Task());
-        when(repository.findByCompleted(true)).thenReturn(completedTasks);
+        when(repository.countByCompleted(true)).thenReturn(2L);
 
         // When
         long result = service.countCompletedTasks();
 
         // Then
         assertEquals(2L, result);
-        verify(repository, times(1)).findByCompleted(true);
+        verify(repository, times(1)).countByCompleted(true);
+        verify(repository, never()).findSummaries(anyBoolean(), any());
     }
 
     @Test
     void testCountPendingTasks() {
         // Given
-        List<Task> pendingTasks = List.of(new Task(), new Task(), new Task());
-        when(repository.findByCompleted(false)).thenReturn(pendingTasks);
+        when(repository.countByCompleted(false)).thenReturn(3L);
 
         // When
         long result = service.countPendingTasks();
 
         // Then
         assertEquals(3L, result);
-        verify(repository, times(1)).findByCompleted(false);
+        verify(repository, times(1)).countByCompleted(false);
+        verify(repository, never()).findSummaries(anyBoolean(), any());
+    }
+
+    @Test
+    void testGetStats() {
+        // Given
+        when(repository.countGroupedByCompleted()).thenReturn(List.of(completionCount(true, 2L), completionCount(false, 3L)));
+
+        // When
+        TaskStats stats = service.getStats();
+
+        // Then
+        assertEquals(5L, stats.total);
+        assertEquals(2L, stats.completed);
+        assertEquals(3L, stats.pending);
+        verify(repository, times(1)).countGroupedByCompleted();
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void testGetStatsFromInMemoryCounters() {
+        // Given
+        when(statsCounter.isReady()).thenReturn(true);
+        when(statsCounter.snapshot()).thenReturn(new TaskStats(7L, 4L, 3L));
+
+        // When
+        TaskStats stats = service.getStats();
+
+        // Then
+        assertEquals(7L, stats.total);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testGetStatsEmpty() {
+        // Given
+        when(repository.countGroupedByCompleted()).thenReturn(List.of());
+
+        // When
+        TaskStats stats = service.getStats();
+
+        // Then
+        assertEquals(0L, stats.total);
+        assertEquals(0L, stats.completed);
+        assertEquals(0L, stats.pending);
+    }
+
+    private static Task pagedTask(Long id, LocalDateTime createdAt) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setCreatedAt(createdAt);
+        return task;
+    }
+
+    private static TaskRepository.CompletionCount completionCount(boolean completed, long total) {
+        return new TaskRepository.CompletionCount() {
+            @Override
+            public boolean isCompleted() {
+                return completed;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private static Task completedAt(Long id, LocalDateTime updatedAt) {
+        Task task = TestDataUtils.createCompletedTask();
+        task.setId(id);
+        task.setUpdatedAt(updatedAt);
+        return task;
     }
 }
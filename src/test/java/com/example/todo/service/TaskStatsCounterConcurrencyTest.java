@@ -0,0 +1,103 @@
+package com.example.todo.service;
+
+import com.example.todo.controller.TaskController.TaskStats;
+import com.example.todo.model.Task;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.util.TestDataUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the in-memory stats counters through TaskService from several threads while they are
+ * reconciled against the database, then checks they agree with it without a final reconcile.
+ */
+@SpringBootTest(properties = {
+        "todo.stats.in-memory=true",
+        "todo.stats.reconcile-interval-ms=3600000"})
+@ActiveProfiles("test")
+class TaskStatsCounterConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 150;
+
+    @Autowired
+    private TaskService service;
+
+    @Autowired
+    private TaskStatsCounter counter;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void testCountersMatchDatabaseAfterConcurrentChangesAndReconciles() throws Exception {
+        // Given
+        counter.reconcile();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Future<Integer> reconciler = executor.submit(() -> {
+            int rounds = 0;
+            while (running.get()) {
+                counter.reconcile();
+                rounds++;
+                Thread.sleep(2);
+            }
+            return rounds;
+        });
+
+        // When: each thread creates, toggles and deletes its own tasks
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            writers.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                List<Long> live = new ArrayList<>();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    int op = live.isEmpty() ? 0 : random.nextInt(4);
+                    switch (op) {
+                        case 0 -> {
+                            Task task = TestDataUtils.createMinimalTask("Counted " + i);
+                            task.setCompleted(random.nextBoolean());
+                            live.add(service.create(task).getId());
+                        }
+                        case 1 -> service.markAsCompleted(live.get(random.nextInt(live.size())));
+                        case 2 -> service.markAsPending(live.get(random.nextInt(live.size())));
+                        default -> service.delete(live.remove(random.nextInt(live.size())));
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        running.set(false);
+        int rounds = reconciler.get();
+        executor.shutdown();
+
+        // Then
+        TaskStats stats = counter.snapshot();
+        assertTrue(rounds > 0);
+        assertEquals(repository.countByCompleted(true), stats.completed);
+        assertEquals(repository.countByCompleted(false), stats.pending);
+        assertEquals(repository.count(), stats.total);
+    }
+}
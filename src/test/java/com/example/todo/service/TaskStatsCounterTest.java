@@ -0,0 +1,200 @@
+package com.example.todo.service;
+
+import com.example.todo.controller.TaskController.TaskStats;
+import com.example.todo.event.TaskChangedEvent;
+import com.example.todo.model.Task;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.util.TestDataUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskStatsCounterTest {
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 5_000;
+
+    @Mock
+    private TaskRepository repository;
+
+    private TaskStatsCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new TaskStatsCounter(repository, true);
+    }
+
+    @Test
+    void testNotReadyUntilSeeded() {
+        // Given
+        when(repository.countGroupedByCompleted()).thenReturn(List.of());
+
+        // Then
+        assertFalse(counter.isReady());
+        counter.seed();
+        assertTrue(counter.isReady());
+    }
+
+    @Test
+    void testDisabledCounterIgnoresEvents() {
+        // Given
+        TaskStatsCounter disabled = new TaskStatsCounter(repository, false);
+
+        // When
+        disabled.onTaskChanged(TaskChangedEvent.created(TestDataUtils.createBasicTask()));
+        disabled.reconcile();
+
+        // Then
+        assertFalse(disabled.isReady());
+        assertEquals(0L, disabled.snapshot().total);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testMutationsUpdateCounters() {
+        // Given
+        when(repository.countGroupedByCompleted()).thenReturn(List.of());
+        counter.seed();
+        Task task = TestDataUtils.createBasicTask();
+
+        // When
+        counter.onTaskChanged(TaskChangedEvent.created(task));
+        task.setCompleted(true);
+        counter.onTaskChanged(TaskChangedEvent.updated(task, false));
+        counter.onTaskChanged(TaskChangedEvent.updated(task, true));
+        counter.onTaskChanged(TaskChangedEvent.created(TestDataUtils.createBasicTask()));
+        counter.onTaskChanged(TaskChangedEvent.deleted(task));
+
+        // Then
+        TaskStats stats = counter.snapshot();
+        assertEquals(1L, stats.total);
+        assertEquals(0L, stats.completed);
+        assertEquals(1L, stats.pending);
+    }
+
+    @Test
+    void testConcurrentMutationsStayConsistent() throws Exception {
+        // Given
+        when(repository.countGroupedByCompleted()).thenReturn(List.of());
+        counter.seed();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // When: each thread drives its own tasks through create/toggle/update/delete
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            results.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                List<Task> live = new ArrayList<>();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    int op = live.isEmpty() ? 0 : random.nextInt(4);
+                    switch (op) {
+                        case 0 -> {
+                            Task task = TestDataUtils.createMinimalTask("Task " + i);
+                            task.setCompleted(random.nextBoolean());
+                            live.add(task);
+                            counter.onTaskChanged(TaskChangedEvent.created(task));
+                        }
+                        case 1, 2 -> {
+                            Task task = live.get(random.nextInt(live.size()));
+                            boolean wasCompleted = task.isCompleted();
+                            task.setCompleted(random.nextBoolean());
+                            counter.onTaskChanged(TaskChangedEvent.updated(task, wasCompleted));
+                        }
+                        default -> {
+                            Task task = live.remove(random.nextInt(live.size()));
+                            counter.onTaskChanged(TaskChangedEvent.deleted(task));
+                        }
+                    }
+                    TaskStats seen = counter.snapshot();
+                    if (seen.total != seen.completed + seen.pending) {
+                        throw new AssertionError("Torn stats snapshot");
+                    }
+                }
+                long completed = live.stream().filter(Task::isCompleted).count();
+                return new long[]{completed, live.size() - completed};
+            }));
+        }
+
+        long expectedCompleted = 0;
+        long expectedPending = 0;
+        for (Future<long[]> result : results) {
+            long[] counts = result.get();
+            expectedCompleted += counts[0];
+            expectedPending += counts[1];
+        }
+        executor.shutdown();
+
+        // Then
+        TaskStats stats = counter.snapshot();
+        assertEquals(expectedCompleted, stats.completed);
+        assertEquals(expectedPending, stats.pending);
+        assertEquals(expectedCompleted + expectedPending, stats.total);
+    }
+
+    @Test
+    void testReconcileCorrectsDrift() {
+        // Given
+        when(repository.countGroupedByCompleted()).thenReturn(List.of());
+        counter.seed();
+        counter.onTaskChanged(TaskChangedEvent.created(TestDataUtils.createBasicTask()));
+        TaskRepository.CompletionCount pending = mock(TaskRepository.CompletionCount.class);
+        when(pending.isCompleted()).thenReturn(false);
+        when(pending.getTotal()).thenReturn(4L);
+        when(repository.countGroupedByCompleted()).thenReturn(List.of(pending));
+
+        // When
+        counter.reconcile();
+
+        // Then
+        TaskStats stats = counter.snapshot();
+        assertEquals(4L, stats.total);
+        assertEquals(4L, stats.pending);
+    }
+
+    @Test
+    void testReconcileBacksOffUntilChangeInFlightCommits() throws Exception {
+        // Given: a created task whose transaction has not committed yet
+        TaskRepository.CompletionCount pending = mock(TaskRepository.CompletionCount.class);
+        when(pending.isCompleted()).thenReturn(false);
+        when(pending.getTotal()).thenReturn(1L);
+        when(repository.countGroupedByCompleted()).thenReturn(List.of(pending));
+        ExecutorService transaction = Executors.newSingleThreadExecutor();
+        List<TransactionSynchronization> synchronizations = transaction.submit(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            counter.onTaskChanged(TaskChangedEvent.created(TestDataUtils.createBasicTask()));
+            List<TransactionSynchronization> registered = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            return registered;
+        }).get();
+
+        // When: it commits while reconcile waits
+        Future<?> commit = transaction.submit(() -> {
+            Thread.sleep(20);
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            return null;
+        });
+        counter.reconcile();
+        commit.get();
+        transaction.shutdown();
+
+        // Then
+        assertTrue(counter.isReady());
+        assertEquals(1L, counter.snapshot().pending);
+        assertEquals(1L, counter.snapshot().total);
+    }
+}
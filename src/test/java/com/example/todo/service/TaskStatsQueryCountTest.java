@@ -0,0 +1,59 @@
+package com.example.todo.service;
+
+import com.example.todo.controller.TaskController.TaskStats;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.util.TestDataUtils;
+import com.example.todo.writebehind.WriteBehindQueue;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pins the number of SQL statements behind GET /api/tasks/stats
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({TaskService.class, TaskStatsCounter.class, WriteBehindQueue.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+class TaskStatsQueryCountTest {
+
+    @Autowired
+    private TaskService service;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testStatsIssuesSingleAggregateStatement() {
+        repository.save(TestDataUtils.createBasicTask());
+        repository.save(TestDataUtils.createBasicTask());
+        repository.save(TestDataUtils.createCompletedTask());
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        TaskStats stats = service.getStats();
+
+        assertEquals(3L, stats.total);
+        assertEquals(1L, stats.completed);
+        assertEquals(2L, stats.pending);
+        assertEquals(1L, statistics.getPrepareStatementCount());
+        assertEquals(0L, statistics.getEntityLoadCount());
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.todo.service;
+
+import com.example.todo.dto.SyncPage;
+import com.example.todo.exception.BadRequestException;
+import com.example.todo.exception.SyncTokenExpiredException;
+import com.example.todo.model.Task;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.util.TestDataUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSyncServiceTest {
+
+    @Mock
+    private TaskRepository repository;
+
+    private TaskSyncService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TaskSyncService(repository, 5000, 30);
+    }
+
+    @Test
+    void testFullBatchReturnsTokenOfLastChange() {
+        // Given
+        LocalDateTime base = LocalDateTime.now().minusHours(1);
+        List<Task> rows = List.of(change(1L, base), change(2L, base.plusSeconds(1)), change(3L, base.plusSeconds(2)));
+        when(repository.findChangedSince(eq(SyncToken.ORIGIN.updatedAt()), eq(0L), any(LocalDateTime.class), eq(3)))
+                .thenReturn(rows);
+
+        // When
+        SyncPage page = service.changesSince(null, 2);
+
+        // Then
+        assertEquals(List.of(1L, 2L), page.changes().stream().map(Task::getId).toList());
+        assertTrue(page.hasMore());
+        assertEquals(new SyncToken(base.plusSeconds(1), 2L), SyncToken.decode(page.nextToken()));
+    }
+
+    @Test
+    void testCaughtUpTokenMovesToSettleHorizon() {
+        // Given
+        LocalDateTime last = LocalDateTime.now().minusMinutes(10);
+        when(repository.findChangedSince(eq(last), eq(7L), any(LocalDateTime.class), eq(101)))
+                .thenReturn(List.of(change(8L, last.plusSeconds(1))));
+
+        // When
+        LocalDateTime before = LocalDateTime.now();
+        SyncPage page = service.changesSince(new SyncToken(last, 7L).encode(), 100);
+
+        // Then: only rows older than the 5s settle window are read, and the next sync starts there
+        ArgumentCaptor<LocalDateTime> horizon = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).findChangedSince(eq(last), eq(7L), horizon.capture(), eq(101));
+        assertFalse(horizon.getValue().isBefore(before.minusSeconds(5)));
+        assertTrue(horizon.getValue().isBefore(LocalDateTime.now().minusSeconds(4)));
+
+        assertFalse(page.hasMore());
+        assertEquals(1, page.changes().size());
+        assertEquals(new SyncToken(horizon.getValue(), 0L), SyncToken.decode(page.nextToken()));
+    }
+
+    @Test
+    void testBatchSizeIsClamped() {
+        // Given
+        when(repository.findChangedSince(any(), anyLong(), any(), anyInt())).thenReturn(List.of());
+
+        // When
+        service.changesSince(null, 5000);
+
+        // Then
+        verify(repository).findChangedSince(any(), anyLong(), any(), eq(TaskSyncService.MAX_BATCH_SIZE + 1));
+    }
+
+    @Test
+    void testExpiredTokenIsGone() {
+        // Given
+        String token = new SyncToken(LocalDateTime.now().minusDays(31), 1L).encode();
+
+        // When & Then
+        assertThrows(SyncTokenExpiredException.class, () -> service.changesSince(token, 100));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testInvalidToken() {
+        BadRequestException exception = assertThrows(
+                BadRequestException.class,
+                () -> service.changesSince("not-a-token", 100)
+        );
+
+        assertEquals("Invalid sync token", exception.getMessage());
+    }
+
+    @Test
+    void testPurgeTombstones() {
+        // When
+        service.purgeTombstones();
+
+        // Then
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).purgeTombstonesBefore(cutoff.capture());
+        assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusDays(29)));
+    }
+
+    private static Task change(Long id, LocalDateTime updatedAt) {
+        Task task = TestDataUtils.createMinimalTask("Task " + id);
+        task.setId(id);
+        task.setUpdatedAt(updatedAt);
+        return task;
+    }
+}
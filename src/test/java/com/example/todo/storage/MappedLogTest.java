@@ -0,0 +1,151 @@
+package com.example.todo.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRecordsAreReplayedInOrderAcrossRegions() throws IOException {
+        // Given: 14-byte frames leave 8 bytes at the end of a region, a skip marker; 15-byte ones leave 6
+        Path file = dir.resolve("tasks.log");
+        try (MappedLog log = new MappedLog(file, 36)) {
+            log.replay(record -> fail("empty log"));
+            for (int i = 0; i < 20; i++) {
+                log.sync(log.append(bytes("task " + i)));
+            }
+        }
+
+        // When
+        List<String> records = new ArrayList<>();
+        try (MappedLog log = new MappedLog(file, 36)) {
+            assertEquals(20, log.replay(record -> records.add(text(record))));
+        }
+
+        // Then
+        assertEquals("task 0", records.get(0));
+        assertEquals("task 19", records.get(19));
+        assertEquals(20, records.stream().distinct().count());
+    }
+
+    @Test
+    void testTornTailIsCutOff() throws IOException {
+        // Given
+        Path file = dir.resolve("tasks.log");
+        try (MappedLog log = new MappedLog(file, 4096)) {
+            log.replay(record -> { });
+            log.sync(log.append(bytes("complete")));
+            log.sync(log.append(bytes("torn by the crash")));
+        }
+        long intact = 8 + "complete".length();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(intact + 11);
+        }
+
+        // When
+        List<String> records = new ArrayList<>();
+        try (MappedLog log = new MappedLog(file, 4096)) {
+            log.replay(record -> records.add(text(record)));
+
+            // Then
+            assertEquals(List.of("complete"), records);
+            assertEquals(intact, log.size());
+            log.sync(log.append(bytes("after recovery")));
+        }
+        try (MappedLog log = new MappedLog(file, 4096)) {
+            assertEquals(2, log.replay(record -> { }));
+        }
+    }
+
+    @Test
+    void testRecordsAfterCorruptOneDoNotComeBack() throws IOException {
+        // Given
+        Path file = dir.resolve("tasks.log");
+        try (MappedLog log = new MappedLog(file, 4096)) {
+            log.replay(record -> { });
+            log.append(bytes("aaaa"));
+            log.append(bytes("bbbb"));
+            log.sync(log.append(bytes("cccc")));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), 12 + 8);
+        }
+
+        // When: the next record has the length of the corrupt one, so the old third frame would line up after it
+        try (MappedLog log = new MappedLog(file, 4096)) {
+            log.replay(record -> { });
+            log.sync(log.append(bytes("dddd")));
+        }
+
+        // Then
+        List<String> records = new ArrayList<>();
+        try (MappedLog log = new MappedLog(file, 4096)) {
+            log.replay(record -> records.add(text(record)));
+        }
+        assertEquals(List.of("aaaa", "dddd"), records);
+    }
+
+    @Test
+    void testConcurrentAppendsAllSurvive() throws Exception {
+        // Given
+        Path file = dir.resolve("tasks.log");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (MappedLog log = new MappedLog(file, 256)) {
+            log.replay(record -> { });
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                byte[] record = bytes("record " + i);
+                futures.add(executor.submit(() -> {
+                    log.sync(log.append(record));
+                    return null;
+                }));
+            }
+
+            // When
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        try (MappedLog log = new MappedLog(file, 256)) {
+            assertEquals(400, log.replay(record -> { }));
+        }
+    }
+
+    @Test
+    void testRecordLargerThanARegionIsRejected() throws IOException {
+        try (MappedLog log = new MappedLog(dir.resolve("tasks.log"), 32)) {
+            log.replay(record -> { });
+            assertThrows(IllegalArgumentException.class, () -> log.append(new byte[25]));
+            assertThrows(IllegalArgumentException.class, () -> log.append(new byte[0]));
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(ByteBuffer record) {
+        return StandardCharsets.UTF_8.decode(record).toString();
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.todo.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WriteAheadLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRecordsAreReplayedInOrder() throws IOException {
+        // Given
+        Path file = dir.resolve("tasks.log");
+        try (WriteAheadLog wal = new WriteAheadLog(file)) {
+            wal.replay();
+            wal.sync(wal.append(bytes("first")));
+            wal.sync(wal.append(bytes("second")));
+        }
+
+        // When
+        List<byte[]> records;
+        try (WriteAheadLog wal = new WriteAheadLog(file)) {
+            records = wal.replay();
+        }
+
+        // Then
+        assertEquals(List.of("first", "second"), records.stream().map(WriteAheadLogTest::text).toList());
+    }
+
+    @Test
+    void testTornTailIsCutOff() throws IOException {
+        // Given
+        Path file = dir.resolve("tasks.log");
+        try (WriteAheadLog wal = new WriteAheadLog(file)) {
+            wal.replay();
+            wal.sync(wal.append(bytes("complete")));
+            wal.sync(wal.append(bytes("torn by the crash")));
+        }
+        long intact = 8 + "complete".length();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(intact + 11);
+        }
+
+        // When
+        try (WriteAheadLog wal = new WriteAheadLog(file)) {
+            List<byte[]> records = wal.replay();
+
+            // Then
+            assertEquals(List.of("complete"), records.stream().map(WriteAheadLogTest::text).toList());
+            assertEquals(intact, wal.size());
+            wal.sync(wal.append(bytes("after recovery")));
+        }
+        try (WriteAheadLog wal = new WriteAheadLog(file)) {
+            assertEquals(2, wal.replay().size());
+        }
+    }
+
+    @Test
+    void testCorruptRecordEndsReplay() throws IOException {
+        // Given
+        Path file = dir.resolve("tasks.log");
+        try (WriteAheadLog wal = new WriteAheadLog(file)) {
+            wal.replay();
+            wal.sync(wal.append(bytes("good")));
+            wal.sync(wal.append(bytes("flipped")));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'F'}), 8 + 4 + 8);
+        }
+
+        // When
+        try (WriteAheadLog wal = new WriteAheadLog(file)) {
+            // Then
+            assertEquals(List.of("good"), wal.replay().stream().map(WriteAheadLogTest::text).toList());
+        }
+    }
+
+    @Test
+    void testConcurrentAppendsAllSurvive() throws Exception {
+        // Given
+        Path file = dir.resolve("tasks.log");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (WriteAheadLog wal = new WriteAheadLog(file)) {
+            wal.replay();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                byte[] record = bytes("record " + i);
+                futures.add(executor.submit(() -> {
+                    wal.sync(wal.append(record));
+                    return null;
+                }));
+            }
+
+            // When
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        try (WriteAheadLog wal = new WriteAheadLog(file)) {
+            assertEquals(400, wal.replay().size());
+        }
+        assertTrue(Files.size(file) > 0);
+    }
+
+    @Test
+    void testResetEmptiesTheLog() throws IOException {
+        // Given
+        Path file = dir.resolve("tasks.log");
+        try (WriteAheadLog wal = new WriteAheadLog(file)) {
+            wal.replay();
+            wal.sync(wal.append(bytes("applied")));
+
+            // When
+            wal.reset();
+            wal.sync(wal.append(bytes("new")));
+        }
+
+        // Then
+        try (WriteAheadLog wal = new WriteAheadLog(file)) {
+            assertEquals(List.of("new"), wal.replay().stream().map(WriteAheadLogTest::text).toList());
+        }
+    }
+
+    @Test
+    void testRewriteReplacesTheLog() throws IOException {
+        // Given
+        Path file = dir.resolve("tasks.log");
+        try (WriteAheadLog wal = new WriteAheadLog(file)) {
+            wal.replay();
+            wal.sync(wal.append(bytes("applied")));
+            long seq = wal.append(bytes("superseded"));
+
+            // When
+            wal.rewrite(List.of(bytes("compacted")));
+            wal.sync(seq);
+            wal.sync(wal.append(bytes("new")));
+        }
+
+        // Then
+        try (WriteAheadLog wal = new WriteAheadLog(file)) {
+            assertEquals(List.of("compacted", "new"), wal.replay().stream().map(WriteAheadLogTest::text).toList());
+        }
+        assertFalse(Files.exists(dir.resolve("tasks.log.compact")));
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] record) {
+        return new String(record, StandardCharsets.UTF_8);
+    }
+}
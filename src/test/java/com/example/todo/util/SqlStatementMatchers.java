@@ -0,0 +1,36 @@
+package com.example.todo.util;
+
+import com.example.todo.monitoring.SqlRequestStats;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertNotNull;
+
+/**
+ * MockMvc assertions on the SQL a request ran, as recorded by SqlBudgetInterceptor:
+ * {@code mockMvc.perform(get("/api/tasks/1")).andExpect(sqlStatements(1))}
+ */
+public final class SqlStatementMatchers {
+
+    private SqlStatementMatchers() {
+    }
+
+    public static ResultMatcher sqlStatements(int expected) {
+        return result -> assertEquals("SQL statements for " + describe(result), expected, stats(result).statements());
+    }
+
+    public static ResultMatcher sqlRows(long expected) {
+        return result -> assertEquals("Rows read for " + describe(result), expected, stats(result).rows());
+    }
+
+    private static SqlRequestStats stats(MvcResult result) {
+        SqlRequestStats stats = (SqlRequestStats) result.getRequest().getAttribute(SqlRequestStats.ATTRIBUTE);
+        assertNotNull("No SQL statistics recorded; is SqlBudgetConfiguration active?", stats);
+        return stats;
+    }
+
+    private static String describe(MvcResult result) {
+        return result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.todo.util;
 
 import com.example.todo.model.Task;
+import jakarta.persistence.SequenceGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.time.LocalDateTime;
 
@@ -52,4 +54,30 @@ public class TestDataUtils {
         task.setCreatedAt(LocalDateTime.now());
         return task;
     }
+
+    /**
+     * Bulk-inserts {@code count} generated tasks with ids 1..count straight through SQL (H2 only).
+     * Every other task is completed; created_at and updated_at increase by one second per row.
+     * Call it before anything is inserted through JPA: a block of ids Hibernate already holds
+     * is handed out regardless of the sequence.
+     */
+    public static void seedTasks(JdbcTemplate jdbcTemplate, int count) {
+        jdbcTemplate.update("""
+                INSERT INTO tasks (id, title, description, completed, created_at, updated_at)
+                SELECT X, 'Task ' || X, 'Generated task number ' || X, MOD(X, 2) = 0,
+                       DATEADD('SECOND', X, TIMESTAMP '2024-01-01 00:00:00'),
+                       DATEADD('SECOND', X, TIMESTAMP '2024-01-01 00:00:00')
+                FROM SYSTEM_RANGE(1, ?)
+                """, count);
+        // The pooled optimizer takes the value it fetches as the top of its block of ids
+        jdbcTemplate.execute("ALTER SEQUENCE tasks_id_seq RESTART WITH " + (count + idAllocationSize()));
+    }
+
+    private static int idAllocationSize() {
+        try {
+            return Task.class.getDeclaredField("id").getAnnotation(SequenceGenerator.class).allocationSize();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,51 @@
+package com.example.todo.util;
+
+import com.example.todo.model.Task;
+import com.example.todo.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Own database, so Hibernate holds no block of ids from other tests when seeding starts.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:seed-test")
+@ActiveProfiles("test")
+class TestDataUtilsTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tasks");
+    }
+
+    @Test
+    void testInsertsThroughJpaAfterSeedingGetFreshIds() {
+        // Given
+        TestDataUtils.seedTasks(jdbcTemplate, 1000);
+
+        // When: more than one block of pooled ids
+        List<Task> saved = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            saved.add(repository.saveAndFlush(TestDataUtils.createMinimalTask("After seeding " + i)));
+        }
+
+        // Then
+        assertTrue(saved.stream().allMatch(task -> task.getId() > 1000));
+        assertEquals(1120, repository.count());
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.todo.writebehind;
+
+import com.example.todo.event.TaskChangedEvent;
+import com.example.todo.model.Task;
+import com.example.todo.repository.TaskRepository;
+import com.example.todo.storage.WriteAheadLog;
+import com.example.todo.util.TestDataUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Write-behind against the test database, with queues built by hand over a temporary log;
+ * the application's own queue stays disabled. A "crash" is a queue abandoned before it drains.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:write-behind-test")
+@ActiveProfiles("test")
+class WriteBehindRecoveryTest {
+
+    @TempDir
+    Path dir;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectProvider<CacheManager> cacheManager;
+
+    private final List<TaskChangedEvent> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        events.clear();
+    }
+
+    @Test
+    void testAcknowledgedWritesAreReplayedAfterCrash() throws IOException {
+        // Given
+        Task first = repository.save(TestDataUtils.createTaskWithDetails("First", "Before", false));
+        Task second = repository.save(TestDataUtils.createMinimalTask("Second"));
+        Path log = dir.resolve("write-behind.log");
+
+        WriteBehindQueue crashed = queue(log);
+        crashed.write(first.getId(), task -> task.setCompleted(true));
+        crashed.write(first.getId(), task -> task.setDescription("After"));
+        Task acknowledged = crashed.write(second.getId(), task -> task.setTitle("Second, renamed"));
+        assertEquals(1L, acknowledged.getVersion());
+        assertFalse(repository.findById(first.getId()).orElseThrow().isCompleted());
+
+        // When
+        WriteBehindQueue restarted = queue(log);
+
+        // Then
+        Task replayed = restarted.pending(first.getId());
+        assertTrue(replayed.isCompleted());
+        assertEquals("After", replayed.getDescription());
+        assertEquals(2L, replayed.getVersion());
+
+        restarted.drain();
+        Task stored = repository.findById(first.getId()).orElseThrow();
+        assertTrue(stored.isCompleted());
+        assertEquals("After", stored.getDescription());
+        assertEquals(2L, stored.getVersion());
+        assertEquals("Second, renamed", repository.findById(second.getId()).orElseThrow().getTitle());
+        assertEquals(0, restarted.pendingCount());
+        assertEquals(0, Files.size(log));
+    }
+
+    @Test
+    void testRepeatedTogglesCollapseIntoOneWrite() throws IOException {
+        // Given
+        Task task = repository.save(TestDataUtils.createMinimalTask("Toggled"));
+        WriteBehindQueue queue = queue(dir.resolve("write-behind.log"));
+        for (int i = 0; i < 5; i++) {
+            boolean completed = i % 2 == 0;
+            queue.write(task.getId(), pending -> pending.setCompleted(completed));
+        }
+
+        // When
+        queue.drain();
+
+        // Then
+        Task stored = repository.findById(task.getId()).orElseThrow();
+        assertTrue(stored.isCompleted());
+        assertEquals(5L, stored.getVersion());
+        assertEquals(1, events.size());
+        assertFalse(events.get(0).wasCompleted());
+        assertNull(queue.pending(task.getId()));
+    }
+
+    @Test
+    void testDrainStampsUpdatedAt() throws Exception {
+        // Given
+        Task task = repository.save(TestDataUtils.createMinimalTask("Stamped"));
+        WriteBehindQueue queue = queue(dir.resolve("write-behind.log"));
+        Task acknowledged = queue.write(task.getId(), pending -> pending.setCompleted(true));
+        Thread.sleep(20);
+        LocalDateTime beforeDrain = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        // When
+        queue.drain();
+
+        // Then
+        Task stored = repository.findById(task.getId()).orElseThrow();
+        assertTrue(acknowledged.getUpdatedAt().isBefore(beforeDrain));
+        assertFalse(stored.getUpdatedAt().isBefore(beforeDrain));
+        assertEquals(stored.getUpdatedAt(), events.get(0).task().getUpdatedAt());
+    }
+
+    @Test
+    void testUnchangedWriteIsNotLogged() throws IOException {
+        // Given
+        Task task = repository.save(TestDataUtils.createTaskWithDetails("Done", null, true));
+        Path log = dir.resolve("write-behind.log");
+        WriteBehindQueue queue = queue(log);
+
+        // When
+        Task result = queue.write(task.getId(), pending -> pending.setCompleted(true));
+
+        // Then
+        assertEquals(0L, result.getVersion());
+        assertNull(queue.pending(task.getId()));
+        assertEquals(0, Files.size(log));
+    }
+
+    @Test
+    void testWriteToChangedRowIsDropped() throws IOException {
+        // Given
+        Task task = repository.save(TestDataUtils.createMinimalTask("Contended"));
+        WriteBehindQueue queue = queue(dir.resolve("write-behind.log"));
+        queue.write(task.getId(), pending -> pending.setTitle("Queued title"));
+        jdbcTemplate.update("UPDATE tasks SET title = 'Direct', version = version + 5 WHERE id = ?", task.getId());
+
+        // When
+        queue.drain();
+
+        // Then
+        assertEquals("Direct", repository.findById(task.getId()).orElseThrow().getTitle());
+        assertNull(queue.pending(task.getId()));
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void testLogIsCompactedToWritesStillPendingAfterDrain() throws IOException {
+        // Given: a write to the second task arrives while the first one is being drained
+        Task first = repository.save(TestDataUtils.createMinimalTask("First"));
+        Task second = repository.save(TestDataUtils.createMinimalTask("Second"));
+        Path log = dir.resolve("write-behind.log");
+        WriteBehindQueue[] queue = new WriteBehindQueue[1];
+        queue[0] = new WriteBehindQueue(repository, jdbcTemplate, transactionManager, event -> {
+            events.add((TaskChangedEvent) event);
+            queue[0].write(second.getId(), pending -> pending.setTitle("During drain"));
+            queue[0].write(second.getId(), pending -> pending.setCompleted(true));
+        }, cacheManager, true, log, 500);
+        for (int i = 0; i < 3; i++) {
+            String title = "First, take " + i;
+            queue[0].write(first.getId(), pending -> pending.setTitle(title));
+        }
+
+        // When
+        queue[0].drain();
+
+        // Then: one record for the pending task is left, and it replays on its own
+        try (WriteAheadLog wal = new WriteAheadLog(log)) {
+            assertEquals(1, wal.replay().size());
+        }
+        WriteBehindQueue restarted = queue(log);
+        restarted.drain();
+        Task stored = repository.findById(second.getId()).orElseThrow();
+        assertEquals("During drain", stored.getTitle());
+        assertTrue(stored.isCompleted());
+        assertEquals(2L, stored.getVersion());
+        assertEquals(3L, repository.findById(first.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void testFailedSyncRollsBackAndRefusesWritesUntilCheckpoint() throws IOException {
+        // Given
+        Task first = repository.save(TestDataUtils.createMinimalTask("First"));
+        Task second = repository.save(TestDataUtils.createMinimalTask("Second"));
+        Path log = dir.resolve("write-behind.log");
+        FailingLog wal = new FailingLog(log);
+        WriteBehindQueue queue = new WriteBehindQueue(repository, jdbcTemplate, transactionManager,
+                event -> events.add((TaskChangedEvent) event), cacheManager, true, wal, 500);
+        queue.write(first.getId(), pending -> pending.setTitle("Acknowledged"));
+
+        // When
+        wal.failing = true;
+        assertThrows(UncheckedIOException.class, () -> queue.write(first.getId(), pending -> pending.setTitle("Failed")));
+        wal.failing = false;
+
+        // Then: the failed write is gone, and nothing is accepted until the log is rewritten
+        assertEquals("Acknowledged", queue.pending(first.getId()).getTitle());
+        assertThrows(UncheckedIOException.class, () -> queue.write(second.getId(), pending -> pending.setTitle("Refused")));
+        queue.drain();
+        assertEquals("Acknowledged", repository.findById(first.getId()).orElseThrow().getTitle());
+        queue.write(second.getId(), pending -> pending.setTitle("Accepted"));
+
+        WriteBehindQueue restarted = queue(log);
+        assertNull(restarted.pending(first.getId()));
+        assertEquals("Accepted", restarted.pending(second.getId()).getTitle());
+    }
+
+    private WriteBehindQueue queue(Path log) throws IOException {
+        return new WriteBehindQueue(repository, jdbcTemplate, transactionManager,
+                event -> events.add((TaskChangedEvent) event), cacheManager, true, log, 500);
+    }
+
+    private static class FailingLog extends WriteAheadLog {
+        volatile boolean failing;
+
+        FailingLog(Path file) throws IOException {
+            super(file);
+        }
+
+        @Override
+        public void sync(long seq) throws IOException {
+            if (failing) {
+                throw new IOException("fsync failed");
+            }
+            super.sync(seq);
+        }
+    }
+}